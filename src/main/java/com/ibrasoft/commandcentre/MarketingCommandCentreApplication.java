@@ -21,9 +21,11 @@ package com.ibrasoft.commandcentre;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties
+@EnableScheduling
 public class MarketingCommandCentreApplication {
 
 	public static void main(String[] args) {
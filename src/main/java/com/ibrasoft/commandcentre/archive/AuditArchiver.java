@@ -0,0 +1,109 @@
+package com.ibrasoft.commandcentre.archive;
+
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.repository.AuditEventRepository;
+import com.ibrasoft.commandcentre.repository.AuditMetadataEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Moves audit events older than {@code app.audit.archive.retention-days} whole days out of
+ * {@code audit_events} into {@link AuditSegmentStore} segments, oldest first, in batches of
+ * {@code app.audit.archive.batch-size}.
+ *
+ * <p>Rows are deleted only after their segment is on disk. If the process stops in between, the
+ * next run skips the events a segment of the same day already holds, even when its batch
+ * boundaries differ, writes only the rest and deletes them all. Only the {@code jpa}
+ * {@code app.audit.store} is archived.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.archive.enabled", havingValue = "true")
+@Slf4j
+public class AuditArchiver {
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditMetadataEntryRepository auditMetadataEntryRepository;
+    private final AuditSegmentStore auditSegmentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public AuditArchiver(AuditEventRepository auditEventRepository,
+                         AuditMetadataEntryRepository auditMetadataEntryRepository,
+                         AuditSegmentStore auditSegmentStore,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.audit.archive.retention-days:90}") int retentionDays,
+                         @Value("${app.audit.archive.batch-size:500}") int batchSize) {
+        this.auditEventRepository = auditEventRepository;
+        this.auditMetadataEntryRepository = auditMetadataEntryRepository;
+        this.auditSegmentStore = auditSegmentStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${app.audit.archive.initial-delay-ms:60000}",
+               fixedDelayString = "${app.audit.archive.interval-ms:3600000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        int archived = 0;
+        try {
+            List<AuditEvent> batch;
+            do {
+                batch = auditEventRepository.findByEventTimestampBeforeOrderByEventTimestampAscIdAsc(
+                    cutoff, PageRequest.ofSize(batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<LocalDate, List<AuditEvent>> byDay = new TreeMap<>();
+                for (AuditEvent event : batch) {
+                    byDay.computeIfAbsent(event.getEventTimestamp().toLocalDate(), d -> new ArrayList<>()).add(event);
+                }
+                for (Map.Entry<LocalDate, List<AuditEvent>> day : byDay.entrySet()) {
+                    writeSegment(day.getKey(), day.getValue());
+                }
+                List<Long> ids = batch.stream().map(AuditEvent::getId).toList();
+                transactionTemplate.executeWithoutResult(status -> {
+                    auditMetadataEntryRepository.deleteByAuditEventIds(ids);
+                    auditEventRepository.deleteAllByIdInBatch(ids);
+                });
+                archived += batch.size();
+            } while (batch.size() == batchSize);
+        } catch (IOException e) {
+            log.error("Audit archival stopped after {} events; the remaining rows stay in audit_events", archived, e);
+            return;
+        }
+        if (archived > 0) {
+            log.info("Archived {} audit events older than {}", archived, cutoff);
+        }
+    }
+
+    private void writeSegment(LocalDate day, List<AuditEvent> events) throws IOException {
+        long minId = events.stream().mapToLong(AuditEvent::getId).min().orElseThrow();
+        long maxId = events.stream().mapToLong(AuditEvent::getId).max().orElseThrow();
+        Set<Long> archivedIds = auditSegmentStore.archivedIds(day, minId, maxId);
+        List<AuditEvent> remaining = events.stream().filter(event -> !archivedIds.contains(event.getId())).toList();
+        if (remaining.size() < events.size()) {
+            log.info("{} audit events of {} between {} and {} were already archived; deleting them",
+                events.size() - remaining.size(), day, minId, maxId);
+        }
+        if (!remaining.isEmpty()) {
+            auditSegmentStore.write(day, remaining);
+        }
+    }
+}
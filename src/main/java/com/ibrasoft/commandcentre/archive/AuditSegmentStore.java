@@ -0,0 +1,311 @@
+package com.ibrasoft.commandcentre.archive;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.ibrasoft.commandcentre.model.AuditCursor;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archived audit events as immutable, gzip-compressed NDJSON segment files, one or more per day.
+ *
+ * <p>Each segment {@code audit-<date>-<minId>-<maxId>.ndjson.gz} has a small JSON sidecar
+ * ({@code .idx.json}) recording its time and id range and the distinct entity types, event types
+ * and actors it contains, so queries only decompress segments that can match. The sidecar is
+ * written last: a segment without one is an interrupted write and is ignored (and overwritten by
+ * the next archival run). An event is archived in at most one segment: {@link #archivedIds} lets
+ * the archiver skip what a previous, interrupted run already wrote, and reads drop any repeated id
+ * left by older versions.
+ */
+@Component
+@Slf4j
+public class AuditSegmentStore {
+
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+    private static final String INDEX_SUFFIX = ".idx.json";
+
+    /** Audit listing order: newest first, id breaking ties. */
+    public static final Comparator<AuditEvent> NEWEST_FIRST = Comparator
+        .comparing(AuditEvent::getEventTimestamp, Comparator.reverseOrder())
+        .thenComparing(AuditEvent::getId, Comparator.reverseOrder());
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+
+    // date -> segments of that day, newest day first
+    private final NavigableMap<LocalDate, List<SegmentIndex>> segments =
+        new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+
+    public AuditSegmentStore(ObjectMapper objectMapper,
+                             @Value("${app.audit.archive.directory:audit-archive}") String directory) {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+    }
+
+    /** Sidecar describing one segment. */
+    public record SegmentIndex(
+        String segment,
+        LocalDate date,
+        int count,
+        LocalDateTime minTimestamp,
+        LocalDateTime maxTimestamp,
+        long minId,
+        long maxId,
+        Set<String> entityTypes,
+        Set<String> eventTypes,
+        Set<String> performedBy
+    ) {}
+
+    @PostConstruct
+    public void load() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + INDEX_SUFFIX)) {
+            for (Path file : files) {
+                SegmentIndex index = objectMapper.readValue(file.toFile(), SegmentIndex.class);
+                if (Files.exists(directory.resolve(index.segment()))) {
+                    register(index);
+                }
+            }
+        }
+        log.info("Found {} archived audit segments in {}", segments.values().stream().mapToInt(List::size).sum(), directory);
+    }
+
+    /**
+     * Ids between {@code minId} and {@code maxId} already held by a segment of {@code date}. Only
+     * segments whose id range overlaps are read, which after a clean run is none of them.
+     */
+    public Set<Long> archivedIds(LocalDate date, long minId, long maxId) {
+        Set<Long> ids = new HashSet<>();
+        for (SegmentIndex index : segments.getOrDefault(date, List.of())) {
+            if (index.minId() <= maxId && index.maxId() >= minId) {
+                for (AuditEvent event : read(index)) {
+                    if (event.getId() >= minId && event.getId() <= maxId) {
+                        ids.add(event.getId());
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Writes {@code events}, which must all be from {@code date} and have ids, as a new segment.
+     * Returns once the segment and its sidecar are on disk.
+     */
+    public SegmentIndex write(LocalDate date, List<AuditEvent> events) throws IOException {
+        List<AuditEvent> sorted = new ArrayList<>(events);
+        sorted.sort(NEWEST_FIRST);
+        long minId = sorted.stream().mapToLong(AuditEvent::getId).min().orElseThrow();
+        long maxId = sorted.stream().mapToLong(AuditEvent::getId).max().orElseThrow();
+        String name = segmentName(date, minId, maxId);
+
+        Set<String> entityTypes = new TreeSet<>();
+        Set<String> eventTypes = new TreeSet<>();
+        Set<String> performedBy = new TreeSet<>();
+        for (AuditEvent event : sorted) {
+            entityTypes.add(event.getEntityType());
+            eventTypes.add(event.getEventType());
+            performedBy.add(event.getPerformedBy());
+        }
+        SegmentIndex index = new SegmentIndex(name + SEGMENT_SUFFIX, date, sorted.size(),
+            sorted.get(sorted.size() - 1).getEventTimestamp(), sorted.get(0).getEventTimestamp(),
+            minId, maxId, entityTypes, eventTypes, performedBy);
+
+        Files.createDirectories(directory);
+        writeAtomically(directory.resolve(index.segment()), out -> {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out);
+                 SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(gzip)) {
+                writer.writeAll(sorted);
+                writer.flush();
+                gzip.write('\n');
+            }
+        });
+        writeAtomically(directory.resolve(name + INDEX_SUFFIX), out -> objectMapper.writeValue(out, index));
+        register(index);
+        return index;
+    }
+
+    /**
+     * Archived events matching {@code filter} strictly after {@code after} in newest-first order,
+     * at most {@code limit} of them.
+     */
+    public List<AuditEvent> find(AuditEventFilter filter, AuditCursor after, int limit) {
+        LocalDate newest = after != null ? after.eventTimestamp().toLocalDate() : null;
+        if (filter.to() != null && (newest == null || filter.to().toLocalDate().isBefore(newest))) {
+            newest = filter.to().toLocalDate();
+        }
+        LocalDate oldest = filter.from() != null ? filter.from().toLocalDate() : null;
+        if (newest != null && oldest != null && oldest.isAfter(newest)) {
+            return new ArrayList<>();
+        }
+        NavigableMap<LocalDate, List<SegmentIndex>> days = segments;
+        if (newest != null) {
+            days = days.tailMap(newest, true);
+        }
+        if (oldest != null) {
+            days = days.headMap(oldest, true);
+        }
+
+        List<AuditEvent> result = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (List<SegmentIndex> day : days.values()) {
+            // Days never overlap, so once a whole day has been read the page cannot change.
+            for (SegmentIndex index : day) {
+                if (mayMatch(index, filter, after)) {
+                    for (AuditEvent event : read(index)) {
+                        if (matches(event, filter, after) && seen.add(event.getId())) {
+                            result.add(event);
+                        }
+                    }
+                }
+            }
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        result.sort(NEWEST_FIRST);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    public Optional<AuditEvent> findById(Long id) {
+        for (List<SegmentIndex> day : segments.values()) {
+            for (SegmentIndex index : day) {
+                if (id >= index.minId() && id <= index.maxId()) {
+                    Optional<AuditEvent> match = read(index).stream().filter(e -> id.equals(e.getId())).findFirst();
+                    if (match.isPresent()) {
+                        return match;
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Every archived event of {@code entityType} with one of {@code eventTypes}, oldest first, for
+     * replaying the log. Decompresses every segment whose sidecar lists the entity type and one of
+     * the event types.
+     */
+    public List<AuditEvent> findForReplay(String entityType, Collection<String> eventTypes) {
+        List<AuditEvent> events = new ArrayList<>();
+        for (List<SegmentIndex> day : segments.values()) {
+            for (SegmentIndex index : day) {
+                if (index.entityTypes().contains(entityType) && !Collections.disjoint(index.eventTypes(), eventTypes)) {
+                    for (AuditEvent event : read(index)) {
+                        if (entityType.equals(event.getEntityType()) && eventTypes.contains(event.getEventType())) {
+                            events.add(event);
+                        }
+                    }
+                }
+            }
+        }
+        events.sort(NEWEST_FIRST.reversed());
+        return events;
+    }
+
+    private List<AuditEvent> read(SegmentIndex index) {
+        List<AuditEvent> events = new ArrayList<>(index.count());
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(directory.resolve(index.segment()))));
+             MappingIterator<AuditEvent> iterator = objectMapper.readerFor(AuditEvent.class).readValues(in)) {
+            iterator.forEachRemaining(event -> {
+                // Segments archived before the type code and actor columns existed.
+                event.deriveMissingColumns();
+                events.add(event);
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read audit segment " + index.segment(), e);
+        }
+        return events;
+    }
+
+    private static boolean mayMatch(SegmentIndex index, AuditEventFilter filter, AuditCursor after) {
+        return (filter.entityType() == null || index.entityTypes().contains(filter.entityType()))
+            && (filter.eventType() == null || index.eventTypes().contains(filter.eventType()))
+            && (filter.performedBy() == null || index.performedBy().contains(filter.performedBy()))
+            && (filter.from() == null || !index.maxTimestamp().isBefore(filter.from()))
+            && (filter.to() == null || !index.minTimestamp().isAfter(filter.to()))
+            && (after == null || !index.minTimestamp().isAfter(after.eventTimestamp()));
+    }
+
+    private static boolean matches(AuditEvent event, AuditEventFilter filter, AuditCursor after) {
+        return (filter.entityType() == null || filter.entityType().equals(event.getEntityType()))
+            && (filter.entityId() == null || filter.entityId().equals(event.getEntityId()))
+            && (filter.eventType() == null || filter.eventType().equals(event.getEventType()))
+            && (filter.performedBy() == null || filter.performedBy().equals(event.getPerformedBy()))
+            && (filter.actorUserId() == null || filter.actorUserId().equals(event.getActorUserId()))
+            && (filter.from() == null || !event.getEventTimestamp().isBefore(filter.from()))
+            && (filter.to() == null || !event.getEventTimestamp().isAfter(filter.to()))
+            && (after == null || NEWEST_FIRST.compare(event, cursorEvent(after)) > 0);
+    }
+
+    private static AuditEvent cursorEvent(AuditCursor cursor) {
+        AuditEvent probe = new AuditEvent();
+        probe.setEventTimestamp(cursor.eventTimestamp());
+        probe.setId(cursor.id());
+        return probe;
+    }
+
+    private void register(SegmentIndex index) {
+        List<SegmentIndex> day = segments.computeIfAbsent(index.date(), d -> new CopyOnWriteArrayList<>());
+        day.removeIf(existing -> Objects.equals(existing.segment(), index.segment()));
+        day.add(index);
+    }
+
+    private static String segmentName(LocalDate date, long minId, long maxId) {
+        return SEGMENT_PREFIX + date + "-" + minId + "-" + maxId;
+    }
+
+    private interface StreamWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /** Writes through a temporary file, syncs it and renames it into place. */
+    private static void writeAtomically(Path target, StreamWriter content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            content.write(out);
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,8 +1,18 @@
 package com.ibrasoft.commandcentre.audit;
 
+import java.util.Optional;
+
 public record Actor(Kind kind, Long discordUserId, String botId) {
 
-    public enum Kind { USER, BOT, BOT_ON_BEHALF_OF }
+    public enum Kind {
+        USER, BOT, BOT_ON_BEHALF_OF,
+        /** Stored on legacy audit rows whose {@code performedBy} could not be parsed; never a live actor. */
+        UNKNOWN
+    }
+
+    private static final String USER_PREFIX = "user:";
+    private static final String BOT_PREFIX = "bot:";
+    private static final String ON_BEHALF_OF = ";on-behalf-of:";
 
     public static Actor user(Long discordUserId) {
         if (discordUserId == null) {
@@ -30,9 +40,33 @@ public record Actor(Kind kind, Long discordUserId, String botId) {
 
     public String format() {
         return switch (kind) {
-            case USER -> "user:" + discordUserId;
-            case BOT -> "bot:" + botId;
-            case BOT_ON_BEHALF_OF -> "bot:" + botId + ";on-behalf-of:" + discordUserId;
+            case USER -> USER_PREFIX + discordUserId;
+            case BOT -> BOT_PREFIX + botId;
+            case BOT_ON_BEHALF_OF -> BOT_PREFIX + botId + ON_BEHALF_OF + discordUserId;
+            case UNKNOWN -> throw new IllegalStateException("UNKNOWN actors have no formatted form");
         };
     }
+
+    /** Inverse of {@link #format()}; empty when {@code formatted} is not in that form. */
+    public static Optional<Actor> parse(String formatted) {
+        if (formatted == null) {
+            return Optional.empty();
+        }
+        try {
+            if (formatted.startsWith(USER_PREFIX)) {
+                return Optional.of(user(Long.parseLong(formatted.substring(USER_PREFIX.length()))));
+            }
+            if (formatted.startsWith(BOT_PREFIX)) {
+                String rest = formatted.substring(BOT_PREFIX.length());
+                int separator = rest.indexOf(ON_BEHALF_OF);
+                return Optional.of(separator < 0
+                    ? bot(rest)
+                    : botOnBehalfOf(rest.substring(0, separator),
+                        Long.parseLong(rest.substring(separator + ON_BEHALF_OF.length()))));
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through: not a formatted actor.
+        }
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,14 @@
+package com.ibrasoft.commandcentre.audit;
+
+/**
+ * One audit event waiting to be written in a batch. The actor and timestamp are supplied when the
+ * batch is persisted. {@code metadataJson} is optional structured detail, as in
+ * {@code AuditEventService.logEvent}.
+ */
+public record AuditEntry(
+    AuditEventType eventType,
+    String entityType,
+    Long entityId,
+    String eventDetails,
+    String metadataJson
+) {}
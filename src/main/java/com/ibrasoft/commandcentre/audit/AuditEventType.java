@@ -8,28 +8,40 @@ import java.util.Optional;
  * <p>The enum name is what gets persisted to {@code audit_events.event_type} (via
  * {@link #name()}), so existing rows and the dashboard's keyword-based styling keep working.
  * The enum exists to give type-safety at the call sites and to let the write endpoint reject
- * unknown event types.
+ * unknown event types. Each type also has a compact {@link #code()}, stored alongside the name and
+ * used by the event type index.
  */
 public enum AuditEventType {
 
     // Request lifecycle (logged as a side-effect of request mutations).
-    CREATE,
-    UPDATE,
-    DELETE,
-    ASSIGN,
-    UNASSIGN,
-    STATUS_CHANGE,
-    STATUS_ADVANCE,
-    DEPARTMENT_UPDATE,
-    REQUESTER_UPDATE,
+    CREATE(1),
+    UPDATE(2),
+    DELETE(3),
+    ASSIGN(4),
+    UNASSIGN(5),
+    STATUS_CHANGE(6),
+    STATUS_ADVANCE(7),
+    DEPARTMENT_UPDATE(8),
+    REQUESTER_UPDATE(9),
 
     // Discord-only actions, logged directly by the bot via POST /api/audit-events.
-    ASSIGNEE_ADD,
-    ASSIGNEE_REMOVE,
-    REQUEST_SPLIT,
-    CHANNEL_RENAME,
-    PERMISSIONS_SYNC,
-    CATEGORY_MOVE;
+    ASSIGNEE_ADD(10),
+    ASSIGNEE_REMOVE(11),
+    REQUEST_SPLIT(12),
+    CHANNEL_RENAME(13),
+    PERMISSIONS_SYNC(14),
+    CATEGORY_MOVE(15);
+
+    private final short code;
+
+    AuditEventType(int code) {
+        this.code = (short) code;
+    }
+
+    /** Stable numeric code stored in {@code audit_events.event_type_code}. Never reuse or renumber. */
+    public short code() {
+        return code;
+    }
 
     /** Case-insensitive lookup that never throws; empty when {@code value} is unknown. */
     public static Optional<AuditEventType> fromString(String value) {
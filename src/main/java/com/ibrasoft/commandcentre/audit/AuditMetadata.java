@@ -0,0 +1,73 @@
+package com.ibrasoft.commandcentre.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/** Builders for the structured {@code metadata} JSON attached to audit events, and its searchable form. */
+public final class AuditMetadata {
+
+    public static final String STATUS_FROM = "from";
+    public static final String STATUS_TO = "to";
+
+    public static final int MAX_PATH_LENGTH = 200;
+    public static final int MAX_VALUE_LENGTH = 255;
+    private static final int MAX_DEPTH = 8;
+
+    /** One searchable {@code path = value} pair of an event's metadata. */
+    public record Entry(String path, String value) {}
+
+    private AuditMetadata() {
+    }
+
+    /**
+     * {@code {"from":"IN_QUEUE","to":"IN_PROGRESS"}} for an event that moved a request between
+     * statuses; {@code from} is null for creation. Enum names need no escaping.
+     */
+    public static String statusChange(RequestStatus from, RequestStatus to) {
+        return "{\"" + STATUS_FROM + "\":" + quoted(from) + ",\"" + STATUS_TO + "\":" + quoted(to) + "}";
+    }
+
+    private static String quoted(RequestStatus status) {
+        return status != null ? "\"" + status.name() + "\"" : "null";
+    }
+
+    /**
+     * The {@code path = value} pairs metadata can be searched by. Nested object keys are joined with
+     * dots ({@code {"via":{"kind":"role"}}} gives {@code via.kind = role}); every scalar element of
+     * an array is indexed under the array's path ({@code {"assigneeIds":["1","2"]}} gives
+     * {@code assigneeIds = 1} and {@code assigneeIds = 2}); numbers and booleans are indexed as
+     * their text. Nulls, and paths or values too long to index, are left out.
+     */
+    public static Set<Entry> entries(JsonNode metadata) {
+        Set<Entry> entries = new LinkedHashSet<>();
+        if (metadata != null && metadata.isObject()) {
+            collect(metadata, null, 0, entries);
+        }
+        return entries;
+    }
+
+    private static void collect(JsonNode node, String path, int depth, Set<Entry> entries) {
+        if (depth > MAX_DEPTH) {
+            return;
+        }
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                collect(field.getValue(), path == null ? field.getKey() : path + "." + field.getKey(), depth + 1, entries);
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                collect(element, path, depth + 1, entries);
+            }
+        } else if (!node.isNull() && path != null
+                && path.length() <= MAX_PATH_LENGTH && node.asText().length() <= MAX_VALUE_LENGTH) {
+            entries.add(new Entry(path, node.asText()));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ibrasoft.commandcentre.audit;
+
+/**
+ * How audit events reach the database ({@code app.audit.write-mode}).
+ *
+ * <ul>
+ *   <li>{@code sync}: inserted in the caller's transaction, so they commit or roll back with it.</li>
+ *   <li>{@code async-on-commit}: queued once the caller's transaction commits and written in
+ *       batches by a background writer; events of rolled-back transactions are never written, but
+ *       queued events are lost if the process dies before they are flushed.</li>
+ *   <li>{@code async}: queued immediately, even if the caller's transaction later rolls back.</li>
+ * </ul>
+ */
+public enum AuditWriteMode {
+    SYNC,
+    ASYNC_ON_COMMIT,
+    ASYNC;
+
+    /** Accepts {@code sync}, {@code async-on-commit} and {@code async} in any case. */
+    public static AuditWriteMode fromProperty(String value) {
+        try {
+            return AuditWriteMode.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown app.audit.write-mode: " + value, e);
+        }
+    }
+}
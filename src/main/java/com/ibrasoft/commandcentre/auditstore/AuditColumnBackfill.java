@@ -0,0 +1,74 @@
+package com.ibrasoft.commandcentre.auditstore;
+
+import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.repository.AuditEventJdbcRepository;
+import com.ibrasoft.commandcentre.repository.AuditEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-off migration for {@code audit_events} rows written before the {@code event_type_code} and
+ * {@code actor_*} columns existed: derives them from {@code event_type} and {@code performed_by}
+ * once the application is ready, a batch per transaction. Rows whose {@code performed_by} is not a
+ * formatted {@link Actor} get {@link Actor.Kind#UNKNOWN}, so every row is visited once and later
+ * startups find nothing left to scan.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.store", havingValue = "jpa", matchIfMissing = true)
+@Slf4j
+public class AuditColumnBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditEventJdbcRepository auditEventJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuditColumnBackfill(AuditEventRepository auditEventRepository,
+                               AuditEventJdbcRepository auditEventJdbcRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.auditEventRepository = auditEventRepository;
+        this.auditEventJdbcRepository = auditEventJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long afterId = 0;
+        int updated = 0;
+        List<AuditEvent> batch;
+        do {
+            batch = auditEventRepository.findByIdGreaterThanAndActorKindIsNullOrderByIdAsc(
+                afterId, PageRequest.ofSize(BATCH_SIZE));
+            List<AuditEvent> changed = new ArrayList<>(batch.size());
+            for (AuditEvent event : batch) {
+                boolean derived = event.deriveMissingColumns();
+                if (event.getActorKind() == null) {
+                    event.setActorKind(Actor.Kind.UNKNOWN);
+                    derived = true;
+                }
+                if (derived) {
+                    changed.add(event);
+                }
+                afterId = event.getId();
+            }
+            if (!changed.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> auditEventJdbcRepository.updateDerivedColumns(changed));
+                updated += changed.size();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        if (updated > 0) {
+            log.info("Backfilled event type codes and actor columns on {} audit events", updated);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ibrasoft.commandcentre.auditstore;
+
+import com.ibrasoft.commandcentre.model.AuditCursor;
+import com.ibrasoft.commandcentre.model.AuditDailyCount;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage backend for audit events, selected with {@code app.audit.store}: {@code jpa} (the
+ * {@code audit_events} table, the default) or {@code log} (an append-only memory-mapped file log).
+ */
+public interface AuditEventStore {
+
+    /** Stores one event and returns it, with its id when the store assigns ids synchronously. */
+    AuditEvent append(AuditEvent event);
+
+    /** Stores several events. Every event must already carry its timestamp. */
+    void appendAll(List<AuditEvent> events);
+
+    /**
+     * Events matching {@code filter} strictly after {@code after} (or from the newest when null) in
+     * the newest-first {@code (eventTimestamp, id)} order, at most {@code limit} of them.
+     */
+    List<AuditEvent> findPage(AuditEventFilter filter, AuditCursor after, int limit);
+
+    Optional<AuditEvent> findById(Long id);
+
+    /**
+     * Every event matching {@code filter}, oldest first, read incrementally so memory use does not
+     * depend on the size of the result. Close the stream when done; the {@code jpa} store reads
+     * through a database cursor and must be consumed inside a transaction.
+     */
+    Stream<AuditEvent> stream(AuditEventFilter filter);
+
+    /**
+     * Events whose metadata has {@code path = value} (see
+     * {@link com.ibrasoft.commandcentre.audit.AuditMetadata#entries}), paged like {@link #findPage}.
+     */
+    List<AuditEvent> findByMetadata(String path, String value, AuditCursor after, int limit);
+
+    /**
+     * Daily count buckets from {@code from} to {@code to} inclusive, optionally for one event type
+     * or actor, ordered by day, event type and actor.
+     */
+    List<AuditDailyCount> findDailyCounts(LocalDate from, LocalDate to, String eventType, String actor);
+
+    /**
+     * Recomputes the daily count buckets of every day before today from the stored events and
+     * returns how many buckets were written. Days without stored events (e.g. archived ones) keep
+     * their buckets; today's keep counting.
+     */
+    int rebuildDailyCounts();
+
+    /** Every event of {@code entityType} with one of {@code eventTypes}, oldest first, for replaying the log. */
+    List<AuditEvent> findForReplay(String entityType, Collection<String> eventTypes);
+}
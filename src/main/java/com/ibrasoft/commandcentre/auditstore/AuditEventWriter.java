@@ -0,0 +1,280 @@
+package com.ibrasoft.commandcentre.auditstore;
+
+import com.ibrasoft.commandcentre.audit.AuditWriteMode;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.repository.AuditEventJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background writer for the asynchronous {@link AuditWriteMode}s.
+ *
+ * <p>Events wait in a bounded queue and a single writer thread inserts them in JDBC batches of up
+ * to {@code app.audit.batch-size}, flushing a partial batch once its oldest event has waited
+ * {@code app.audit.flush-interval-ms}. When the queue is full, callers block for up to
+ * {@code app.audit.offer-timeout-ms} and then write their own events synchronously, so audit
+ * events are slowed down under load rather than dropped.
+ *
+ * <p>A batch that fails with a transient or connection error is retried on the writer thread,
+ * backing off from {@code app.audit.retry-backoff-ms} up to a minute between attempts, until the
+ * database accepts it; the queue fills up behind it meanwhile and pushes callers onto the
+ * synchronous path. Any other failure (a constraint violation, say) would fail again, so the batch
+ * is split in halves until the rejected events are isolated; the rest are written and each rejected
+ * event is logged and counted in {@code audit.writer.failed}. A failed synchronous write is not
+ * retried: the exception reaches the caller, after the commit in {@code async-on-commit} mode.
+ * Shutdown drains the queue, giving each remaining batch {@value #SHUTDOWN_ATTEMPTS} attempts;
+ * only batches that still fail then are lost, and they are counted the same way.
+ */
+@Component
+@Slf4j
+public class AuditEventWriter {
+
+    private static final int SHUTDOWN_ATTEMPTS = 3;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 60_000;
+
+    private final AuditEventJdbcRepository auditEventJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditWriteMode mode;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final long retryBackoffMillis;
+    private final BlockingQueue<AuditEvent> queue;
+
+    private final Counter written;
+    private final Counter overflowed;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditEventWriter(AuditEventJdbcRepository auditEventJdbcRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.audit.write-mode:sync}") String mode,
+                            @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                            @Value("${app.audit.batch-size:100}") int batchSize,
+                            @Value("${app.audit.flush-interval-ms:200}") long flushIntervalMillis,
+                            @Value("${app.audit.offer-timeout-ms:1000}") long offerTimeoutMillis,
+                            @Value("${app.audit.retry-backoff-ms:500}") long retryBackoffMillis) {
+        this.auditEventJdbcRepository = auditEventJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Overflow writes can run from afterCommit, where the caller's finished transaction is still bound.
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.mode = AuditWriteMode.fromProperty(mode);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("audit.writer.queue.depth", queue, BlockingQueue::size)
+            .description("Audit events waiting for the background writer")
+            .register(meterRegistry);
+        this.written = Counter.builder("audit.writer.written")
+            .description("Audit events written in asynchronous mode")
+            .register(meterRegistry);
+        this.overflowed = Counter.builder("audit.writer.overflow")
+            .description("Audit events written synchronously because the queue was full")
+            .register(meterRegistry);
+        this.failed = Counter.builder("audit.writer.failed")
+            .description("Audit events rejected by the database, whose synchronous write failed, or still unwritten at shutdown")
+            .register(meterRegistry);
+    }
+
+    public AuditWriteMode mode() {
+        return mode;
+    }
+
+    public boolean isAsync() {
+        return mode != AuditWriteMode.SYNC;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isAsync()) {
+            return;
+        }
+        running = true;
+        writerThread = Thread.ofPlatform().name("audit-writer").daemon(false).start(this::run);
+        log.info("Audit events are written asynchronously (mode {}, batch size {})", mode, batchSize);
+    }
+
+    /**
+     * Queues {@code events} for writing: right away in {@code async} mode, or after the current
+     * transaction commits in {@code async-on-commit} mode (right away when there is none).
+     */
+    public void submit(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (mode == AuditWriteMode.ASYNC_ON_COMMIT && TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<AuditEvent> pending = List.copyOf(events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(pending);
+                }
+            });
+        } else {
+            enqueue(events);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Audit writer stopped ({} events left unwritten)", queue.size());
+    }
+
+    private void enqueue(List<AuditEvent> events) {
+        List<AuditEvent> overflow = new ArrayList<>();
+        for (AuditEvent event : events) {
+            // Once one offer has timed out the queue is full; the rest go straight to the caller's
+            // own write instead of each waiting out the timeout again.
+            boolean queued = false;
+            if (running && overflow.isEmpty()) {
+                try {
+                    queued = queue.offer(event, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (!queued) {
+                overflow.add(event);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            // Backpressure: the caller pays for its own write rather than losing the events.
+            overflowed.increment(overflow.size());
+            try {
+                insert(overflow);
+            } catch (RuntimeException e) {
+                failed.increment(overflow.size());
+                throw e;
+            }
+        }
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditEvent first = running ? queue.poll(1, TimeUnit.SECONDS) : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    AuditEvent next = running && remaining > 0
+                        ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                        : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: running is now false and the loop drains what is left without waiting.
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes one batch on the writer thread. Transient failures are retried until they succeed or
+     * shutdown has used up its attempts; other failures split the batch until the rejected events
+     * are isolated and dropped.
+     */
+    private void writeBatch(List<AuditEvent> events) {
+        Deque<List<AuditEvent>> pending = new ArrayDeque<>();
+        pending.push(List.copyOf(events));
+        int attempt = 1;
+        while (!pending.isEmpty()) {
+            List<AuditEvent> chunk = pending.peek();
+            try {
+                insert(chunk);
+                pending.pop();
+                attempt = 1;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    pending.pop();
+                    attempt = 1;
+                    if (chunk.size() == 1) {
+                        failed.increment();
+                        log.error("Dropping audit event rejected by the database: {}", chunk.get(0), e);
+                    } else {
+                        // Second half first, so the first half is tried next and the order is kept.
+                        int middle = chunk.size() / 2;
+                        pending.push(chunk.subList(middle, chunk.size()));
+                        pending.push(chunk.subList(0, middle));
+                    }
+                    continue;
+                }
+                if (!running && attempt >= SHUTDOWN_ATTEMPTS) {
+                    int lost = pending.stream().mapToInt(List::size).sum();
+                    failed.increment(lost);
+                    log.error("Dropping {} audit events at shutdown after {} failed attempts: {}", lost, attempt, pending, e);
+                    return;
+                }
+                log.warn("Audit batch write failed (attempt {}), retrying", attempt, e);
+                try {
+                    Thread.sleep(Math.min(attempt * retryBackoffMillis, MAX_RETRY_BACKOFF_MILLIS));
+                } catch (InterruptedException interrupted) {
+                    // Shutdown: running is now false, so the remaining attempts are counted.
+                }
+                attempt++;
+            }
+        }
+    }
+
+    /** Whether {@code e} is worth retrying unchanged: a lost connection, a lock timeout and the like. */
+    static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof DataAccessResourceFailureException
+            || e instanceof CannotCreateTransactionException;
+    }
+
+    private void insert(List<AuditEvent> events) {
+        transactionTemplate.executeWithoutResult(status -> auditEventJdbcRepository.insertAll(events));
+        written.increment(events.size());
+    }
+}
@@ -0,0 +1,140 @@
+package com.ibrasoft.commandcentre.auditstore;
+
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.AuditCursor;
+import com.ibrasoft.commandcentre.model.AuditDailyCount;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import com.ibrasoft.commandcentre.repository.AuditDailyCountRepository;
+import com.ibrasoft.commandcentre.repository.AuditEventJdbcRepository;
+import com.ibrasoft.commandcentre.repository.AuditEventRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The {@code audit_events} table. Writes join the caller's transaction, or go through
+ * {@link AuditEventWriter} in an asynchronous {@code app.audit.write-mode}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaAuditEventStore implements AuditEventStore {
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditEventJdbcRepository auditEventJdbcRepository;
+    private final AuditEventWriter auditEventWriter;
+    private final AuditDailyCountRepository auditDailyCountRepository;
+    private final EntityManager entityManager;
+
+    /** In an asynchronous write mode the returned event has no id. */
+    @Override
+    public AuditEvent append(AuditEvent event) {
+        if (auditEventWriter.isAsync()) {
+            event.setEventTimestamp(LocalDateTime.now());
+            auditEventWriter.submit(List.of(event));
+            return event;
+        }
+        AuditEvent saved = auditEventRepository.save(event);
+        auditEventJdbcRepository.insertDerived(List.of(saved));
+        return saved;
+    }
+
+    /** In an asynchronous write mode the events get no ids. */
+    @Override
+    public void appendAll(List<AuditEvent> events) {
+        if (auditEventWriter.isAsync()) {
+            auditEventWriter.submit(events);
+        } else {
+            auditEventJdbcRepository.insertAll(events);
+        }
+    }
+
+    @Override
+    public List<AuditEvent> findPage(AuditEventFilter filter, AuditCursor after, int limit) {
+        if (filter.eventType() != null && eventTypeCode(filter) == null) {
+            return new ArrayList<>();
+        }
+        return auditEventRepository.findPage(filter, eventTypeCode(filter), after, limit);
+    }
+
+    @Override
+    public Optional<AuditEvent> findById(Long id) {
+        return auditEventRepository.findById(id);
+    }
+
+    @Override
+    public Stream<AuditEvent> stream(AuditEventFilter filter) {
+        if (filter.eventType() != null && eventTypeCode(filter) == null) {
+            return Stream.empty();
+        }
+        return auditEventRepository.streamAll(filter, eventTypeCode(filter));
+    }
+
+    @Override
+    public List<AuditEvent> findByMetadata(String path, String value, AuditCursor after, int limit) {
+        return auditEventRepository.findPageByMetadata(path, value,
+            after != null ? after.eventTimestamp() : null,
+            after != null ? after.id() : null,
+            PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public List<AuditDailyCount> findDailyCounts(LocalDate from, LocalDate to, String eventType, String actor) {
+        return auditDailyCountRepository.findInRange(from, to, eventType, actor);
+    }
+
+    /** Reads the closed days through the export cursor and replaces their buckets in one transaction. */
+    @Override
+    @Transactional
+    public int rebuildDailyCounts() {
+        LocalDate today = LocalDate.now();
+        Map<AuditDailyCount.Bucket, Long> counts = new HashMap<>();
+        LocalDate oldest = null;
+        try (Stream<AuditEvent> rows = auditEventRepository.streamAll(
+                AuditEventFilter.between(null, today.atStartOfDay().minusNanos(1)), null)) {
+            Iterator<AuditEvent> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                AuditEvent event = iterator.next();
+                if (oldest == null) {
+                    oldest = event.getEventTimestamp().toLocalDate();
+                }
+                counts.merge(AuditDailyCount.Bucket.of(event), 1L, Long::sum);
+                entityManager.detach(event);
+            }
+        }
+        if (oldest == null) {
+            return 0;
+        }
+        auditDailyCountRepository.deleteDays(oldest, today);
+        auditEventJdbcRepository.addDailyCounts(counts);
+        return counts.size();
+    }
+
+    @Override
+    public List<AuditEvent> findForReplay(String entityType, Collection<String> eventTypes) {
+        return auditEventRepository.findByEntityTypeAndEventTypeInOrderByEventTimestampAscIdAsc(entityType, eventTypes);
+    }
+
+    // Only enum names get a code, and the write endpoints accept nothing else, so any other type matches nothing.
+    private static Short eventTypeCode(AuditEventFilter filter) {
+        return AuditEventType.fromString(filter.eventType())
+            .filter(type -> type.name().equals(filter.eventType()))
+            .map(AuditEventType::code)
+            .orElse(null);
+    }
+}
@@ -0,0 +1,612 @@
+package com.ibrasoft.commandcentre.auditstore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibrasoft.commandcentre.archive.AuditSegmentStore;
+import com.ibrasoft.commandcentre.audit.AuditMetadata;
+import com.ibrasoft.commandcentre.model.AuditCursor;
+import com.ibrasoft.commandcentre.model.AuditDailyCount;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Audit events in an append-only log of memory-mapped segment files under
+ * {@code app.audit.log.directory}, each {@code app.audit.log.segment-bytes} long and named after
+ * the first id it holds.
+ *
+ * <p>Every record is {@code [payload length][CRC32 of payload][JSON payload]}; the length is written
+ * last, so a record torn by a crash reads as the end of the log. Ids are assigned here, densely from
+ * 1, and timestamps never go backwards, so id order is also listing order. Startup scans the
+ * segments up to the first missing or corrupt record, rebuilding the in-memory indexes (id to
+ * position, and posting lists by entity, event type, actor, acting user and metadata entry) and resuming appends there.
+ *
+ * <p>Appends only copy into the mapped page cache and return; dirty pages are forced to disk every
+ * {@code app.audit.log.fsync-interval-ms}, so a power loss (not a process crash) can lose that
+ * window. Appends are not part of the caller's transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.store", havingValue = "log")
+@Slf4j
+public class MappedLogAuditEventStore implements AuditEventStore {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final byte[] ZEROS = new byte[64 * 1024];
+    private static final int STREAM_CHUNK = 500;
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int segmentBytes;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment active;
+    private volatile boolean dirty;
+
+    // Indexed by id - 1.
+    private long[] locators = new long[1024];
+    private long[] timestamps = new long[1024];
+    private int count;
+
+    private final Map<String, IdList> byEntity = new HashMap<>();
+    private final Map<String, IdList> byEventType = new HashMap<>();
+    private final Map<String, IdList> byPerformedBy = new HashMap<>();
+    private final Map<Long, IdList> byActorUser = new HashMap<>();
+    private final Map<String, IdList> byMetadata = new HashMap<>();
+    private final NavigableMap<AuditDailyCount.Bucket, long[]> dailyCounts = new TreeMap<>(Comparator
+        .comparing(AuditDailyCount.Bucket::day)
+        .thenComparing(AuditDailyCount.Bucket::eventType)
+        .thenComparing(AuditDailyCount.Bucket::actor));
+
+    public MappedLogAuditEventStore(ObjectMapper objectMapper,
+                                    @Value("${app.audit.log.directory:audit-log}") String directory,
+                                    @Value("${app.audit.log.segment-bytes:67108864}") int segmentBytes) {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+
+    /** Ascending ids. */
+    private static final class IdList {
+        private long[] ids = new long[8];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        /** Index of the last id not above {@code bound}, or -1. */
+        int lastAtOrBelow(long bound) {
+            int index = Arrays.binarySearch(ids, 0, size, bound);
+            return index >= 0 ? index : -index - 2;
+        }
+    }
+
+    @PostConstruct
+    public void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (int i = 0; i < files.size(); i++) {
+            boolean last = i == files.size() - 1;
+            Segment segment = map(files.get(i), last);
+            segments.add(segment);
+            scan(segment, segments.size() - 1);
+            if (last) {
+                // Clear whatever a torn append left behind so it cannot be mistaken for a record later.
+                zero(segment.buffer, segment.position);
+                active = segment;
+            } else if (segment.position + HEADER_BYTES <= segment.buffer.capacity()
+                    && segment.buffer.getInt(segment.position) != 0) {
+                log.warn("Audit log segment {} has unreadable data after {} bytes; it is ignored",
+                    segment.path, segment.position);
+            }
+        }
+        log.info("Recovered {} audit events from {} log segments in {}", count, segments.size(), directory);
+    }
+
+    @Override
+    public AuditEvent append(AuditEvent event) {
+        lock.writeLock().lock();
+        try {
+            write(event);
+            return event;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void appendAll(List<AuditEvent> events) {
+        lock.writeLock().lock();
+        try {
+            events.forEach(this::write);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<AuditEvent> findPage(AuditEventFilter filter, AuditCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            long upper = count;
+            if (filter.to() != null) {
+                upper = Math.min(upper, lastIdAtOrBefore(filter.to()));
+            }
+            if (after != null) {
+                upper = Math.min(upper, lastIdAtOrBefore(after.eventTimestamp()));
+            }
+            long fromNanos = filter.from() != null ? nanos(filter.from()) : Long.MIN_VALUE;
+
+            List<AuditEvent> result = new ArrayList<>();
+            IdList candidates = candidates(filter);
+            if (candidates == null) {
+                for (long id = upper; id >= 1 && result.size() < limit && timestamps[(int) id - 1] >= fromNanos; id--) {
+                    collect(id, filter, after, result);
+                }
+            } else {
+                for (int i = candidates.lastAtOrBelow(upper); i >= 0 && result.size() < limit; i--) {
+                    long id = candidates.ids[i];
+                    if (timestamps[(int) id - 1] < fromNanos) {
+                        break;
+                    }
+                    collect(id, filter, after, result);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<AuditEvent> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            return id != null && id >= 1 && id <= count ? Optional.of(read(id)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Reads {@value #STREAM_CHUNK} matches at a time, holding the lock only while reading a chunk. */
+    @Override
+    public Stream<AuditEvent> stream(AuditEventFilter filter) {
+        long lowerId;
+        long upperId;
+        lock.readLock().lock();
+        try {
+            lowerId = filter.from() != null ? lastIdAtOrBefore(filter.from().minusNanos(1)) + 1 : 1;
+            upperId = filter.to() != null ? lastIdAtOrBefore(filter.to()) : count;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return StreamSupport.stream(new ChunkSpliterator(filter, lowerId, upperId), false);
+    }
+
+    /** Matches of one filter between two ids, ascending, fetched a chunk at a time. */
+    private final class ChunkSpliterator extends Spliterators.AbstractSpliterator<AuditEvent> {
+
+        private final AuditEventFilter filter;
+        private final long upperId;
+        private long nextId;
+        private int nextIndex = -1;
+        private List<AuditEvent> chunk = List.of();
+        private int chunkPosition;
+
+        ChunkSpliterator(AuditEventFilter filter, long lowerId, long upperId) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.filter = filter;
+            this.nextId = lowerId;
+            this.upperId = upperId;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super AuditEvent> action) {
+            while (chunkPosition == chunk.size()) {
+                if (nextId > upperId) {
+                    return false;
+                }
+                chunk = nextChunk();
+                chunkPosition = 0;
+            }
+            action.accept(chunk.get(chunkPosition++));
+            return true;
+        }
+
+        private List<AuditEvent> nextChunk() {
+            List<AuditEvent> result = new ArrayList<>(STREAM_CHUNK);
+            lock.readLock().lock();
+            try {
+                IdList candidates = candidates(filter);
+                if (candidates == null) {
+                    for (; nextId <= upperId && result.size() < STREAM_CHUNK; nextId++) {
+                        collect(nextId, filter, null, result);
+                    }
+                    return result;
+                }
+                if (nextIndex < 0) {
+                    nextIndex = candidates.lastAtOrBelow(nextId - 1) + 1;
+                }
+                while (result.size() < STREAM_CHUNK && nextIndex < candidates.size
+                        && candidates.ids[nextIndex] <= upperId) {
+                    collect(candidates.ids[nextIndex++], filter, null, result);
+                }
+                nextId = nextIndex < candidates.size ? candidates.ids[nextIndex] : upperId + 1;
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public List<AuditEvent> findByMetadata(String path, String value, AuditCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            IdList candidates = byMetadata.get(metadataKey(path, value));
+            List<AuditEvent> result = new ArrayList<>();
+            if (candidates == null) {
+                return result;
+            }
+            long upper = after != null ? lastIdAtOrBefore(after.eventTimestamp()) : count;
+            AuditEventFilter filter = AuditEventFilter.none();
+            for (int i = candidates.lastAtOrBelow(upper); i >= 0 && result.size() < limit; i--) {
+                collect(candidates.ids[i], filter, after, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<AuditDailyCount> findDailyCounts(LocalDate from, LocalDate to, String eventType, String actor) {
+        lock.readLock().lock();
+        try {
+            List<AuditDailyCount> result = new ArrayList<>();
+            dailyCounts.subMap(new AuditDailyCount.Bucket(from, "", ""), true,
+                    new AuditDailyCount.Bucket(to.plusDays(1), "", ""), false)
+                .forEach((bucket, count) -> {
+                    if ((eventType == null || eventType.equals(bucket.eventType()))
+                            && (actor == null || actor.equals(bucket.actor()))) {
+                        result.add(new AuditDailyCount(null, bucket.day(), bucket.eventType(), bucket.actor(), count[0]));
+                    }
+                });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Buckets are derived from the log itself at startup and on every append; nothing to rebuild. */
+    @Override
+    public int rebuildDailyCounts() {
+        lock.readLock().lock();
+        try {
+            return dailyCounts.headMap(new AuditDailyCount.Bucket(LocalDate.now(), "", ""), false).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<AuditEvent> findForReplay(String entityType, Collection<String> eventTypes) {
+        lock.readLock().lock();
+        try {
+            long[] ids = new long[0];
+            for (String eventType : eventTypes) {
+                IdList list = byEventType.get(eventType);
+                if (list != null) {
+                    int offset = ids.length;
+                    ids = Arrays.copyOf(ids, offset + list.size);
+                    System.arraycopy(list.ids, 0, ids, offset, list.size);
+                }
+            }
+            Arrays.sort(ids);
+            List<AuditEvent> events = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                AuditEvent event = read(id);
+                if (entityType.equals(event.getEntityType())) {
+                    events.add(event);
+                }
+            }
+            return events;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Forces appended records to disk; many appends share one fsync. */
+    @Scheduled(fixedDelayString = "${app.audit.log.fsync-interval-ms:100}")
+    public void sync() {
+        if (!dirty) {
+            return;
+        }
+        // The read lock keeps appends out while the pages are forced.
+        lock.readLock().lock();
+        try {
+            dirty = false;
+            if (active != null) {
+                active.buffer.force();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        dirty = true;
+        sync();
+    }
+
+    // Caller holds the write lock.
+    private void write(AuditEvent event) {
+        long id = count + 1L;
+        LocalDateTime timestamp = event.getEventTimestamp() != null ? event.getEventTimestamp() : LocalDateTime.now();
+        if (count > 0 && nanos(timestamp) < timestamps[count - 1]) {
+            timestamp = read(count).getEventTimestamp();
+        }
+        event.setId(id);
+        event.setEventTimestamp(timestamp);
+
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            event.setId(null);
+            throw new UncheckedIOException(e);
+        }
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentBytes) {
+            event.setId(null);
+            throw new IllegalArgumentException("Audit event of " + payload.length + " bytes does not fit in a log segment");
+        }
+        if (active == null || active.position + recordBytes > active.buffer.capacity()) {
+            roll(id);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int offset = active.position;
+        active.buffer.putInt(offset + 4, (int) crc.getValue());
+        active.buffer.put(offset + HEADER_BYTES, payload);
+        active.buffer.putInt(offset, payload.length);
+        active.position += recordBytes;
+        dirty = true;
+        index(event, segments.size() - 1, offset);
+    }
+
+    private void roll(long firstId) {
+        try {
+            if (active != null) {
+                active.buffer.force();
+            }
+            Path path = directory.resolve(String.format("%020d%s", firstId, SEGMENT_SUFFIX));
+            active = map(path, true);
+            segments.add(active);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create audit log segment", e);
+        }
+    }
+
+    private Segment map(Path path, boolean writable) throws IOException {
+        if (!writable) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return new Segment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), segmentBytes);
+            return new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    private void scan(Segment segment, int segmentIndex) throws IOException {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - HEADER_BYTES) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            AuditEvent event = parse(payload);
+            if (event.getId() == null || event.getId() != count + 1L) {
+                // Records after a gap cannot be indexed by position; refuse to append over them.
+                throw new IllegalStateException("Audit log segment " + segment.path + " expected id "
+                    + (count + 1L) + " but found " + event.getId());
+            }
+            index(event, segmentIndex, position);
+            position += HEADER_BYTES + length;
+        }
+        segment.position = position;
+    }
+
+    private void index(AuditEvent event, int segmentIndex, int offset) {
+        if (count == locators.length) {
+            locators = Arrays.copyOf(locators, count * 2);
+            timestamps = Arrays.copyOf(timestamps, count * 2);
+        }
+        locators[count] = ((long) segmentIndex << 32) | offset;
+        timestamps[count] = nanos(event.getEventTimestamp());
+        count++;
+        long id = event.getId();
+        byEntity.computeIfAbsent(entityKey(event.getEntityType(), event.getEntityId()), k -> new IdList()).add(id);
+        byEventType.computeIfAbsent(event.getEventType(), k -> new IdList()).add(id);
+        byPerformedBy.computeIfAbsent(event.getPerformedBy(), k -> new IdList()).add(id);
+        dailyCounts.computeIfAbsent(AuditDailyCount.Bucket.of(event), k -> new long[1])[0]++;
+        if (event.getActorUserId() != null) {
+            byActorUser.computeIfAbsent(event.getActorUserId(), k -> new IdList()).add(id);
+        }
+        if (event.getMetadata() != null) {
+            try {
+                for (AuditMetadata.Entry entry : AuditMetadata.entries(objectMapper.readTree(event.getMetadata()))) {
+                    byMetadata.computeIfAbsent(metadataKey(entry.path(), entry.value()), k -> new IdList()).add(id);
+                }
+            } catch (IOException e) {
+                log.debug("Not indexing unreadable metadata on audit event {}", id);
+            }
+        }
+    }
+
+    private AuditEvent read(long id) {
+        long locator = locators[(int) id - 1];
+        MappedByteBuffer buffer = segments.get((int) (locator >>> 32)).buffer;
+        int offset = (int) locator;
+        byte[] payload = new byte[buffer.getInt(offset)];
+        buffer.get(offset + HEADER_BYTES, payload);
+        try {
+            return parse(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read audit event " + id, e);
+        }
+    }
+
+    // Records appended before the type code and actor fields existed get them derived on read.
+    private AuditEvent parse(byte[] payload) throws IOException {
+        AuditEvent event = objectMapper.readValue(payload, AuditEvent.class);
+        event.deriveMissingColumns();
+        return event;
+    }
+
+    /** The smallest posting list the filter allows, or null when it must scan every id. */
+    private IdList candidates(AuditEventFilter filter) {
+        IdList best = null;
+        List<IdList> lists = new ArrayList<>(4);
+        if (filter.entityType() != null && filter.entityId() != null) {
+            lists.add(byEntity.getOrDefault(entityKey(filter.entityType(), filter.entityId()), new IdList()));
+        }
+        if (filter.eventType() != null) {
+            lists.add(byEventType.getOrDefault(filter.eventType(), new IdList()));
+        }
+        if (filter.performedBy() != null) {
+            lists.add(byPerformedBy.getOrDefault(filter.performedBy(), new IdList()));
+        }
+        if (filter.actorUserId() != null) {
+            lists.add(byActorUser.getOrDefault(filter.actorUserId(), new IdList()));
+        }
+        for (IdList list : lists) {
+            if (best == null || list.size < best.size) {
+                best = list;
+            }
+        }
+        return best;
+    }
+
+    private void collect(long id, AuditEventFilter filter, AuditCursor after, List<AuditEvent> result) {
+        AuditEvent event = read(id);
+        if ((filter.entityType() == null || filter.entityType().equals(event.getEntityType()))
+                && (filter.entityId() == null || filter.entityId().equals(event.getEntityId()))
+                && (filter.eventType() == null || filter.eventType().equals(event.getEventType()))
+                && (filter.performedBy() == null || filter.performedBy().equals(event.getPerformedBy()))
+                && (filter.actorUserId() == null || filter.actorUserId().equals(event.getActorUserId()))
+                && (filter.from() == null || !event.getEventTimestamp().isBefore(filter.from()))
+                && (after == null || AuditSegmentStore.NEWEST_FIRST.compare(event, cursorEvent(after)) > 0)) {
+            result.add(event);
+        }
+    }
+
+    /** Timestamps never decrease with id, so this is a binary search; 0 when every event is later. */
+    private long lastIdAtOrBefore(LocalDateTime timestamp) {
+        long bound = nanos(timestamp);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= bound) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static AuditEvent cursorEvent(AuditCursor cursor) {
+        AuditEvent probe = new AuditEvent();
+        probe.setEventTimestamp(cursor.eventTimestamp());
+        probe.setId(cursor.id());
+        return probe;
+    }
+
+    private static String entityKey(String entityType, Long entityId) {
+        return entityType + ":" + entityId;
+    }
+
+    private static String metadataKey(String path, String value) {
+        return path + "\n" + value;
+    }
+
+    private static long nanos(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano();
+    }
+
+    private static void zero(MappedByteBuffer buffer, int from) {
+        for (int position = from; position < buffer.capacity(); position += ZEROS.length) {
+            buffer.put(position, ZEROS, 0, Math.min(ZEROS.length, buffer.capacity() - position));
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.ibrasoft.commandcentre.config;
 
 import com.ibrasoft.commandcentre.security.DiscordGuildFilter;
 import com.ibrasoft.commandcentre.security.DiscordOAuthSuccessHandler;
+import com.ibrasoft.commandcentre.security.GuildVerificationMode;
 import com.ibrasoft.commandcentre.security.JwtAuthenticationFilter;
+import com.ibrasoft.commandcentre.security.SignedCookieAuthorizationRequestRepository;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -11,6 +14,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
@@ -21,25 +25,44 @@ public class SecurityConfig {
     private final DiscordGuildFilter discordGuildFilter;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final DiscordOAuthSuccessHandler discordOAuthSuccessHandler;
+    private final SignedCookieAuthorizationRequestRepository cookieAuthorizationRequestRepository;
     
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
+
+    @Value("${app.guild-verification.mode:session}")
+    private String guildVerificationMode;
     
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // In token mode nothing lives in an HTTP session, so any instance can serve any request
+        boolean stateless = GuildVerificationMode.fromProperty(guildVerificationMode) == GuildVerificationMode.TOKEN;
         http
             .cors(cors -> cors.configure(http)) // Enable CORS support in Spring Security
             .csrf(csrf -> csrf.disable()) // Disable CSRF for API usage
-            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+            .sessionManagement(session -> session.sessionCreationPolicy(
+                stateless ? SessionCreationPolicy.STATELESS : SessionCreationPolicy.IF_REQUIRED))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches (SSE completion) re-enter the chain after the original request was authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/", "/login/**", "/oauth2/**", "/error", "/api/auth/**", "/api/workload/**", "/v3/api-docs").permitAll()
 
                 .anyRequest().authenticated()
             )
-            .oauth2Login(oauth2 -> oauth2
-                .successHandler(discordOAuthSuccessHandler)
-                .failureUrl(frontendUrl + "/login?error=true")
-            )
+            .oauth2Login(oauth2 -> {
+                oauth2
+                    .successHandler(discordOAuthSuccessHandler)
+                    .failureUrl(frontendUrl + "/login?error=true");
+                if (stateless) {
+                    SimpleUrlAuthenticationFailureHandler failureHandler =
+                        new SimpleUrlAuthenticationFailureHandler(frontendUrl + "/login?error=true");
+                    failureHandler.setAllowSessionCreation(false);
+                    oauth2
+                        .failureHandler(failureHandler)
+                        .authorizationEndpoint(endpoint -> endpoint
+                            .authorizationRequestRepository(cookieAuthorizationRequestRepository));
+                }
+            })
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
             .addFilterAfter(discordGuildFilter, UsernamePasswordAuthenticationFilter.class);
         
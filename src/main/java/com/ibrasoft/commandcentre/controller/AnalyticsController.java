@@ -0,0 +1,68 @@
+package com.ibrasoft.commandcentre.controller;
+
+import com.ibrasoft.commandcentre.model.AuditDailyCount;
+import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.model.StatusTimingReport;
+import com.ibrasoft.commandcentre.readmodel.StatusTimingRollup;
+import com.ibrasoft.commandcentre.service.AuditEventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final StatusTimingRollup statusTimingRollup;
+    private final AuditEventService auditEventService;
+
+    /**
+     * Lead-time and time-in-status percentiles grouped by request type, assignee, posting cycle or
+     * nothing ({@code groupBy=type|assignee|cycle|none}), optionally filtered to one of each.
+     */
+    @GetMapping("/status-timing")
+    public ResponseEntity<StatusTimingReport> getStatusTiming(
+            @RequestParam(defaultValue = "type") String groupBy,
+            @RequestParam(required = false) RequestType requestType,
+            @RequestParam(required = false) Long assignedToId,
+            @RequestParam(required = false) Integer cycle) {
+        String normalized = groupBy.trim().toLowerCase();
+        if (!StatusTimingRollup.GROUP_BY.contains(normalized)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(statusTimingRollup.report(normalized, requestType, assignedToId, cycle));
+    }
+
+    /**
+     * Audit events per day per event type per actor, for activity heatmaps. Served from daily
+     * buckets kept up to date on every audit write, so long ranges never read {@code audit_events}.
+     */
+    @GetMapping("/audit-activity")
+    public ResponseEntity<List<AuditDailyCount>> getAuditActivity(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String actor) {
+        try {
+            return ResponseEntity.ok(auditEventService.getDailyActivity(from, to, eventType, actor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /** Recomputes the activity buckets of past days from the stored audit events. */
+    @PostMapping("/audit-activity/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildAuditActivity() {
+        return ResponseEntity.ok(Map.of("buckets", auditEventService.rebuildDailyActivity()));
+    }
+}
@@ -3,24 +3,49 @@ package com.ibrasoft.commandcentre.controller;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.audit.AuditEntry;
 import com.ibrasoft.commandcentre.audit.AuditEventType;
 import com.ibrasoft.commandcentre.audit.AuthenticationActorResolver;
 import com.ibrasoft.commandcentre.audit.AuthenticationActorResolver.ActorResolutionException;
 import com.ibrasoft.commandcentre.controller.dto.AuditEventRequest;
+import com.ibrasoft.commandcentre.model.AuditCursor;
 import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventBatchResult;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import com.ibrasoft.commandcentre.model.CursorPage;
 import com.ibrasoft.commandcentre.model.DepartmentCount;
 import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestBatchGetResult;
+import com.ibrasoft.commandcentre.model.RequestBatchOperation;
+import com.ibrasoft.commandcentre.model.RequestBatchResult;
+import com.ibrasoft.commandcentre.model.RequestCursor;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestStatistics;
 import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestType;
 import com.ibrasoft.commandcentre.service.AuditEventService;
+import com.ibrasoft.commandcentre.service.RequestDataVersion;
+import com.ibrasoft.commandcentre.service.RequestEventStreamService;
 import com.ibrasoft.commandcentre.service.RequestService;
+import com.ibrasoft.commandcentre.service.RequestStatisticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -30,39 +55,170 @@ import java.util.List;
 public class CommandCentreController {
 
     private static final String ON_BEHALF_OF_HEADER = "X-Discord-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private final RequestService requestService;
+    private final RequestDataVersion requestDataVersion;
+    private final RequestEventStreamService requestEventStreamService;
+    private final RequestStatisticsService requestStatisticsService;
     private final AuditEventService auditEventService;
     private final AuthenticationActorResolver actorResolver;
     private final ObjectMapper objectMapper;
 
     // ========== Request Endpoints ==========
 
+    /**
+     * Lists requests ordered by posting date (undated last), optionally filtered.
+     *
+     * <p>Without {@code limit} or {@code cursor} the full list is returned as a JSON array, as
+     * before. With either of them the response is a {@code CursorPage}; pass its
+     * {@code nextCursor} back as {@code cursor} to read the following page.
+     *
+     * <p>{@code view=summary} returns {@code RequestSummary} rows (no description, room or
+     * signup URL) instead of full requests; the other list endpoints accept it too. Like the other
+     * request GETs, responses carry an ETag; a matching {@code If-None-Match} gets a {@code 304}
+     * without touching the data.
+     */
     @GetMapping("/requests")
-    public ResponseEntity<List<Request>> getAllRequests() {
-        return ResponseEntity.ok(requestService.getAllRequests());
+    public ResponseEntity<?> getAllRequests(
+            @RequestParam(required = false) RequestStatus status,
+            @RequestParam(required = false) RequestType requestType,
+            @RequestParam(required = false) Long assignedToId,
+            @RequestParam(required = false) Long requesterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate postingFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate postingTo,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String view,
+            WebRequest webRequest) {
+        String etag = requestDataVersion.etag();
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        RequestFilter filter = new RequestFilter(status, requestType, assignedToId, requesterId, postingFrom, postingTo);
+        if (limit == null && cursor == null) {
+            return versioned(etag, isSummary(view)
+                ? requestService.getRequestSummaries(filter)
+                : requestService.getRequests(filter));
+        }
+        RequestCursor after;
+        try {
+            after = cursor != null ? RequestCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        return versioned(etag, isSummary(view)
+            ? requestService.getRequestSummaryPage(filter, after, limit)
+            : requestService.getRequestPage(filter, after, limit));
     }
 
     @GetMapping("/requests/channel/{channelId}")
-    public ResponseEntity<Request> getRequestByChannelId(@PathVariable Long channelId) {
+    public ResponseEntity<Request> getRequestByChannelId(@PathVariable Long channelId, WebRequest webRequest) {
+        String etag = requestDataVersion.etag();
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         return requestService.getRequestByChannelId(channelId)
-            .map(ResponseEntity::ok)
+            .map(request -> versioned(etag, request))
             .orElse(ResponseEntity.notFound().build());
     }
 
+    /** Looks up several requests at once; the body is a JSON array of channel ids. */
+    @PostMapping("/requests/batch-get")
+    public ResponseEntity<RequestBatchGetResult> getRequestsByChannelIds(@RequestBody List<Long> channelIds) {
+        if (channelIds.size() > RequestService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(requestService.getRequestsByChannelIds(channelIds));
+    }
+
     @GetMapping("/requests/status/{status}")
-    public ResponseEntity<List<Request>> getRequestsByStatus(@PathVariable RequestStatus status) {
-        return ResponseEntity.ok(requestService.getRequestsByStatus(status));
+    public ResponseEntity<?> getRequestsByStatus(
+            @PathVariable RequestStatus status,
+            @RequestParam(required = false) String view,
+            WebRequest webRequest) {
+        String etag = requestDataVersion.etag();
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        if (isSummary(view)) {
+            return versioned(etag, requestService.getRequestSummaries(new RequestFilter(status, null, null, null, null, null)));
+        }
+        return versioned(etag, requestService.getRequestsByStatus(status));
     }
 
     @GetMapping("/requests/requester/{requesterId}")
-    public ResponseEntity<List<Request>> getRequestsByRequester(@PathVariable Long requesterId) {
-        return ResponseEntity.ok(requestService.getRequestsByRequester(requesterId));
+    public ResponseEntity<?> getRequestsByRequester(
+            @PathVariable Long requesterId,
+            @RequestParam(required = false) String view,
+            WebRequest webRequest) {
+        String etag = requestDataVersion.etag();
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        if (isSummary(view)) {
+            return versioned(etag, requestService.getRequestSummaries(new RequestFilter(null, null, null, requesterId, null, null)));
+        }
+        return versioned(etag, requestService.getRequestsByRequester(requesterId));
     }
 
     @GetMapping("/requests/assigned/{assignedToId}")
-    public ResponseEntity<List<Request>> getRequestsByAssignedTo(@PathVariable Long assignedToId) {
-        return ResponseEntity.ok(requestService.getRequestsByAssignedTo(assignedToId));
+    public ResponseEntity<?> getRequestsByAssignedTo(
+            @PathVariable Long assignedToId,
+            @RequestParam(required = false) String view,
+            WebRequest webRequest) {
+        String etag = requestDataVersion.etag();
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        if (isSummary(view)) {
+            return versioned(etag, requestService.getRequestSummaries(new RequestFilter(null, null, assignedToId, null, null, null)));
+        }
+        return versioned(etag, requestService.getRequestsByAssignedTo(assignedToId));
+    }
+
+    /** Request counts by status, type, requester department and posting cycle, for dashboard pivots. */
+    @GetMapping("/requests/stats")
+    public ResponseEntity<RequestStatistics> getRequestStatistics(WebRequest webRequest) {
+        String etag = requestDataVersion.etag();
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return versioned(etag, requestStatisticsService.getStatistics());
+    }
+
+    /**
+     * Ranked keyword search over titles and descriptions. Every term must match; the last one also
+     * matches as a prefix. Results are summaries, best match first.
+     */
+    @GetMapping("/requests/search")
+    public ResponseEntity<?> searchRequests(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) Integer limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body("q is required");
+        }
+        return ResponseEntity.ok(requestService.searchRequests(q, offset, limit));
+    }
+
+    /**
+     * Server-Sent Events stream of committed request changes ({@code create}, {@code update},
+     * {@code assign}, {@code status}, {@code delete}). Reconnecting clients send
+     * {@code Last-Event-ID} to replay what they missed; a {@code reset} event means they should
+     * refetch instead.
+     */
+    @GetMapping(path = "/requests/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRequestChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = requestEventStreamService.subscribe(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok()
+            // Stop nginx from buffering the stream.
+            .header("X-Accel-Buffering", "no")
+            .body(emitter);
     }
 
     @GetMapping("/requests/my-requests")
@@ -94,8 +250,12 @@ public class CommandCentreController {
         if (actorResolver.isBot(authentication) && request.getRequesterID() == null) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
-        Request createdRequest = requestService.createRequest(request, actor);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdRequest);
+        try {
+            Request createdRequest = requestService.createRequest(request, actor);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdRequest);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     @PutMapping("/requests/channel/{channelId}")
@@ -112,6 +272,8 @@ public class CommandCentreController {
         }
         try {
             return ResponseEntity.ok(requestService.updateRequest(channelId, request, actor));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -131,6 +293,8 @@ public class CommandCentreController {
         try {
             requestService.deleteRequest(channelId, actor);
             return ResponseEntity.noContent().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -150,6 +314,8 @@ public class CommandCentreController {
         }
         try {
             return ResponseEntity.ok(requestService.assignRequest(channelId, assignedToId, actor));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -172,6 +338,8 @@ public class CommandCentreController {
             return ResponseEntity.ok(requestService.setRequestStatus(channelId, requestStatus, actor));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid status: " + status);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -192,6 +360,8 @@ public class CommandCentreController {
             return ResponseEntity.ok(requestService.advanceRequestToNextStatus(channelId, actor));
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -211,6 +381,8 @@ public class CommandCentreController {
         }
         try {
             return ResponseEntity.ok(requestService.updateRequesterDepartment(channelId, departmentId, actor));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -230,11 +402,38 @@ public class CommandCentreController {
         }
         try {
             return ResponseEntity.ok(requestService.updateRequester(channelId, requesterId, actor));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Applies several assign/status/department changes in one transaction. Every item gets a
+     * result at its index; failed items are skipped without affecting the rest.
+     */
+    @PostMapping("/requests/batch")
+    public ResponseEntity<List<RequestBatchResult>> applyBatch(
+            @RequestBody List<RequestBatchOperation> operations,
+            @RequestHeader(value = ON_BEHALF_OF_HEADER, required = false) Long onBehalfOfUserId,
+            Authentication authentication) {
+        Actor actor;
+        try {
+            actor = actorResolver.resolve(authentication, onBehalfOfUserId);
+        } catch (ActorResolutionException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (operations.size() > RequestService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(requestService.applyBatch(operations, actor));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
     @GetMapping("/requests/countByDepartment")
     public ResponseEntity<List<DepartmentCount>> countRequestsByDepartment(Authentication authentication) {
         try {
@@ -249,6 +448,21 @@ public class CommandCentreController {
         }
     }
 
+    private static boolean isSummary(String view) {
+        return "summary".equalsIgnoreCase(view);
+    }
+
+    /** 200 response tagged with {@code etag}; {@code no-cache} makes clients revalidate instead of reusing it blindly. */
+    private static <T> ResponseEntity<T> versioned(String etag, T body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(body);
+    }
+
 
     // ========== Audit Event Endpoints ==========
 
@@ -271,53 +485,189 @@ public class CommandCentreController {
         if (eventType == null) {
             return ResponseEntity.badRequest().body("Invalid eventType: " + body.eventType());
         }
-
-        String metadataJson = null;
-        JsonNode metadata = body.metadata();
-        if (metadata != null && !metadata.isNull()) {
-            metadataJson = metadata.toString();
+        String lengthError = AuditEventService.fieldLengthError(body.entityType(), body.eventDetails());
+        if (lengthError != null) {
+            return ResponseEntity.badRequest().body(lengthError);
         }
 
         AuditEvent saved = auditEventService.logEvent(
-            eventType, body.entityType(), body.entityId(), body.eventDetails(), metadataJson, actor);
+            eventType, body.entityType(), body.entityId(), body.eventDetails(), metadataJson(body.metadata()), actor);
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    /**
+     * Several {@link #createAuditEvent} bodies in one call, for bulk bot actions. Every item is
+     * validated first; the valid ones are then written together with one JDBC batch in one
+     * transaction, all attributed to the same actor. Returns one {@link AuditEventBatchResult} per
+     * item, in order: 201 with the stored event, or 400 for an item that was skipped.
+     */
+    @PostMapping("/audit-events/batch")
+    public ResponseEntity<List<AuditEventBatchResult>> createAuditEvents(
+            @RequestBody List<AuditEventRequest> body,
+            @RequestHeader(value = ON_BEHALF_OF_HEADER, required = false) Long onBehalfOfUserId,
+            Authentication authentication) {
+        Actor actor;
+        try {
+            actor = actorResolver.resolve(authentication, onBehalfOfUserId);
+        } catch (ActorResolutionException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (body == null || body.size() > AuditEventService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        AuditEventBatchResult[] results = new AuditEventBatchResult[body.size()];
+        List<AuditEntry> entries = new ArrayList<>(body.size());
+        List<Integer> entryIndexes = new ArrayList<>(body.size());
+        for (int i = 0; i < body.size(); i++) {
+            AuditEventRequest item = body.get(i);
+            if (item == null || item.entityId() == null) {
+                results[i] = AuditEventBatchResult.rejected(i, "entityId is required");
+                continue;
+            }
+            AuditEventType eventType = AuditEventType.fromString(item.eventType()).orElse(null);
+            if (eventType == null) {
+                results[i] = AuditEventBatchResult.rejected(i, "Invalid eventType: " + item.eventType());
+                continue;
+            }
+            String lengthError = AuditEventService.fieldLengthError(item.entityType(), item.eventDetails());
+            if (lengthError != null) {
+                results[i] = AuditEventBatchResult.rejected(i, lengthError);
+                continue;
+            }
+            entries.add(new AuditEntry(eventType, item.entityType(), item.entityId(), item.eventDetails(),
+                metadataJson(item.metadata())));
+            entryIndexes.add(i);
+        }
+
+        List<AuditEvent> saved = auditEventService.logEvents(entries, actor);
+        for (int j = 0; j < saved.size(); j++) {
+            int index = entryIndexes.get(j);
+            results[index] = AuditEventBatchResult.created(index, saved.get(j));
+        }
+        return ResponseEntity.ok(Arrays.asList(results));
+    }
+
+    private static String metadataJson(JsonNode metadata) {
+        return metadata != null && !metadata.isNull() ? metadata.toString() : null;
+    }
+
+    /**
+     * Audit events newest first. Every audit listing below takes {@code limit} and {@code cursor}
+     * and then returns a {@code CursorPage}, like {@code GET /requests}. Without them the response
+     * stays a plain array but holds at most {@link AuditEventService#MAX_PAGE_SIZE} events; when
+     * there are more, the {@code X-Next-Cursor} header carries the cursor for the rest.
+     *
+     * <p>{@code includeArchived=true} also searches events already moved to archive segments.
+     */
     @GetMapping("/audit-events")
-    public ResponseEntity<List<AuditEvent>> getAllAuditEvents() {
-        return ResponseEntity.ok(auditEventService.getAllAuditEvents());
+    public ResponseEntity<?> getAllAuditEvents(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return auditEvents(AuditEventFilter.none(), limit, cursor, includeArchived);
+    }
+
+    /**
+     * Audit events whose metadata has {@code path = value}, e.g.
+     * {@code ?path=assigneeIds&value=123} or {@code ?path=via&value=role}. Always a {@code CursorPage}.
+     */
+    @GetMapping("/audit-events/metadata")
+    public ResponseEntity<?> getAuditEventsByMetadata(
+            @RequestParam String path,
+            @RequestParam String value,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        if (path.isBlank()) {
+            return ResponseEntity.badRequest().body("path is required");
+        }
+        AuditCursor after;
+        try {
+            after = cursor != null ? AuditCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        return ResponseEntity.ok(auditEventService.getAuditEventPageByMetadata(path, value, after, limit));
     }
 
     @GetMapping("/audit-events/{id}")
-    public ResponseEntity<AuditEvent> getAuditEventById(@PathVariable Long id) {
-        return auditEventService.getAuditEventById(id)
+    public ResponseEntity<AuditEvent> getAuditEventById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return auditEventService.getAuditEventById(id, includeArchived)
             .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/audit-events/entity/{entityType}/{entityId}")
-    public ResponseEntity<List<AuditEvent>> getAuditEventsByEntity(
+    public ResponseEntity<?> getAuditEventsByEntity(
             @PathVariable String entityType,
-            @PathVariable Long entityId) {
-        return ResponseEntity.ok(auditEventService.getAuditEventsByEntityTypeAndId(entityType, entityId));
+            @PathVariable Long entityId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return auditEvents(AuditEventFilter.forEntity(entityType, entityId), limit, cursor, includeArchived);
     }
 
     @GetMapping("/audit-events/type/{eventType}")
-    public ResponseEntity<List<AuditEvent>> getAuditEventsByType(@PathVariable String eventType) {
-        return ResponseEntity.ok(auditEventService.getAuditEventsByEventType(eventType));
+    public ResponseEntity<?> getAuditEventsByType(
+            @PathVariable String eventType,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return auditEvents(AuditEventFilter.forEventType(eventType), limit, cursor, includeArchived);
     }
 
     @GetMapping("/audit-events/user/{performedBy}")
-    public ResponseEntity<List<AuditEvent>> getAuditEventsByUser(@PathVariable String performedBy) {
-        return ResponseEntity.ok(auditEventService.getAuditEventsByPerformedBy(performedBy));
+    public ResponseEntity<?> getAuditEventsByUser(
+            @PathVariable String performedBy,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return auditEvents(AuditEventFilter.forPerformedBy(performedBy), limit, cursor, includeArchived);
+    }
+
+    /**
+     * Everything Discord user {@code discordUserId} did, both directly and through the bot on their
+     * behalf, from the {@code actorUserId} index.
+     */
+    @GetMapping("/audit-events/actor/{discordUserId}")
+    public ResponseEntity<?> getAuditEventsByActorUser(
+            @PathVariable Long discordUserId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return auditEvents(AuditEventFilter.forActorUser(discordUserId), limit, cursor, includeArchived);
     }
 
     @GetMapping("/audit-events/daterange")
-    public ResponseEntity<List<AuditEvent>> getAuditEventsByDateRange(
+    public ResponseEntity<?> getAuditEventsByDateRange(
             @RequestParam String start,
-            @RequestParam String end) {
+            @RequestParam String end,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         LocalDateTime startDate = LocalDateTime.parse(start);
         LocalDateTime endDate = LocalDateTime.parse(end);
-        return ResponseEntity.ok(auditEventService.getAuditEventsByDateRange(startDate, endDate));
+        return auditEvents(AuditEventFilter.between(startDate, endDate), limit, cursor, includeArchived);
+    }
+
+    private ResponseEntity<?> auditEvents(AuditEventFilter filter, Integer limit, String cursor, boolean includeArchived) {
+        AuditCursor after;
+        try {
+            after = cursor != null ? AuditCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        if (limit == null && cursor == null) {
+            CursorPage<AuditEvent> page = auditEventService.getAuditEventPage(
+                filter, null, AuditEventService.MAX_PAGE_SIZE, includeArchived);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.items());
+        }
+        return ResponseEntity.ok(auditEventService.getAuditEventPage(filter, after, limit, includeArchived));
     }
 }
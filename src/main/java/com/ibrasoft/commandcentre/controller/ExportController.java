@@ -0,0 +1,104 @@
+package com.ibrasoft.commandcentre.controller;
+
+import com.ibrasoft.commandcentre.export.ExportFormat;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.service.AuditExportService;
+import com.ibrasoft.commandcentre.service.RequestExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Bulk exports for reporting. Rows are written to the response as they are read from the database
+ * cursor, on the request thread, so the response is never buffered in full.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final RequestExportService requestExportService;
+    private final AuditExportService auditExportService;
+
+    /**
+     * Full request history as NDJSON (default) or CSV, accepting the same filters as
+     * {@code GET /api/requests}.
+     */
+    @GetMapping("/requests/export")
+    public void exportRequests(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) RequestStatus status,
+            @RequestParam(required = false) RequestType requestType,
+            @RequestParam(required = false) Long assignedToId,
+            @RequestParam(required = false) Long requesterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate postingFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate postingTo,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromString(format).orElse(null);
+        if (exportFormat == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid format: " + format);
+            return;
+        }
+        RequestFilter filter = new RequestFilter(status, requestType, assignedToId, requesterId, postingFrom, postingTo);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("requests." + exportFormat.getFileExtension())
+            .build()
+            .toString());
+        requestExportService.exportRequests(filter, exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Audit events oldest first as NDJSON (default) or CSV, with the entity, type, user, acting user
+     * and date filters of the audit listings. {@code gzip=true} compresses on the fly into a {@code .gz}
+     * download.
+     */
+    @GetMapping("/audit-events/export")
+    public void exportAuditEvents(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String performedBy,
+            @RequestParam(required = false) Long actorUserId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromString(format).orElse(null);
+        if (exportFormat == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid format: " + format);
+            return;
+        }
+        AuditEventFilter filter = new AuditEventFilter(entityType, entityId, eventType, performedBy, actorUserId, start, end);
+
+        String filename = "audit-events." + exportFormat.getFileExtension();
+        if (gzip) {
+            response.setContentType("application/gzip");
+            filename += ".gz";
+        } else {
+            response.setContentType(exportFormat.getContentType());
+            response.setCharacterEncoding("UTF-8");
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename(filename)
+            .build()
+            .toString());
+        auditExportService.exportAuditEvents(filter, exportFormat, gzip, response.getOutputStream());
+    }
+}
@@ -1,13 +1,16 @@
 package com.ibrasoft.commandcentre.controller;
 
-import com.ibrasoft.commandcentre.model.Request;
 import com.ibrasoft.commandcentre.service.CycleService;
+import com.ibrasoft.commandcentre.service.RequestDataVersion;
 import com.ibrasoft.commandcentre.service.RequestService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -20,15 +23,27 @@ public class WorkloadController {
     
     private final RequestService requestService;
     private final CycleService cycleService;
+    private final RequestDataVersion requestDataVersion;
     
     /**
      * Get workload for content creators (REEL requests in current development cycle)
      * These are requests that need content/captions created during this 2-week cycle
+     *
+     * All workload endpoints accept view=summary for compact RequestSummary rows
      */
     @GetMapping("/content-creators")
-    public ResponseEntity<Map<String, Object>> getContentCreatorWorkload() {
+    public ResponseEntity<Map<String, Object>> getContentCreatorWorkload(
+            @RequestParam(required = false) String view,
+            WebRequest webRequest) {
         CycleService.CycleInfo currentCycle = cycleService.getCurrentDevelopmentCycle();
-        List<Request> workload = requestService.getContentCreatorWorkload();
+        // The window moves with the calendar, so the cycle is part of the tag.
+        String etag = requestDataVersion.etag(currentCycle.getCycleNumber());
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<?> workload = "summary".equalsIgnoreCase(view)
+            ? requestService.getContentCreatorWorkloadSummaries()
+            : requestService.getContentCreatorWorkload();
         
         Map<String, Object> response = new HashMap<>();
         response.put("cycleInfo", Map.of(
@@ -43,7 +58,7 @@ public class WorkloadController {
         response.put("totalRequests", workload.size());
         response.put("requests", workload);
         
-        return ResponseEntity.ok(response);
+        return versioned(etag, response);
     }
     
     /**
@@ -51,9 +66,17 @@ public class WorkloadController {
      * These are requests that need graphics/visuals created during this 2-week cycle
      */
     @GetMapping("/graphic-designers")
-    public ResponseEntity<Map<String, Object>> getGraphicDesignerWorkload() {
+    public ResponseEntity<Map<String, Object>> getGraphicDesignerWorkload(
+            @RequestParam(required = false) String view,
+            WebRequest webRequest) {
         CycleService.CycleInfo currentCycle = cycleService.getCurrentDevelopmentCycle();
-        List<Request> workload = requestService.getGraphicDesignerWorkload();
+        String etag = requestDataVersion.etag(currentCycle.getCycleNumber());
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<?> workload = "summary".equalsIgnoreCase(view)
+            ? requestService.getGraphicDesignerWorkloadSummaries()
+            : requestService.getGraphicDesignerWorkload();
         
         Map<String, Object> response = new HashMap<>();
         response.put("cycleInfo", Map.of(
@@ -68,7 +91,7 @@ public class WorkloadController {
         response.put("totalRequests", workload.size());
         response.put("requests", workload);
         
-        return ResponseEntity.ok(response);
+        return versioned(etag, response);
     }
     
     /**
@@ -76,9 +99,17 @@ public class WorkloadController {
      * These are requests that need to be posted during this 2-week cycle
      */
     @GetMapping("/social-media-managers")
-    public ResponseEntity<Map<String, Object>> getSocialMediaManagerWorkload() {
+    public ResponseEntity<Map<String, Object>> getSocialMediaManagerWorkload(
+            @RequestParam(required = false) String view,
+            WebRequest webRequest) {
         CycleService.CycleInfo currentPostingCycle = cycleService.getCurrentPostingCycle();
-        List<Request> workload = requestService.getSocialMediaManagerWorkload();
+        String etag = requestDataVersion.etag(currentPostingCycle.getCycleNumber());
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<?> workload = "summary".equalsIgnoreCase(view)
+            ? requestService.getSocialMediaManagerWorkloadSummaries()
+            : requestService.getSocialMediaManagerWorkload();
         
         Map<String, Object> response = new HashMap<>();
         response.put("cycleInfo", Map.of(
@@ -93,7 +124,7 @@ public class WorkloadController {
         response.put("totalRequests", workload.size());
         response.put("requests", workload);
         
-        return ResponseEntity.ok(response);
+        return versioned(etag, response);
     }
     
     /**
@@ -122,4 +153,14 @@ public class WorkloadController {
         
         return ResponseEntity.ok(response);
     }
+
+    private static <T> ResponseEntity<T> versioned(String etag, T body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(body);
+    }
 }
@@ -0,0 +1,222 @@
+package com.ibrasoft.commandcentre.discord;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The one client for Discord's REST API at {@code discord.api.base-url}, sharing a single JDK
+ * {@link HttpClient} (and its keep-alive connections) across all calls.
+ *
+ * <p>Calls are paced per rate-limit bucket, one per route and access token: a bucket whose last
+ * response reported {@code X-RateLimit-Remaining: 0} holds further calls until
+ * {@code X-RateLimit-Reset-After} has passed. A 429 empties the bucket (or, for a global limit, every
+ * bucket) for {@code Retry-After} and the call is retried. A call that would have to wait longer than
+ * {@code discord.api.max-wait-ms} fails with {@link DiscordRateLimitException} instead of blocking.
+ */
+@Component
+@Slf4j
+public class DiscordApiClient {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_RETRY_AFTER_MILLIS = 1000;
+    private static final long IDLE_BUCKET_MILLIS = 60_000;
+
+    private final RestClient restClient;
+    private final long maxWaitMillis;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private volatile long globalResetAtMillis;
+
+    private static final class Bucket {
+        private int limit = -1;
+        // -1 while unknown, i.e. before the first response or after a reset of a bucket of unknown size
+        private int remaining = -1;
+        private long resetAtMillis;
+        private long lastUsedMillis;
+    }
+
+    private record Attempt<T>(T body, long retryAfterMillis) {}
+
+    public DiscordApiClient(RestClient.Builder restClientBuilder,
+                            @Value("${discord.api.base-url:https://discord.com/api/v10}") String baseUrl,
+                            @Value("${discord.api.timeout-ms:5000}") long timeoutMillis,
+                            @Value("${discord.api.max-wait-ms:5000}") long maxWaitMillis) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(timeoutMillis))
+            .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMillis));
+        this.restClient = restClientBuilder
+            .baseUrl(baseUrl)
+            .requestFactory(requestFactory)
+            .build();
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * GETs {@code path} (relative to the base URL) with the user's OAuth2 {@code accessToken}.
+     *
+     * @throws DiscordRateLimitException when the bucket stays exhausted for longer than the allowed wait
+     * @throws RestClientResponseException for any other error status
+     */
+    public <T> T getAsUser(String path, String accessToken, ParameterizedTypeReference<T> type) {
+        String route = "GET " + path;
+        String bucketKey = route + " " + digest(accessToken);
+        long retryAfterMillis = 0;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Bucket bucket = acquire(route, bucketKey);
+            Attempt<T> result = restClient.get()
+                .uri(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .exchange((request, response) -> {
+                    HttpStatusCode status = response.getStatusCode();
+                    HttpHeaders headers = response.getHeaders();
+                    if (status.value() == 429) {
+                        return new Attempt<T>(null, rateLimited(route, bucket, headers));
+                    }
+                    update(bucket, headers);
+                    if (status.isError()) {
+                        throw new RestClientResponseException("Discord returned " + status.value() + " for " + route,
+                            status, response.getStatusText(), headers, response.getBody().readAllBytes(),
+                            StandardCharsets.UTF_8);
+                    }
+                    return new Attempt<>(response.bodyTo(type), 0L);
+                });
+            if (result.retryAfterMillis() == 0) {
+                return result.body();
+            }
+            retryAfterMillis = result.retryAfterMillis();
+        }
+        throw new DiscordRateLimitException(route, retryAfterMillis);
+    }
+
+    /** Drops buckets that have not been used for a minute and have no pending reset. */
+    @Scheduled(fixedDelay = IDLE_BUCKET_MILLIS)
+    public void pruneBuckets() {
+        long now = System.currentTimeMillis();
+        buckets.values().removeIf(bucket -> {
+            synchronized (bucket) {
+                return now - bucket.lastUsedMillis > IDLE_BUCKET_MILLIS && now >= bucket.resetAtMillis;
+            }
+        });
+    }
+
+    // Waits until the bucket (and the global limit) allows one more call and counts that call.
+    private Bucket acquire(String route, String bucketKey) {
+        Bucket bucket = buckets.computeIfAbsent(bucketKey, key -> new Bucket());
+        while (true) {
+            long now = System.currentTimeMillis();
+            long waitMillis;
+            synchronized (bucket) {
+                if (bucket.remaining == 0 && now >= bucket.resetAtMillis) {
+                    bucket.remaining = bucket.limit;
+                }
+                long readyAt = Math.max(globalResetAtMillis, bucket.remaining == 0 ? bucket.resetAtMillis : 0);
+                waitMillis = readyAt - now;
+                if (waitMillis <= 0) {
+                    if (bucket.remaining > 0) {
+                        bucket.remaining--;
+                    }
+                    bucket.lastUsedMillis = now;
+                    return bucket;
+                }
+            }
+            if (waitMillis > maxWaitMillis) {
+                throw new DiscordRateLimitException(route, waitMillis);
+            }
+            log.debug("Waiting {} ms for Discord rate limit on {}", waitMillis, route);
+            try {
+                Thread.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DiscordRateLimitException(route, waitMillis);
+            }
+        }
+    }
+
+    private static void update(Bucket bucket, HttpHeaders headers) {
+        Integer limit = parseInt(headers.getFirst("X-RateLimit-Limit"));
+        Integer remaining = parseInt(headers.getFirst("X-RateLimit-Remaining"));
+        long resetAfterMillis = parseSeconds(headers.getFirst("X-RateLimit-Reset-After"));
+        long now = System.currentTimeMillis();
+        synchronized (bucket) {
+            if (limit != null) {
+                bucket.limit = limit;
+            }
+            if (remaining != null && resetAfterMillis >= 0) {
+                bucket.remaining = remaining;
+                bucket.resetAtMillis = now + resetAfterMillis;
+            }
+        }
+    }
+
+    private long rateLimited(String route, Bucket bucket, HttpHeaders headers) {
+        long retryAfterMillis = parseSeconds(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        if (retryAfterMillis < 0) {
+            retryAfterMillis = DEFAULT_RETRY_AFTER_MILLIS;
+        }
+        // Never zero, which would read as success to the caller.
+        retryAfterMillis = Math.max(retryAfterMillis, 1);
+        long resetAt = System.currentTimeMillis() + retryAfterMillis;
+        boolean global = "true".equalsIgnoreCase(headers.getFirst("X-RateLimit-Global"))
+            || "global".equalsIgnoreCase(headers.getFirst("X-RateLimit-Scope"));
+        log.warn("Discord {}rate limit hit on {}, retrying after {} ms", global ? "global " : "", route, retryAfterMillis);
+        if (global) {
+            globalResetAtMillis = Math.max(globalResetAtMillis, resetAt);
+        } else {
+            Integer limit = parseInt(headers.getFirst("X-RateLimit-Limit"));
+            synchronized (bucket) {
+                if (limit != null) {
+                    bucket.limit = limit;
+                }
+                bucket.remaining = 0;
+                bucket.resetAtMillis = Math.max(bucket.resetAtMillis, resetAt);
+            }
+        }
+        return retryAfterMillis;
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Discord sends seconds with a fractional part; -1 when absent or malformed.
+    private static long parseSeconds(String value) {
+        try {
+            return value != null ? (long) Math.ceil(Double.parseDouble(value.trim()) * 1000) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Bucket keys hold a digest so access tokens are not kept in memory beyond the call.
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ibrasoft.commandcentre.discord;
+
+import lombok.Getter;
+
+/** A Discord request that could not be sent within {@code discord.api.max-wait-ms} because of rate limits. */
+@Getter
+public class DiscordRateLimitException extends RuntimeException {
+
+    private final long retryAfterMillis;
+
+    public DiscordRateLimitException(String route, long retryAfterMillis) {
+        super("Discord rate limit for " + route + ", retry after " + retryAfterMillis + " ms");
+        this.retryAfterMillis = retryAfterMillis;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ibrasoft.commandcentre.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 row writer. Values are written with {@link String#valueOf(Object)}; nulls
+ * become empty fields, and fields containing a delimiter, quote or line break are quoted.
+ */
+public class CsvWriter {
+
+    private final Writer out;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                out.write(escape(String.valueOf(values[i])));
+            }
+        }
+        out.write("\r\n");
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
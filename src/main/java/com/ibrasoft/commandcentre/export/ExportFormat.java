@@ -0,0 +1,40 @@
+package com.ibrasoft.commandcentre.export;
+
+import java.util.Optional;
+
+/** Output formats supported by the streaming export endpoints. */
+public enum ExportFormat {
+
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** RFC 4180 CSV with a header row. */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /** Case-insensitive lookup that never throws; empty when {@code value} is unknown. */
+    public static Optional<ExportFormat> fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(ExportFormat.valueOf(value.trim().toUpperCase()));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ibrasoft.commandcentre.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the newest-first {@code (eventTimestamp, id)} ordering of audit listings.
+ * The encoded form is opaque to clients.
+ */
+public record AuditCursor(LocalDateTime eventTimestamp, Long id) {
+
+    public AuditCursor {
+        if (eventTimestamp == null || id == null) {
+            throw new IllegalArgumentException("eventTimestamp and id are required for a cursor");
+        }
+    }
+
+    public static AuditCursor after(AuditEvent event) {
+        return new AuditCursor(event.getEventTimestamp(), event.getId());
+    }
+
+    public String encode() {
+        String raw = eventTimestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException when {@code encoded} is not a cursor produced by {@link #encode()} */
+    public static AuditCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new AuditCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
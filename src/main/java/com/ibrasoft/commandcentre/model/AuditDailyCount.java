@@ -0,0 +1,54 @@
+package com.ibrasoft.commandcentre.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Number of audit events of one {@code eventType} by one {@code actor} on one {@code day}, kept up
+ * to date as events are written so activity over months is read from a few rows per day instead of
+ * from {@code audit_events}. Buckets outlive the raw events, including archived ones.
+ *
+ * <p>{@code actor} is {@code user:<id>} for a Discord user, whether acting directly or through the
+ * bot, and otherwise the event's {@code performedBy} (e.g. {@code bot:<id>}).
+ */
+@Entity
+@Table(name = "audit_daily_counts", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_audit_daily_counts_bucket", columnNames = {"day", "eventType", "actor"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditDailyCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false)
+    private String actor;
+
+    @Column(nullable = false)
+    private long eventCount;
+
+    /** Bucket key of one event. */
+    public record Bucket(LocalDate day, String eventType, String actor) {
+
+        public static Bucket of(AuditEvent event) {
+            return new Bucket(event.getEventTimestamp().toLocalDate(), event.getEventType(), actorOf(event));
+        }
+    }
+
+    public static String actorOf(AuditEvent event) {
+        return event.getActorUserId() != null ? "user:" + event.getActorUserId() : event.getPerformedBy();
+    }
+}
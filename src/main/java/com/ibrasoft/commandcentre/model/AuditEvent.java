@@ -1,5 +1,7 @@
 package com.ibrasoft.commandcentre.model;
 
+import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.audit.AuditEventType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,12 +13,23 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_events")
+@Table(name = "audit_events", indexes = {
+    // Listings are newest first on (eventTimestamp, id); these back the keyset pagination in AuditEventRepository.
+    @Index(name = "idx_audit_events_timestamp_id", columnList = "eventTimestamp DESC, id DESC"),
+    @Index(name = "idx_audit_events_entity_timestamp", columnList = "entityType, entityId, eventTimestamp DESC, id DESC"),
+    @Index(name = "idx_audit_events_type_code_timestamp", columnList = "eventTypeCode, eventTimestamp DESC, id DESC"),
+    @Index(name = "idx_audit_events_performed_by_timestamp", columnList = "performedBy, eventTimestamp DESC, id DESC"),
+    // A user's own actions and the bot's actions on their behalf share actorUserId.
+    @Index(name = "idx_audit_events_actor_user_timestamp", columnList = "actorUserId, eventTimestamp DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AuditEvent {
 
+    public static final int MAX_ENTITY_TYPE_LENGTH = 255;
+    public static final int MAX_EVENT_DETAILS_LENGTH = 2000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -25,20 +38,34 @@ public class AuditEvent {
     @Column(nullable = false)
     private String eventType;
 
+    /** {@link AuditEventType#code()} of {@link #eventType}; null for names outside the enum. */
+    private Short eventTypeCode;
+
     @NotBlank
-    @Column(nullable = false)
+    @Size(max = MAX_ENTITY_TYPE_LENGTH)
+    @Column(nullable = false, length = MAX_ENTITY_TYPE_LENGTH)
     private String entityType;
 
     @NotNull
     private Long entityId;
 
-    @Size(max = 2000)
-    @Column(length = 2000)
+    @Size(max = MAX_EVENT_DETAILS_LENGTH)
+    @Column(length = MAX_EVENT_DETAILS_LENGTH)
     private String eventDetails;
 
+    /** {@link Actor#format()} of the actor; the structured columns below hold the same actor. */
     @NotBlank
     private String performedBy;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Actor.Kind actorKind;
+
+    /** The Discord user acting, directly or through the bot; null for the bot acting on its own. */
+    private Long actorUserId;
+
+    private String actorBotId;
+
     /**
      * Optional structured detail as a JSON string (e.g. {@code {"assigneeIds":["123"],"via":"role"}}).
      * Complements the human-readable {@link #eventDetails} summary. Nullable; snowflake IDs are stored
@@ -54,4 +81,42 @@ public class AuditEvent {
     protected void onCreate() {
         eventTimestamp = LocalDateTime.now();
     }
+
+    public void applyEventType(AuditEventType type) {
+        eventType = type.name();
+        eventTypeCode = type.code();
+    }
+
+    /** Sets {@link #performedBy} and the structured actor columns from {@code actor}. */
+    public void applyActor(Actor actor) {
+        performedBy = actor.format();
+        actorKind = actor.kind();
+        actorUserId = actor.discordUserId();
+        actorBotId = actor.botId();
+    }
+
+    /**
+     * Fills the type code and actor columns from {@link #eventType} and {@link #performedBy} on
+     * events written before those columns existed. Returns whether anything was filled in.
+     */
+    public boolean deriveMissingColumns() {
+        boolean changed = false;
+        if (eventTypeCode == null) {
+            AuditEventType type = AuditEventType.fromString(eventType).orElse(null);
+            if (type != null && type.name().equals(eventType)) {
+                eventTypeCode = type.code();
+                changed = true;
+            }
+        }
+        if (actorKind == null) {
+            Actor actor = Actor.parse(performedBy).orElse(null);
+            if (actor != null) {
+                actorKind = actor.kind();
+                actorUserId = actor.discordUserId();
+                actorBotId = actor.botId();
+                changed = true;
+            }
+        }
+        return changed;
+    }
 }
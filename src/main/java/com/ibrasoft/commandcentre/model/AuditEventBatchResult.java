@@ -0,0 +1,17 @@
+package com.ibrasoft.commandcentre.model;
+
+/**
+ * Outcome of one item of {@code POST /api/audit-events/batch}, at the same {@code index} as in the
+ * batch. {@code code} uses HTTP status semantics (201, 400); {@code event} is the stored event on
+ * success and {@code error} explains a rejected item.
+ */
+public record AuditEventBatchResult(int index, int code, String error, AuditEvent event) {
+
+    public static AuditEventBatchResult created(int index, AuditEvent event) {
+        return new AuditEventBatchResult(index, 201, null, event);
+    }
+
+    public static AuditEventBatchResult rejected(int index, String error) {
+        return new AuditEventBatchResult(index, 400, error, null);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ibrasoft.commandcentre.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria for audit listings; null fields are not applied. {@code actorUserId} matches
+ * the user's own actions and the bot's actions on their behalf. {@code from} and {@code to} bound
+ * {@code eventTimestamp} inclusively.
+ */
+public record AuditEventFilter(
+    String entityType,
+    Long entityId,
+    String eventType,
+    String performedBy,
+    Long actorUserId,
+    LocalDateTime from,
+    LocalDateTime to
+) {
+
+    public static AuditEventFilter none() {
+        return new AuditEventFilter(null, null, null, null, null, null, null);
+    }
+
+    public static AuditEventFilter forEntity(String entityType, Long entityId) {
+        return new AuditEventFilter(entityType, entityId, null, null, null, null, null);
+    }
+
+    public static AuditEventFilter forEventType(String eventType) {
+        return new AuditEventFilter(null, null, eventType, null, null, null, null);
+    }
+
+    public static AuditEventFilter forPerformedBy(String performedBy) {
+        return new AuditEventFilter(null, null, null, performedBy, null, null, null);
+    }
+
+    public static AuditEventFilter between(LocalDateTime from, LocalDateTime to) {
+        return new AuditEventFilter(null, null, null, null, null, from, to);
+    }
+
+    public static AuditEventFilter forActorUser(Long actorUserId) {
+        return new AuditEventFilter(null, null, null, null, actorUserId, null, null);
+    }
+}
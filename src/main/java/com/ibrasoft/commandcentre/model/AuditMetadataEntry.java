@@ -0,0 +1,35 @@
+package com.ibrasoft.commandcentre.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One searchable {@code path = value} pair from an {@link AuditEvent}'s metadata (see
+ * {@link com.ibrasoft.commandcentre.audit.AuditMetadata#entries}). Written with the event, so a
+ * metadata search is a lookup on {@code (path, textValue)} instead of parsing every event's JSON.
+ */
+@Entity
+@Table(name = "audit_event_metadata", indexes = {
+    @Index(name = "idx_audit_event_metadata_path_value", columnList = "path, textValue, auditEventId"),
+    @Index(name = "idx_audit_event_metadata_event", columnList = "auditEventId")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditMetadataEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long auditEventId;
+
+    @Column(nullable = false, length = 200)
+    private String path;
+
+    @Column(nullable = false)
+    private String textValue;
+}
@@ -0,0 +1,8 @@
+package com.ibrasoft.commandcentre.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {}
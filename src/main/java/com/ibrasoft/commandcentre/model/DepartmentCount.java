@@ -1,6 +1,9 @@
 package com.ibrasoft.commandcentre.model;
 
-public interface DepartmentCount {
-    Long getRequesterDepartmentid();
-    Long getTotalRequests();
-}
+import java.util.Map;
+
+/**
+ * Request count for one requester department ({@code null} for requests without one), with the
+ * same total broken down by status. Requests without a status count towards the total only.
+ */
+public record DepartmentCount(Long requesterDepartmentid, long totalRequests, Map<RequestStatus, Long> byStatus) {}
@@ -0,0 +1,8 @@
+package com.ibrasoft.commandcentre.model;
+
+/** Row of the {@code requests} GROUP BY department and status used to reconcile department counters. */
+public interface DepartmentStatusCount {
+    Long getRequesterDepartmentid();
+    String getStatus();
+    Long getTotalRequests();
+}
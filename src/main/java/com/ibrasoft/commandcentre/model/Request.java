@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -11,10 +12,19 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "requests")
+@Table(name = "requests", indexes = {
+    // Listing order is (postingDate, channelID); these back the keyset pagination in RequestRepository.
+    @Index(name = "idx_requests_posting_date_channel", columnList = "postingDate, channelID"),
+    @Index(name = "idx_requests_status_posting_date", columnList = "status, postingDate, channelID"),
+    @Index(name = "idx_requests_assignee_posting_date", columnList = "assignedToID, postingDate, channelID"),
+    @Index(name = "idx_requests_requester_posting_date", columnList = "requesterID, postingDate, channelID"),
+    // Cycle workload queries: equality on type, range on posting date.
+    @Index(name = "idx_requests_type_posting_date", columnList = "requestType, postingDate, channelID")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Builder(toBuilder = true)
 public class Request {
 
     @Id
@@ -75,6 +85,14 @@ public class Request {
     @Column(length = 255, nullable = true)
     private String signupUrl;
 
+    /**
+     * Optimistic-lock version, bumped on every update. The column default fills in rows that
+     * existed before the column was added.
+     */
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,6 @@
+package com.ibrasoft.commandcentre.model;
+
+import java.util.List;
+
+/** Response of {@code POST /api/requests/batch-get}: found requests in request order, plus unknown ids. */
+public record RequestBatchGetResult(List<Request> requests, List<Long> missing) {}
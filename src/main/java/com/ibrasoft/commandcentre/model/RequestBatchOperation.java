@@ -0,0 +1,16 @@
+package com.ibrasoft.commandcentre.model;
+
+/**
+ * One item of {@code POST /api/requests/batch}.
+ *
+ * <p>{@code action} is {@code assign}, {@code status} or {@code department} (case-insensitive) and
+ * reads the matching field: {@code assignedToId} (null unassigns), {@code status} (a
+ * {@link RequestStatus} name) or {@code departmentId}.
+ */
+public record RequestBatchOperation(
+    Long channelId,
+    String action,
+    Long assignedToId,
+    String status,
+    Long departmentId
+) {}
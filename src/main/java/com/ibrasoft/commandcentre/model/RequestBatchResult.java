@@ -0,0 +1,17 @@
+package com.ibrasoft.commandcentre.model;
+
+/**
+ * Outcome of one {@link RequestBatchOperation}, at the same {@code index} as in the batch.
+ * {@code code} uses HTTP status semantics (200, 400, 404); {@code request} is the updated request
+ * on success and {@code error} explains a failure.
+ */
+public record RequestBatchResult(int index, Long channelId, String action, int code, String error, Request request) {
+
+    public static RequestBatchResult ok(int index, RequestBatchOperation operation, Request request) {
+        return new RequestBatchResult(index, operation.channelId(), operation.action(), 200, null, request);
+    }
+
+    public static RequestBatchResult failed(int index, RequestBatchOperation operation, int code, String error) {
+        return new RequestBatchResult(index, operation.channelId(), operation.action(), code, error, null);
+    }
+}
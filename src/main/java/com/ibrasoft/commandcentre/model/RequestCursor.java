@@ -0,0 +1,52 @@
+package com.ibrasoft.commandcentre.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the {@code (postingDate, channelID)} ordering used by request listings.
+ *
+ * <p>Requests without a posting date sort last, so a cursor with a null {@code postingDate}
+ * points into that trailing block. The encoded form is opaque to clients.
+ */
+public record RequestCursor(LocalDate postingDate, Long channelID) {
+
+    private static final String NO_DATE = "-";
+
+    public RequestCursor {
+        if (channelID == null) {
+            throw new IllegalArgumentException("channelID is required for a cursor");
+        }
+    }
+
+    public static RequestCursor after(Request request) {
+        return new RequestCursor(request.getPostingDate(), request.getChannelID());
+    }
+
+    public static RequestCursor after(RequestSummary summary) {
+        return new RequestCursor(summary.postingDate(), summary.channelID());
+    }
+
+    public String encode() {
+        String raw = (postingDate != null ? postingDate.toString() : NO_DATE) + ":" + channelID;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException when {@code encoded} is not a cursor produced by {@link #encode()} */
+    public static RequestCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String date = raw.substring(0, separator);
+            LocalDate postingDate = NO_DATE.equals(date) ? null : LocalDate.parse(date);
+            return new RequestCursor(postingDate, Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ibrasoft.commandcentre.model;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for request listings. Every field is nullable; a null field does not
+ * constrain the result. {@code postingFrom} and {@code postingTo} are inclusive.
+ */
+public record RequestFilter(
+    RequestStatus status,
+    RequestType requestType,
+    Long assignedToID,
+    Long requesterID,
+    LocalDate postingFrom,
+    LocalDate postingTo
+) {
+
+    private static final RequestFilter NONE = new RequestFilter(null, null, null, null, null, null);
+
+    public static RequestFilter none() {
+        return NONE;
+    }
+}
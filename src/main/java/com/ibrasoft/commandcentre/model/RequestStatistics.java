@@ -0,0 +1,14 @@
+package com.ibrasoft.commandcentre.model;
+
+import java.util.List;
+
+/**
+ * Request counts cross-tabulated by status, type, requester department and posting cycle.
+ * Each combination that has requests appears once in {@code cells}; null fields mean the request
+ * has no value for that dimension (e.g. no posting date, hence no cycle).
+ */
+public record RequestStatistics(long totalRequests, List<Cell> cells) {
+
+    public record Cell(RequestStatus status, RequestType requestType, Long requesterDepartmentId,
+                       Integer cycleNumber, long count) {}
+}
@@ -0,0 +1,12 @@
+package com.ibrasoft.commandcentre.model;
+
+import java.time.LocalDate;
+
+/** Row of the grouped request count behind {@code GET /api/requests/stats}, before folding posting dates into cycles. */
+public interface RequestStatisticsRow {
+    RequestStatus getStatus();
+    RequestType getRequestType();
+    Long getRequesterDepartmentId();
+    LocalDate getPostingDate();
+    Long getTotal();
+}
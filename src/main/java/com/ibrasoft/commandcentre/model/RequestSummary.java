@@ -0,0 +1,25 @@
+package com.ibrasoft.commandcentre.model;
+
+import java.time.LocalDate;
+
+/**
+ * Compact, read-only view of a {@link Request} for list, kanban and workload screens. Leaves out
+ * the description, room, signup URL and Discord message bookkeeping.
+ *
+ * <p>The repository selects it with a JPQL constructor expression, so listing summaries never
+ * hydrates (or dirty-tracks) full entities.
+ */
+public record RequestSummary(
+    Long channelID,
+    String title,
+    RequestStatus status,
+    RequestType requestType,
+    Long assignedToID,
+    LocalDate postingDate
+) {
+
+    public static RequestSummary of(Request request) {
+        return new RequestSummary(request.getChannelID(), request.getTitle(), request.getStatus(),
+            request.getRequestType(), request.getAssignedToID(), request.getPostingDate());
+    }
+}
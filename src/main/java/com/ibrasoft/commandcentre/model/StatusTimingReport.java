@@ -0,0 +1,20 @@
+package com.ibrasoft.commandcentre.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lead-time and time-in-status percentiles, one {@link Group} per value of {@code groupBy}
+ * ({@code type}, {@code assignee}, {@code cycle} or {@code none}).
+ *
+ * <p>Lead time runs from creation to the latest move into {@code DONE}. Time in status covers only
+ * finished stays, i.e. the request has since moved to another status.
+ */
+public record StatusTimingReport(String groupBy, List<Group> groups) {
+
+    /** {@code key} is the group's value as text, or {@code "none"} when requests lack it. */
+    public record Group(String key, int requests, DurationStats leadTime, Map<RequestStatus, DurationStats> timeInStatus) {}
+
+    /** Nearest-rank percentiles in seconds over {@code count} samples. */
+    public record DurationStats(int count, long p50Seconds, long p90Seconds, long p95Seconds, long maxSeconds) {}
+}
@@ -0,0 +1,189 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.ibrasoft.commandcentre.model.DepartmentCount;
+import com.ibrasoft.commandcentre.model.DepartmentStatusCount;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import com.ibrasoft.commandcentre.service.RequestChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Request counts per requester department and status, served without touching {@code requests}.
+ *
+ * <p>Seeded from a GROUP BY at startup and adjusted from each committed {@link RequestChangedEvent}
+ * by moving one count from the request's previous (department, status) to its new one, so creates,
+ * deletes, department and status changes are all covered. A periodic reconcile re-runs the
+ * GROUP BY and replaces the counters to repair any drift, e.g. from writes by another instance.
+ *
+ * <p>A change is registered as in flight just before its transaction commits and is applied, under
+ * the same lock, once the transaction completes. A reconcile only swaps in its GROUP BY when no
+ * change was in flight or completed around the count, so a commit the rows already include can
+ * never be applied again on top of them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DepartmentRequestCounters {
+
+    private final RequestRepository requestRepository;
+
+    // department (nullable) -> status (nullable) -> count
+    private final Map<Long, Map<RequestStatus, Long>> counts = new HashMap<>();
+    // Bumped for every completed change; a reconcile that overlapped a change is discarded.
+    private long changes;
+    // Changes whose transaction is committing: the rows may include them before they are applied.
+    private int inFlight;
+
+    @PostConstruct
+    public void load() {
+        replace(requestRepository.countByDepartmentAndStatus());
+    }
+
+    @Scheduled(initialDelayString = "${app.department-counts.reconcile-ms:600000}",
+               fixedDelayString = "${app.department-counts.reconcile-ms:600000}")
+    public void reconcile() {
+        long changesBefore;
+        synchronized (counts) {
+            if (inFlight > 0) {
+                log.debug("Skipping department counter reconcile: a request change is committing");
+                return;
+            }
+            changesBefore = changes;
+        }
+        List<DepartmentStatusCount> rows = requestRepository.countByDepartmentAndStatus();
+        synchronized (counts) {
+            if (changes != changesBefore || inFlight > 0) {
+                // A commit may or may not be in the rows we read; try again next time.
+                log.debug("Skipping department counter reconcile: requests changed while counting");
+                return;
+            }
+            Map<Long, Map<RequestStatus, Long>> expected = tally(rows);
+            if (!expected.equals(counts)) {
+                log.warn("Department request counters drifted from the requests table; resetting");
+                counts.clear();
+                counts.putAll(expected);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        Request previous = event.previous();
+        Request current = event.request();
+        if (previous != null && current != null
+                && Objects.equals(previous.getRequesterDepartmentID(), current.getRequesterDepartmentID())
+                && previous.getStatus() == current.getStatus()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (counts) {
+                apply(previous, current);
+                changes++;
+            }
+            return;
+        }
+        synchronized (counts) {
+            inFlight++;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (counts) {
+                    if (status == STATUS_COMMITTED) {
+                        apply(previous, current);
+                    }
+                    inFlight--;
+                    changes++;
+                }
+            }
+        });
+    }
+
+    /** One entry per department, largest total first. */
+    public List<DepartmentCount> snapshot() {
+        List<DepartmentCount> result = new ArrayList<>();
+        synchronized (counts) {
+            counts.forEach((department, byStatus) -> {
+                long total = 0;
+                Map<RequestStatus, Long> known = new EnumMap<>(RequestStatus.class);
+                for (Map.Entry<RequestStatus, Long> entry : byStatus.entrySet()) {
+                    total += entry.getValue();
+                    if (entry.getKey() != null) {
+                        known.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                result.add(new DepartmentCount(department, total, known));
+            });
+        }
+        result.sort(Comparator.comparingLong(DepartmentCount::totalRequests).reversed());
+        return result;
+    }
+
+    private void replace(List<DepartmentStatusCount> rows) {
+        Map<Long, Map<RequestStatus, Long>> loaded = tally(rows);
+        synchronized (counts) {
+            counts.clear();
+            counts.putAll(loaded);
+        }
+        log.info("Loaded request counters for {} departments", loaded.size());
+    }
+
+    private void apply(Request previous, Request current) {
+        if (previous != null) {
+            adjust(previous.getRequesterDepartmentID(), previous.getStatus(), -1);
+        }
+        if (current != null) {
+            adjust(current.getRequesterDepartmentID(), current.getStatus(), 1);
+        }
+    }
+
+    private void adjust(Long department, RequestStatus status, long delta) {
+        Map<RequestStatus, Long> byStatus = counts.computeIfAbsent(department, d -> new HashMap<>());
+        long updated = byStatus.getOrDefault(status, 0L) + delta;
+        if (updated > 0) {
+            byStatus.put(status, updated);
+        } else {
+            byStatus.remove(status);
+            if (byStatus.isEmpty()) {
+                counts.remove(department);
+            }
+        }
+    }
+
+    private static Map<Long, Map<RequestStatus, Long>> tally(List<DepartmentStatusCount> rows) {
+        Map<Long, Map<RequestStatus, Long>> result = new HashMap<>();
+        for (DepartmentStatusCount row : rows) {
+            result.computeIfAbsent(row.getRequesterDepartmentid(), d -> new HashMap<>())
+                .merge(parseStatus(row.getStatus()), row.getTotalRequests(), Long::sum);
+        }
+        return result;
+    }
+
+    private static RequestStatus parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return RequestStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestCursor;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestSummary;
+import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import com.ibrasoft.commandcentre.service.RequestChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process copy of the {@code requests} table with secondary indexes, serving every read
+ * without a database round trip.
+ *
+ * <p>Loaded once at startup and kept current from {@link RequestChangedEvent}s after each commit,
+ * so rolled-back writes are never visible. Every index is a set ordered like the API listings
+ * ({@code postingDate} with undated last, then {@code channelID}); the primary ordered set doubles
+ * as the posting-date index. Stored rows are private copies and are replaced, never mutated;
+ * reads hand out copies too, so a caller changing a returned request cannot corrupt the indexes.
+ *
+ * <p>After-commit listeners of concurrent transactions can run out of commit order, so a change
+ * carrying an older {@code version} than the stored row is ignored.
+ *
+ * <p>Only valid while this instance is the sole writer to the database; set
+ * {@code app.request-store.enabled=false} when running several instances.
+ */
+@Component
+@ConditionalOnProperty(name = "app.request-store.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryRequestStore implements RequestReadModel {
+
+    static final Comparator<Request> LISTING_ORDER = Comparator
+        .comparing(Request::getPostingDate, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(Request::getChannelID);
+
+    private final RequestRepository requestRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Request> byId = new HashMap<>();
+    private final NavigableSet<Request> byPostingDate = new TreeSet<>(LISTING_ORDER);
+    private final Map<RequestStatus, NavigableSet<Request>> byStatus = new EnumMap<>(RequestStatus.class);
+    private final Map<RequestType, NavigableSet<Request>> byType = new EnumMap<>(RequestType.class);
+    private final Map<Long, NavigableSet<Request>> byAssignee = new HashMap<>();
+    private final Map<Long, NavigableSet<Request>> byRequester = new HashMap<>();
+
+    @PostConstruct
+    public void load() {
+        List<Request> all = requestRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            clear();
+            all.forEach(request -> index(copy(request)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} requests into the in-memory request store", all.size());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Request existing = byId.get(event.channelId());
+            Request changed = event.type() == AuditEventType.DELETE ? event.previous() : event.request();
+            if (existing != null && isOlder(changed, existing)) {
+                log.debug("Ignoring out-of-order {} of request {} at version {} (stored: {})",
+                    event.type(), event.channelId(), changed.getVersion(), existing.getVersion());
+                return;
+            }
+            if (existing != null) {
+                unindex(existing);
+            }
+            if (event.type() != AuditEventType.DELETE && event.request() != null) {
+                index(copy(event.request()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isOlder(Request changed, Request stored) {
+        return changed != null && changed.getVersion() != null && stored.getVersion() != null
+            && changed.getVersion() < stored.getVersion();
+    }
+
+    @Override
+    public Optional<Request> findById(Long channelId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byId.get(channelId)).map(InMemoryRequestStore::copy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Request> findAllById(Collection<Long> channelIds) {
+        lock.readLock().lock();
+        try {
+            List<Request> result = new ArrayList<>(channelIds.size());
+            for (Long channelId : channelIds) {
+                Request request = byId.get(channelId);
+                if (request != null) {
+                    result.add(copy(request));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Request> find(RequestFilter filter, RequestCursor after, Pageable pageable) {
+        return findStored(filter, after, pageable, InMemoryRequestStore::copy);
+    }
+
+    @Override
+    public List<RequestSummary> findSummaries(RequestFilter filter, RequestCursor after, Pageable pageable) {
+        return findStored(filter, after, pageable, RequestSummary::of);
+    }
+
+    /** Matching stored rows in listing order, each passed through {@code view} under the read lock. */
+    private <T> List<T> findStored(RequestFilter filter, RequestCursor after, Pageable pageable, Function<Request, T> view) {
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            NavigableSet<Request> candidates = narrowestIndex(filter);
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+            candidates = fromLowerBound(candidates, filter, after);
+
+            List<T> result = new ArrayList<>();
+            for (Request request : candidates) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (filter.postingTo() != null
+                        && (request.getPostingDate() == null || request.getPostingDate().isAfter(filter.postingTo()))) {
+                    // Everything from here on is later or undated.
+                    break;
+                }
+                if (matches(filter, request)) {
+                    result.add(view.apply(request));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@code candidates} from the later of {@code postingFrom} (inclusive) and the cursor
+     * (exclusive). A single {@code tailSet}: a nested one throws when the cursor lies before
+     * {@code postingFrom}.
+     */
+    private static NavigableSet<Request> fromLowerBound(NavigableSet<Request> candidates, RequestFilter filter,
+                                                        RequestCursor after) {
+        Request from = filter.postingFrom() != null ? probe(filter.postingFrom(), Long.MIN_VALUE) : null;
+        Request cursor = after != null ? probe(after.postingDate(), after.channelID()) : null;
+        if (cursor != null && (from == null || LISTING_ORDER.compare(cursor, from) >= 0)) {
+            return candidates.tailSet(cursor, false);
+        }
+        return from != null ? candidates.tailSet(from, true) : candidates;
+    }
+
+    @Override
+    public List<Request> findByStatus(RequestStatus status) {
+        return snapshot(byStatus, status);
+    }
+
+    @Override
+    public List<Request> findByRequester(Long requesterID) {
+        return snapshot(byRequester, requesterID);
+    }
+
+    @Override
+    public List<Request> findByAssignee(Long assignedToID) {
+        return snapshot(byAssignee, assignedToID);
+    }
+
+    @Override
+    public List<Request> findByPostingWindow(RequestType requestType, LocalDate postingStart, LocalDate postingEnd) {
+        return find(new RequestFilter(null, requestType, null, null, postingStart, postingEnd), null, Pageable.unpaged());
+    }
+
+    private <K> List<Request> snapshot(Map<K, NavigableSet<Request>> index, K key) {
+        if (key == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            NavigableSet<Request> matches = index.get(key);
+            return matches != null ? matches.stream().map(InMemoryRequestStore::copy).collect(Collectors.toCollection(ArrayList::new)) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Smallest index that satisfies one of the equality filters, or the full ordered set. */
+    private NavigableSet<Request> narrowestIndex(RequestFilter filter) {
+        NavigableSet<Request> best = byPostingDate;
+        best = smaller(best, filter.status(), byStatus);
+        best = smaller(best, filter.requestType(), byType);
+        best = smaller(best, filter.assignedToID(), byAssignee);
+        best = smaller(best, filter.requesterID(), byRequester);
+        return best;
+    }
+
+    private static <K> NavigableSet<Request> smaller(NavigableSet<Request> current, K key,
+                                                     Map<K, NavigableSet<Request>> index) {
+        if (key == null) {
+            return current;
+        }
+        NavigableSet<Request> candidate = index.get(key);
+        if (candidate == null) {
+            return new TreeSet<>(LISTING_ORDER);
+        }
+        return candidate.size() < current.size() ? candidate : current;
+    }
+
+    private static boolean matches(RequestFilter filter, Request request) {
+        return (filter.status() == null || filter.status() == request.getStatus())
+            && (filter.requestType() == null || filter.requestType() == request.getRequestType())
+            && (filter.assignedToID() == null || filter.assignedToID().equals(request.getAssignedToID()))
+            && (filter.requesterID() == null || filter.requesterID().equals(request.getRequesterID()))
+            && (filter.postingFrom() == null
+                || (request.getPostingDate() != null && !request.getPostingDate().isBefore(filter.postingFrom())));
+    }
+
+    private static Request copy(Request request) {
+        return request.toBuilder().build();
+    }
+
+    private static Request probe(LocalDate postingDate, Long channelID) {
+        Request probe = new Request();
+        probe.setPostingDate(postingDate);
+        probe.setChannelID(channelID);
+        return probe;
+    }
+
+    private void index(Request request) {
+        byId.put(request.getChannelID(), request);
+        byPostingDate.add(request);
+        add(byStatus, request.getStatus(), request);
+        add(byType, request.getRequestType(), request);
+        add(byAssignee, request.getAssignedToID(), request);
+        add(byRequester, request.getRequesterID(), request);
+    }
+
+    private void unindex(Request request) {
+        byId.remove(request.getChannelID());
+        byPostingDate.remove(request);
+        remove(byStatus, request.getStatus(), request);
+        remove(byType, request.getRequestType(), request);
+        remove(byAssignee, request.getAssignedToID(), request);
+        remove(byRequester, request.getRequesterID(), request);
+    }
+
+    private void clear() {
+        byId.clear();
+        byPostingDate.clear();
+        byStatus.clear();
+        byType.clear();
+        byAssignee.clear();
+        byRequester.clear();
+    }
+
+    private static <K> void add(Map<K, NavigableSet<Request>> index, K key, Request request) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new TreeSet<>(LISTING_ORDER)).add(request);
+        }
+    }
+
+    private static <K> void remove(Map<K, NavigableSet<Request>> index, K key, Request request) {
+        if (key == null) {
+            return;
+        }
+        NavigableSet<Request> entries = index.get(key);
+        if (entries != null) {
+            entries.remove(request);
+            if (entries.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
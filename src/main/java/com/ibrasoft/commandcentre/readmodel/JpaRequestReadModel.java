@@ -0,0 +1,74 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestCursor;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestSummary;
+import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Database-backed {@link RequestReadModel}, used when the in-memory store is disabled
+ * (e.g. when several API instances share one database).
+ */
+@Component
+@ConditionalOnProperty(name = "app.request-store.enabled", havingValue = "false")
+@RequiredArgsConstructor
+public class JpaRequestReadModel implements RequestReadModel {
+
+    private final RequestRepository requestRepository;
+
+    @Override
+    public Optional<Request> findById(Long channelId) {
+        return requestRepository.findById(channelId);
+    }
+
+    @Override
+    public List<Request> findAllById(Collection<Long> channelIds) {
+        return requestRepository.findAllById(channelIds);
+    }
+
+    @Override
+    public List<Request> find(RequestFilter filter, RequestCursor after, Pageable pageable) {
+        return requestRepository.findPage(filter, after, pageable);
+    }
+
+    @Override
+    public List<RequestSummary> findSummaries(RequestFilter filter, RequestCursor after, Pageable pageable) {
+        return requestRepository.findSummaryPage(filter, after, pageable);
+    }
+
+    @Override
+    public List<Request> findByStatus(RequestStatus status) {
+        return requestRepository.findByStatus(status);
+    }
+
+    @Override
+    public List<Request> findByRequester(Long requesterID) {
+        return requestRepository.findByRequesterID(requesterID);
+    }
+
+    @Override
+    public List<Request> findByAssignee(Long assignedToID) {
+        return requestRepository.findByAssignedToID(assignedToID);
+    }
+
+    @Override
+    public List<Request> findByPostingWindow(RequestType requestType, LocalDate postingStart, LocalDate postingEnd) {
+        if (requestType == null) {
+            return requestRepository.findByPostingDateBetweenOrderByPostingDateAscChannelIDAsc(postingStart, postingEnd);
+        }
+        return requestRepository.findByRequestTypeAndPostingDateBetweenOrderByPostingDateAscChannelIDAsc(
+            requestType, postingStart, postingEnd);
+    }
+}
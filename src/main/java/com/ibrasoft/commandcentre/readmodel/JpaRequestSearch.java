@@ -0,0 +1,36 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Database-backed {@link RequestSearch}, used when the in-memory store is disabled.
+ *
+ * <p>Each query loads the requests whose title or description contains every term as a substring,
+ * then ranks them with a {@link RequestSearchIndex} built over just those rows, which also drops
+ * substring hits that are not whole terms (or a prefix, for the last one). Term statistics come
+ * from the matching rows only, so scores are not comparable with the default index; the order of
+ * the results is what matters. Every search is a table scan, so keep queries specific.
+ */
+@Component
+@ConditionalOnProperty(name = "app.request-store.enabled", havingValue = "false")
+@RequiredArgsConstructor
+public class JpaRequestSearch implements RequestSearch {
+
+    private final RequestRepository requestRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> terms = RequestSearchIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0, offset, limit);
+        }
+        return RequestSearchIndex.of(requestRepository.findContainingAll(terms)).search(query, offset, limit);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestCursor;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestSummary;
+import com.ibrasoft.commandcentre.model.RequestType;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read side of the request API. {@code RequestService} answers every GET through this interface
+ * and keeps writes on {@code RequestRepository}.
+ *
+ * <p>Selected by {@code app.request-store.enabled}: {@link InMemoryRequestStore} (default) serves
+ * reads from memory, {@link JpaRequestReadModel} goes to the database on every call. Listings are
+ * ordered by posting date (undated last), then channel ID.
+ */
+public interface RequestReadModel {
+
+    Optional<Request> findById(Long channelId);
+
+    /** Requests with any of the given ids, in no particular order; unknown ids are skipped. */
+    List<Request> findAllById(Collection<Long> channelIds);
+
+    /**
+     * Requests matching {@code filter} strictly after {@code after} (null for the start). Only the
+     * page size of {@code pageable} is used; pass {@link Pageable#unpaged()} for everything.
+     */
+    List<Request> find(RequestFilter filter, RequestCursor after, Pageable pageable);
+
+    /** {@link #find} as {@link RequestSummary} rows. */
+    default List<RequestSummary> findSummaries(RequestFilter filter, RequestCursor after, Pageable pageable) {
+        return find(filter, after, pageable).stream().map(RequestSummary::of).toList();
+    }
+
+    List<Request> findByStatus(RequestStatus status);
+
+    List<Request> findByRequester(Long requesterID);
+
+    List<Request> findByAssignee(Long assignedToID);
+
+    /** Requests posting within {@code [postingStart, postingEnd]}; {@code requestType} null means any type. */
+    List<Request> findByPostingWindow(RequestType requestType, LocalDate postingStart, LocalDate postingEnd);
+}
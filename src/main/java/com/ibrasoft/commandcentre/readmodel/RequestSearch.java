@@ -0,0 +1,23 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.ibrasoft.commandcentre.model.RequestSummary;
+
+import java.util.List;
+
+/**
+ * Keyword search over request titles and descriptions, behind {@code RequestService}.
+ *
+ * <p>Selected by {@code app.request-store.enabled} like {@link RequestReadModel}:
+ * {@link RequestSearchIndex} (default) answers from an in-process index, {@link JpaRequestSearch}
+ * narrows with the database on every call. A query matches requests containing every term; the
+ * last term also matches as a prefix.
+ */
+public interface RequestSearch {
+
+    record SearchHit(RequestSummary request, double score) {}
+
+    record SearchResult(List<SearchHit> hits, int total, int offset, int limit) {}
+
+    /** Ranked matches for {@code query}, best first; {@code offset}/{@code limit} select the page. */
+    SearchResult search(String query, int offset, int limit);
+}
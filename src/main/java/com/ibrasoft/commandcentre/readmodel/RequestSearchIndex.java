@@ -0,0 +1,213 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestSummary;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import com.ibrasoft.commandcentre.service.RequestChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over request titles and descriptions, ranked with BM25.
+ *
+ * <p>Built at startup and updated from {@link RequestChangedEvent}s after commit, like
+ * {@link InMemoryRequestStore}, and enabled with it. Title terms count {@value #TITLE_WEIGHT}
+ * times as much as description terms. The last query term also matches as a prefix so
+ * search-as-you-type works.
+ */
+@Component
+@ConditionalOnProperty(name = "app.request-store.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RequestSearchIndex implements RequestSearch {
+
+    static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final RequestRepository requestRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (channelId -> weighted term frequency); sorted for prefix lookups
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    private record Document(RequestSummary summary, Long version, Map<String, Integer> termFrequencies, int length) {}
+
+    /** A standalone index over {@code requests}, not kept up to date; see {@link JpaRequestSearch}. */
+    static RequestSearchIndex of(List<Request> requests) {
+        RequestSearchIndex index = new RequestSearchIndex(null);
+        index.replaceAll(requests);
+        return index;
+    }
+
+    @PostConstruct
+    public void load() {
+        List<Request> all = requestRepository.findAll();
+        replaceAll(all);
+        log.info("Indexed {} requests for search ({} terms)", all.size(), postings.size());
+    }
+
+    private void replaceAll(List<Request> requests) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            requests.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.get(event.channelId());
+            Request changed = event.type() == AuditEventType.DELETE ? event.previous() : event.request();
+            if (existing != null && isOlder(changed, existing)) {
+                log.debug("Ignoring out-of-order {} of request {} at version {} (indexed: {})",
+                    event.type(), event.channelId(), changed.getVersion(), existing.version());
+                return;
+            }
+            remove(event.channelId());
+            if (event.type() != AuditEventType.DELETE && event.request() != null) {
+                add(event.request());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isOlder(Request changed, Document indexed) {
+        return changed != null && changed.getVersion() != null && indexed.version() != null
+            && changed.getVersion() < indexed.version();
+    }
+
+    @Override
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0, offset, limit);
+        }
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return new SearchResult(List.of(), 0, offset, limit);
+            }
+            double averageLength = (double) totalLength / documents.size();
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < terms.size(); i++) {
+                boolean prefix = i == terms.size() - 1;
+                Map<Long, Double> termScores = scoreTerm(terms.get(i), prefix, averageLength);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<SearchHit> ranked = new ArrayList<>(scores.size());
+            scores.forEach((channelId, score) -> ranked.add(new SearchHit(documents.get(channelId).summary(), score)));
+            ranked.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                .thenComparing(hit -> hit.request().channelID()));
+            int from = Math.min(offset, ranked.size());
+            int to = Math.min(from + limit, ranked.size());
+            return new SearchResult(List.copyOf(ranked.subList(from, to)), ranked.size(), offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** BM25 contribution of one query term, summed over every indexed term it matches. */
+    private Map<Long, Double> scoreTerm(String term, boolean prefix, double averageLength) {
+        Collection<Map<Long, Integer>> matches = prefix
+            ? postings.subMap(term, true, term + Character.MAX_VALUE, false).values()
+            : (postings.containsKey(term) ? List.of(postings.get(term)) : List.of());
+
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = documents.size();
+        for (Map<Long, Integer> frequencies : matches) {
+            double idf = Math.log(1 + (documentCount - frequencies.size() + 0.5) / (frequencies.size() + 0.5));
+            frequencies.forEach((channelId, tf) -> {
+                double norm = K1 * (1 - B + B * documents.get(channelId).length() / averageLength);
+                double score = idf * (tf * (K1 + 1)) / (tf + norm);
+                scores.merge(channelId, score, Double::sum);
+            });
+        }
+        return scores;
+    }
+
+    private void add(Request request) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(request.getTitle())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(request.getDescription())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        documents.put(request.getChannelID(), new Document(RequestSummary.of(request), request.getVersion(), frequencies, length));
+        totalLength += length;
+        frequencies.forEach((term, tf) ->
+            postings.computeIfAbsent(term, t -> new HashMap<>()).put(request.getChannelID(), tf));
+    }
+
+    private void remove(Long channelId) {
+        Document document = documents.remove(channelId);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length();
+        for (String term : document.termFrequencies().keySet()) {
+            Map<Long, Integer> frequencies = postings.get(term);
+            if (frequencies != null) {
+                frequencies.remove(channelId);
+                if (frequencies.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,310 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibrasoft.commandcentre.archive.AuditSegmentStore;
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.audit.AuditMetadata;
+import com.ibrasoft.commandcentre.auditstore.AuditEventStore;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.model.StatusTimingReport;
+import com.ibrasoft.commandcentre.service.AuditEventsRecordedEvent;
+import com.ibrasoft.commandcentre.service.CycleService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-request status history derived from the audit log, for lead-time and time-in-status
+ * analytics.
+ *
+ * <p>Rebuilt at startup by replaying the request lifecycle events in the {@link AuditEventStore} and
+ * the archived {@link AuditSegmentStore} segments, then extended from {@link AuditEventsRecordedEvent}s
+ * as new events commit. The replay holds the whole lifecycle history in memory at once and
+ * decompresses every archived segment with request lifecycle events, so startup time and peak heap
+ * grow with the age of the audit log; its duration is logged. Status moves are read from
+ * the {@link AuditMetadata#statusChange} metadata, falling back to the details text for events
+ * written before that metadata existed. Requests are grouped by their current type, assignee and
+ * posting cycle when a report is built.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatusTimingRollup {
+
+    public static final Set<String> GROUP_BY = Set.of("type", "assignee", "cycle", "none");
+
+    private static final String REQUEST_ENTITY_TYPE = "Request";
+    private static final Set<String> TRACKED_EVENT_TYPES = Set.of(
+        AuditEventType.CREATE.name(),
+        AuditEventType.UPDATE.name(),
+        AuditEventType.STATUS_CHANGE.name(),
+        AuditEventType.STATUS_ADVANCE.name(),
+        AuditEventType.DELETE.name());
+    private static final Pattern STATUS_DETAILS = Pattern.compile("^Status (?:changed|advanced) from (.+) to (.+)$");
+
+    private final AuditEventStore auditEventStore;
+    private final AuditSegmentStore auditSegmentStore;
+    private final RequestReadModel requestReadModel;
+    private final CycleService cycleService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Timeline> timelines = new HashMap<>();
+
+    private record Transition(RequestStatus from, RequestStatus to) {}
+
+    private record Sample(Long channelId, Long leadTimeSeconds, Map<RequestStatus, List<Long>> stays) {}
+
+    private static final class Timeline {
+        private LocalDateTime createdAt;
+        private RequestStatus status;
+        private LocalDateTime enteredAt;
+        private Long leadTimeSeconds;
+        private final Map<RequestStatus, List<Long>> finishedStays = new EnumMap<>(RequestStatus.class);
+
+        void moveTo(RequestStatus from, RequestStatus to, LocalDateTime at) {
+            if (status == null && from != null && createdAt != null) {
+                // Creation events from before the status metadata: the first move tells us where it started.
+                status = from;
+                enteredAt = createdAt;
+            }
+            if (status == to) {
+                return;
+            }
+            if (status != null && enteredAt != null) {
+                finishedStays.computeIfAbsent(status, s -> new ArrayList<>()).add(seconds(enteredAt, at));
+            }
+            status = to;
+            enteredAt = at;
+            if (to == RequestStatus.DONE && createdAt != null) {
+                leadTimeSeconds = seconds(createdAt, at);
+            }
+        }
+    }
+
+    @PostConstruct
+    public void backfill() {
+        long started = System.nanoTime();
+        List<AuditEvent> history = new ArrayList<>(auditSegmentStore.findForReplay(REQUEST_ENTITY_TYPE, TRACKED_EVENT_TYPES));
+        int archived = history.size();
+        history.addAll(auditEventStore.findForReplay(REQUEST_ENTITY_TYPE, TRACKED_EVENT_TYPES));
+        // An archival run interrupted before its delete leaves events both archived and live.
+        history.sort(Comparator.comparing(AuditEvent::getEventTimestamp).thenComparing(AuditEvent::getId));
+        int replayed = 0;
+        synchronized (timelines) {
+            timelines.clear();
+            Long previousId = null;
+            for (AuditEvent event : history) {
+                if (!event.getId().equals(previousId)) {
+                    apply(event);
+                    replayed++;
+                }
+                previousId = event.getId();
+            }
+        }
+        log.info("Rebuilt status timelines for {} requests from {} audit events ({} archived) in {} ms",
+            timelines.size(), replayed, archived, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuditEventsRecorded(AuditEventsRecordedEvent event) {
+        synchronized (timelines) {
+            event.events().forEach(this::apply);
+        }
+    }
+
+    /**
+     * Percentiles grouped by {@code groupBy} (one of {@link #GROUP_BY}), optionally restricted to
+     * one request type, assignee or posting cycle.
+     */
+    public StatusTimingReport report(String groupBy, RequestType requestType, Long assignedToId, Integer cycleNumber) {
+        if (!GROUP_BY.contains(groupBy)) {
+            throw new IllegalArgumentException("Invalid groupBy: " + groupBy);
+        }
+        List<Sample> samples = new ArrayList<>();
+        synchronized (timelines) {
+            timelines.forEach((channelId, timeline) -> {
+                Map<RequestStatus, List<Long>> stays = new EnumMap<>(RequestStatus.class);
+                timeline.finishedStays.forEach((status, durations) -> stays.put(status, List.copyOf(durations)));
+                samples.add(new Sample(channelId, timeline.leadTimeSeconds, stays));
+            });
+        }
+        Map<Long, Request> requests = new HashMap<>();
+        requestReadModel.findAllById(samples.stream().map(Sample::channelId).toList())
+            .forEach(request -> requests.put(request.getChannelID(), request));
+
+        Function<Request, Object> keyOf = switch (groupBy) {
+            case "type" -> Request::getRequestType;
+            case "assignee" -> Request::getAssignedToID;
+            case "cycle" -> this::cycleOf;
+            default -> request -> "all";
+        };
+        Map<Object, List<Sample>> groups = new HashMap<>();
+        for (Sample sample : samples) {
+            Request request = requests.get(sample.channelId());
+            if (request == null
+                    || (requestType != null && request.getRequestType() != requestType)
+                    || (assignedToId != null && !assignedToId.equals(request.getAssignedToID()))
+                    || (cycleNumber != null && !cycleNumber.equals(cycleOf(request)))) {
+                continue;
+            }
+            groups.computeIfAbsent(Objects.requireNonNullElse(keyOf.apply(request), NoValue.INSTANCE),
+                k -> new ArrayList<>()).add(sample);
+        }
+
+        List<StatusTimingReport.Group> result = new ArrayList<>();
+        groups.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey(StatusTimingRollup::compareKeys))
+            .forEach(entry -> result.add(summarize(entry.getKey(), entry.getValue())));
+        return new StatusTimingReport(groupBy, result);
+    }
+
+    private Integer cycleOf(Request request) {
+        return request.getPostingDate() != null
+            ? cycleService.getCycleForPostingDate(request.getPostingDate()).getCycleNumber()
+            : null;
+    }
+
+    private void apply(AuditEvent event) {
+        if (!REQUEST_ENTITY_TYPE.equals(event.getEntityType()) || event.getEntityId() == null
+                || event.getEventTimestamp() == null) {
+            return;
+        }
+        AuditEventType type = AuditEventType.fromString(event.getEventType()).orElse(null);
+        if (type == null) {
+            return;
+        }
+        Long channelId = event.getEntityId();
+        LocalDateTime at = event.getEventTimestamp();
+        switch (type) {
+            case DELETE -> timelines.remove(channelId);
+            case CREATE -> {
+                Timeline timeline = new Timeline();
+                timeline.createdAt = at;
+                Transition transition = transition(event);
+                if (transition != null) {
+                    timeline.status = transition.to();
+                    timeline.enteredAt = at;
+                }
+                timelines.put(channelId, timeline);
+            }
+            case UPDATE, STATUS_CHANGE, STATUS_ADVANCE -> {
+                Transition transition = transition(event);
+                if (transition != null) {
+                    timelines.computeIfAbsent(channelId, id -> new Timeline())
+                        .moveTo(transition.from(), transition.to(), at);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /** The status move recorded by {@code event}, or null when it did not move the request or cannot be read. */
+    private Transition transition(AuditEvent event) {
+        if (event.getMetadata() != null) {
+            try {
+                JsonNode metadata = objectMapper.readTree(event.getMetadata());
+                if (metadata != null && metadata.hasNonNull(AuditMetadata.STATUS_TO)) {
+                    return new Transition(
+                        parseStatus(metadata.path(AuditMetadata.STATUS_FROM).asText(null)),
+                        parseStatus(metadata.get(AuditMetadata.STATUS_TO).asText()));
+                }
+            } catch (Exception e) {
+                log.debug("Ignoring unreadable metadata on audit event {}", event.getId());
+            }
+        }
+        if (event.getEventDetails() != null && !AuditEventType.UPDATE.name().equals(event.getEventType())) {
+            Matcher matcher = STATUS_DETAILS.matcher(event.getEventDetails());
+            if (matcher.matches()) {
+                RequestStatus to = parseDisplayName(matcher.group(2));
+                return to != null ? new Transition(parseDisplayName(matcher.group(1)), to) : null;
+            }
+        }
+        return null;
+    }
+
+    private static StatusTimingReport.Group summarize(Object key, List<Sample> samples) {
+        List<Long> leadTimes = new ArrayList<>();
+        Map<RequestStatus, List<Long>> stays = new EnumMap<>(RequestStatus.class);
+        for (Sample sample : samples) {
+            if (sample.leadTimeSeconds() != null) {
+                leadTimes.add(sample.leadTimeSeconds());
+            }
+            sample.stays().forEach((status, durations) ->
+                stays.computeIfAbsent(status, s -> new ArrayList<>()).addAll(durations));
+        }
+        Map<RequestStatus, StatusTimingReport.DurationStats> timeInStatus = new EnumMap<>(RequestStatus.class);
+        stays.forEach((status, durations) -> timeInStatus.put(status, stats(durations)));
+        String label = key == NoValue.INSTANCE ? "none" : key instanceof Enum<?> e ? e.name() : key.toString();
+        return new StatusTimingReport.Group(label, samples.size(), stats(leadTimes), timeInStatus);
+    }
+
+    private static StatusTimingReport.DurationStats stats(List<Long> durations) {
+        if (durations.isEmpty()) {
+            return new StatusTimingReport.DurationStats(0, 0, 0, 0, 0);
+        }
+        List<Long> sorted = new ArrayList<>(durations);
+        sorted.sort(Comparator.naturalOrder());
+        return new StatusTimingReport.DurationStats(sorted.size(),
+            percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 95), sorted.get(sorted.size() - 1));
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+
+    private static long seconds(LocalDateTime from, LocalDateTime to) {
+        return Math.max(0, Duration.between(from, to).getSeconds());
+    }
+
+    private static RequestStatus parseStatus(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return RequestStatus.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static RequestStatus parseDisplayName(String displayName) {
+        try {
+            return RequestStatus.fromDisplayName(displayName.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Group keys of one report share a type (enum, Long or Integer); requests without a value sort last.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Object a, Object b) {
+        if (a == NoValue.INSTANCE || b == NoValue.INSTANCE) {
+            return Boolean.compare(a == NoValue.INSTANCE, b == NoValue.INSTANCE);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private enum NoValue { INSTANCE }
+}
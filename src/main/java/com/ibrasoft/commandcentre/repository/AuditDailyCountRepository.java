@@ -0,0 +1,32 @@
+package com.ibrasoft.commandcentre.repository;
+
+import com.ibrasoft.commandcentre.model.AuditDailyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AuditDailyCountRepository extends JpaRepository<AuditDailyCount, Long> {
+
+    // Range scan on the (day, eventType, actor) unique index.
+    @Query("""
+        SELECT c FROM AuditDailyCount c
+        WHERE c.day >= :from AND c.day <= :to
+          AND (:eventType IS NULL OR c.eventType = :eventType)
+          AND (:actor IS NULL OR c.actor = :actor)
+        ORDER BY c.day ASC, c.eventType ASC, c.actor ASC
+        """)
+    List<AuditDailyCount> findInRange(@Param("from") LocalDate from,
+                                      @Param("to") LocalDate to,
+                                      @Param("eventType") String eventType,
+                                      @Param("actor") String actor);
+
+    @Modifying
+    @Query("DELETE FROM AuditDailyCount c WHERE c.day >= :from AND c.day < :to")
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
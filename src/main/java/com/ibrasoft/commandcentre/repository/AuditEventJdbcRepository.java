@@ -0,0 +1,197 @@
+package com.ibrasoft.commandcentre.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibrasoft.commandcentre.audit.AuditMetadata;
+import com.ibrasoft.commandcentre.model.AuditDailyCount;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch inserts for {@link AuditEvent}. Hibernate cannot batch inserts for IDENTITY ids, so
+ * bulk writers go through here instead of {@link AuditEventRepository#saveAll}. Runs in the
+ * caller's transaction. Also writes what is derived from each event in the same transaction: its
+ * {@code audit_event_metadata} search entries and its {@code audit_daily_counts} bucket.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class AuditEventJdbcRepository {
+
+    static final int BATCH_SIZE = 100;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO audit_events (event_type, event_type_code, entity_type, entity_id, event_details, performed_by,
+                                  actor_kind, actor_user_id, actor_bot_id, metadata, event_timestamp)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String BACKFILL_SQL = """
+        UPDATE audit_events SET event_type_code = ?, actor_kind = ?, actor_user_id = ?, actor_bot_id = ?
+        WHERE id = ?
+        """;
+
+    private static final String INSERT_METADATA_SQL = """
+        INSERT INTO audit_event_metadata (audit_event_id, path, text_value)
+        VALUES (?, ?, ?)
+        """;
+
+    // Supported by both PostgreSQL and SQLite (3.24+).
+    private static final String UPSERT_DAILY_COUNT_SQL = """
+        INSERT INTO audit_daily_counts (day, event_type, actor, event_count)
+        VALUES (?, ?, ?, ?)
+        ON CONFLICT (day, event_type, actor) DO UPDATE SET event_count = audit_daily_counts.event_count + excluded.event_count
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private record MetadataRow(long auditEventId, AuditMetadata.Entry entry) {}
+
+    /**
+     * Inserts {@code events} in JDBC batches and sets their generated ids, then their derived rows
+     * (see {@link #insertDerived}). Every event must already carry its timestamp.
+     */
+    public void insertAll(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+                for (int from = 0; from < events.size(); from += BATCH_SIZE) {
+                    List<AuditEvent> chunk = events.subList(from, Math.min(from + BATCH_SIZE, events.size()));
+                    for (AuditEvent event : chunk) {
+                        bind(ps, event);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    assignIds(ps, chunk);
+                }
+            }
+            return null;
+        });
+        insertDerived(events);
+    }
+
+    /**
+     * Inserts the metadata entries of {@code events}, which must already have ids and timestamps,
+     * and adds them to their daily count buckets.
+     */
+    public void insertDerived(List<AuditEvent> events) {
+        insertMetadata(events);
+        Map<AuditDailyCount.Bucket, Long> counts = new LinkedHashMap<>();
+        for (AuditEvent event : events) {
+            counts.merge(AuditDailyCount.Bucket.of(event), 1L, Long::sum);
+        }
+        addDailyCounts(counts);
+    }
+
+    /** Adds {@code counts} to their buckets, creating missing ones. */
+    public void addDailyCounts(Map<AuditDailyCount.Bucket, Long> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_COUNT_SQL, new ArrayList<>(counts.entrySet()), BATCH_SIZE, (ps, count) -> {
+            // Bound like Hibernate binds LocalDate, so both write the same representation.
+            ps.setDate(1, Date.valueOf(count.getKey().day()));
+            ps.setString(2, count.getKey().eventType());
+            ps.setString(3, count.getKey().actor());
+            ps.setLong(4, count.getValue());
+        });
+    }
+
+    private void insertMetadata(List<AuditEvent> events) {
+        List<MetadataRow> rows = new ArrayList<>();
+        for (AuditEvent event : events) {
+            if (event.getMetadata() == null) {
+                continue;
+            }
+            try {
+                for (AuditMetadata.Entry entry : AuditMetadata.entries(objectMapper.readTree(event.getMetadata()))) {
+                    rows.add(new MetadataRow(event.getId(), entry));
+                }
+            } catch (JsonProcessingException e) {
+                log.debug("Not indexing unreadable metadata on audit event {}", event.getId());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_METADATA_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.auditEventId());
+            ps.setString(2, row.entry().path());
+            ps.setString(3, row.entry().value());
+        });
+    }
+
+    private static void bind(PreparedStatement ps, AuditEvent event) throws SQLException {
+        ps.setString(1, event.getEventType());
+        setNullable(ps, 2, event.getEventTypeCode(), Types.SMALLINT);
+        ps.setString(3, event.getEntityType());
+        setNullable(ps, 4, event.getEntityId(), Types.BIGINT);
+        ps.setString(5, event.getEventDetails());
+        ps.setString(6, event.getPerformedBy());
+        ps.setString(7, event.getActorKind() != null ? event.getActorKind().name() : null);
+        setNullable(ps, 8, event.getActorUserId(), Types.BIGINT);
+        ps.setString(9, event.getActorBotId());
+        ps.setString(10, event.getMetadata());
+        ps.setTimestamp(11, Timestamp.valueOf(event.getEventTimestamp()));
+    }
+
+    /** Writes the columns {@link AuditEvent#deriveMissingColumns()} filled in on existing rows. */
+    public void updateDerivedColumns(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(BACKFILL_SQL, events, BATCH_SIZE, (ps, event) -> {
+            setNullable(ps, 1, event.getEventTypeCode(), Types.SMALLINT);
+            ps.setString(2, event.getActorKind() != null ? event.getActorKind().name() : null);
+            setNullable(ps, 3, event.getActorUserId(), Types.BIGINT);
+            ps.setString(4, event.getActorBotId());
+            ps.setLong(5, event.getId());
+        });
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value != null) {
+            ps.setObject(index, value, sqlType);
+        } else {
+            ps.setNull(index, sqlType);
+        }
+    }
+
+    private static void assignIds(PreparedStatement ps, List<AuditEvent> chunk) throws SQLException {
+        List<Long> keys = new ArrayList<>(chunk.size());
+        try (ResultSet generated = ps.getGeneratedKeys()) {
+            while (generated.next()) {
+                keys.add(generated.getLong(1));
+            }
+        }
+        if (keys.size() == chunk.size()) {
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).setId(keys.get(i));
+            }
+        } else if (keys.size() == 1) {
+            // SQLite reports only the last rowid of a batch. Its writers are serialized, so the
+            // batch took consecutive rowids ending there.
+            long first = keys.get(0) - chunk.size() + 1;
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).setId(first + i);
+            }
+        } else {
+            throw new SQLException("Expected " + chunk.size() + " generated audit event ids, got " + keys.size());
+        }
+    }
+}
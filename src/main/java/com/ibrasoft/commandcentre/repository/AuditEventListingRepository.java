@@ -0,0 +1,36 @@
+package com.ibrasoft.commandcentre.repository;
+
+import com.ibrasoft.commandcentre.model.AuditCursor;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Filtered audit listings of {@link AuditEventRepository}. Each query holds only the filters that
+ * are set, so it seeks the {@code audit_events} composite index that leads with them.
+ *
+ * <p>Event types are matched by {@code eventTypeCode}, passed alongside the filter; its
+ * {@code eventType} name is ignored.
+ */
+public interface AuditEventListingRepository {
+
+    /** JDBC fetch size for {@link #streamAll}. */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Events matching {@code filter}, newest first, with id as the tiebreak for events sharing a
+     * timestamp (several can land in the same millisecond). When {@code after} is set, only rows
+     * strictly after that keyset position are returned, so each page is an index seek rather than
+     * an OFFSET scan.
+     */
+    List<AuditEvent> findPage(AuditEventFilter filter, Short eventTypeCode, AuditCursor after, int limit);
+
+    /**
+     * Forward-only cursor over the events matching {@code filter}, oldest first. Rows are fetched
+     * {@value #EXPORT_FETCH_SIZE} at a time and loaded read-only. Must be consumed and closed inside
+     * a transaction; detach each row once written to keep the session small.
+     */
+    Stream<AuditEvent> streamAll(AuditEventFilter filter, Short eventTypeCode);
+}
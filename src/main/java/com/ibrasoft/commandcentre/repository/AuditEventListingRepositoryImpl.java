@@ -0,0 +1,52 @@
+package com.ibrasoft.commandcentre.repository;
+
+import com.ibrasoft.commandcentre.model.AuditCursor;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class AuditEventListingRepositoryImpl implements AuditEventListingRepository {
+
+    private static final String SELECT = "SELECT e FROM AuditEvent e";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<AuditEvent> findPage(AuditEventFilter filter, Short eventTypeCode, AuditCursor after, int limit) {
+        JpqlConditions conditions = conditions(filter, eventTypeCode);
+        if (after != null) {
+            conditions.add("(e.eventTimestamp < :afterTimestamp OR (e.eventTimestamp = :afterTimestamp AND e.id < :afterId))",
+                Map.of("afterTimestamp", after.eventTimestamp(), "afterId", after.id()));
+        }
+        return conditions.createQuery(entityManager, SELECT, "ORDER BY e.eventTimestamp DESC, e.id DESC", AuditEvent.class)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public Stream<AuditEvent> streamAll(AuditEventFilter filter, Short eventTypeCode) {
+        return conditions(filter, eventTypeCode)
+            .createQuery(entityManager, SELECT, "ORDER BY e.eventTimestamp ASC, e.id ASC", AuditEvent.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    private static JpqlConditions conditions(AuditEventFilter filter, Short eventTypeCode) {
+        return new JpqlConditions()
+            .addIfSet("e.entityType = :entityType", "entityType", filter.entityType())
+            .addIfSet("e.entityId = :entityId", "entityId", filter.entityId())
+            .addIfSet("e.eventTypeCode = :eventTypeCode", "eventTypeCode", eventTypeCode)
+            .addIfSet("e.performedBy = :performedBy", "performedBy", filter.performedBy())
+            .addIfSet("e.actorUserId = :actorUserId", "actorUserId", filter.actorUserId())
+            .addIfSet("e.eventTimestamp >= :from", "from", filter.from())
+            .addIfSet("e.eventTimestamp <= :to", "to", filter.to());
+    }
+}
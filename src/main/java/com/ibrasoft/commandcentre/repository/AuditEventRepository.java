@@ -1,25 +1,46 @@
 package com.ibrasoft.commandcentre.repository;
 
 import com.ibrasoft.commandcentre.model.AuditEvent;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
-
-    // Newest-first ordering. Id is the tiebreak for events sharing a timestamp
-    // (several can land in the same millisecond).
-
-    List<AuditEvent> findAllByOrderByEventTimestampDescIdDesc();
-
-    List<AuditEvent> findByEntityTypeAndEntityIdOrderByEventTimestampDescIdDesc(String entityType, Long entityId);
-
-    List<AuditEvent> findByEventTypeOrderByEventTimestampDescIdDesc(String eventType);
-
-    List<AuditEvent> findByPerformedByOrderByEventTimestampDescIdDesc(String performedBy);
-
-    List<AuditEvent> findByEventTimestampBetweenOrderByEventTimestampDescIdDesc(LocalDateTime start, LocalDateTime end);
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long>, AuditEventListingRepository {
+
+    /**
+     * Events whose metadata has {@code path = value} (see {@code AuditMetadata#entries}), newest
+     * first, with the same keyset position as {@link #findPage}. Driven by the
+     * {@code audit_event_metadata} path/value index.
+     */
+    @Query("""
+        SELECT e FROM AuditEvent e, AuditMetadataEntry m
+        WHERE m.auditEventId = e.id
+          AND m.path = :path
+          AND m.textValue = :value
+          AND (:afterId IS NULL
+               OR e.eventTimestamp < :afterTimestamp
+               OR (e.eventTimestamp = :afterTimestamp AND e.id < :afterId))
+        ORDER BY e.eventTimestamp DESC, e.id DESC
+        """)
+    List<AuditEvent> findPageByMetadata(@Param("path") String path,
+                                        @Param("value") String value,
+                                        @Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    // Rows written before the type code and actor columns existed, in id order, for backfilling them.
+    List<AuditEvent> findByIdGreaterThanAndActorKindIsNullOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // Oldest rows first, a batch at a time, for archival.
+    List<AuditEvent> findByEventTimestampBeforeOrderByEventTimestampAscIdAsc(LocalDateTime cutoff, Pageable pageable);
+
+    // Oldest-first, for rebuilding derived state by replaying the log.
+    List<AuditEvent> findByEntityTypeAndEventTypeInOrderByEventTimestampAscIdAsc(String entityType, Collection<String> eventTypes);
 }
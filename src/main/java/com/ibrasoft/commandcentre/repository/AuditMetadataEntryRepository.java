@@ -0,0 +1,18 @@
+package com.ibrasoft.commandcentre.repository;
+
+import com.ibrasoft.commandcentre.model.AuditMetadataEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface AuditMetadataEntryRepository extends JpaRepository<AuditMetadataEntry, Long> {
+
+    @Modifying
+    @Query("DELETE FROM AuditMetadataEntry m WHERE m.auditEventId IN :auditEventIds")
+    int deleteByAuditEventIds(@Param("auditEventIds") Collection<Long> auditEventIds);
+}
@@ -0,0 +1,50 @@
+package com.ibrasoft.commandcentre.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JPQL WHERE clause made of only the conditions that apply, with their parameters. Listings
+ * build one per call instead of a catch-all {@code (:x IS NULL OR ...)} query, so the statement the
+ * database plans names exactly the filtered columns and can seek the index that leads with them.
+ * The number of distinct statements stays small (one per combination of filters), so Hibernate's
+ * query plan cache still applies.
+ */
+final class JpqlConditions {
+
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    /** Adds {@code condition}, which refers to {@code :name}, only when {@code value} is set. */
+    JpqlConditions addIfSet(String condition, String name, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+        return this;
+    }
+
+    /** Adds {@code condition} unconditionally, binding each of {@code parameters}. */
+    JpqlConditions add(String condition, Map<String, ?> parameters) {
+        conditions.add(condition);
+        this.parameters.putAll(parameters);
+        return this;
+    }
+
+    /** {@code select}, then the WHERE clause if any condition was added, then {@code orderBy}. */
+    <T> TypedQuery<T> createQuery(EntityManager entityManager, String select, String orderBy, Class<T> resultType) {
+        StringBuilder jpql = new StringBuilder(select);
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(' ').append(orderBy);
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), resultType);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
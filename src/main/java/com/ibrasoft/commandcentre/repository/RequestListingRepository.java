@@ -0,0 +1,46 @@
+package com.ibrasoft.commandcentre.repository;
+
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestCursor;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestSummary;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Filtered request listings of {@link RequestRepository}, in {@code (postingDate, channelID)}
+ * order with undated requests last. The entity, summary and export variants share one WHERE clause
+ * holding only the filters that are set.
+ */
+public interface RequestListingRepository {
+
+    /** JDBC fetch size for {@link #streamAll}. */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Requests matching {@code filter}. When {@code after} is set, only rows strictly after that
+     * keyset position are returned, so pages are read by seeking the posting-date indexes rather
+     * than by OFFSET. Pass a page size through {@code pageable} (always page 0) or
+     * {@link Pageable#unpaged()} for the full listing.
+     */
+    List<Request> findPage(RequestFilter filter, RequestCursor after, Pageable pageable);
+
+    /** {@link #findPage} projected to {@link RequestSummary}; no entities are loaded. */
+    List<RequestSummary> findSummaryPage(RequestFilter filter, RequestCursor after, Pageable pageable);
+
+    /**
+     * Forward-only cursor over the requests matching {@code filter}, in listing order. Rows are
+     * fetched {@value #EXPORT_FETCH_SIZE} at a time and loaded read-only. Must be consumed and
+     * closed inside a transaction; detach each row once written to keep the session small.
+     */
+    Stream<Request> streamAll(RequestFilter filter);
+
+    /**
+     * Requests whose title or description contains every one of {@code terms} as a substring,
+     * ignoring case, in listing order. Terms must be lowercase letters and digits only; they are
+     * not escaped for LIKE.
+     */
+    List<Request> findContainingAll(List<String> terms);
+}
@@ -0,0 +1,84 @@
+package com.ibrasoft.commandcentre.repository;
+
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestCursor;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class RequestListingRepositoryImpl implements RequestListingRepository {
+
+    private static final String SELECT_REQUEST = "SELECT r FROM Request r";
+    private static final String SELECT_SUMMARY = "SELECT new com.ibrasoft.commandcentre.model.RequestSummary("
+        + "r.channelID, r.title, r.status, r.requestType, r.assignedToID, r.postingDate) FROM Request r";
+    private static final String ORDER_BY = "ORDER BY r.postingDate ASC NULLS LAST, r.channelID ASC";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Request> findPage(RequestFilter filter, RequestCursor after, Pageable pageable) {
+        return page(conditions(filter, after).createQuery(entityManager, SELECT_REQUEST, ORDER_BY, Request.class), pageable);
+    }
+
+    @Override
+    public List<RequestSummary> findSummaryPage(RequestFilter filter, RequestCursor after, Pageable pageable) {
+        return page(conditions(filter, after).createQuery(entityManager, SELECT_SUMMARY, ORDER_BY, RequestSummary.class), pageable);
+    }
+
+    @Override
+    public Stream<Request> streamAll(RequestFilter filter) {
+        return conditions(filter, null)
+            .createQuery(entityManager, SELECT_REQUEST, ORDER_BY, Request.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    @Override
+    public List<Request> findContainingAll(List<String> terms) {
+        JpqlConditions conditions = new JpqlConditions();
+        for (int i = 0; i < terms.size(); i++) {
+            String name = "term" + i;
+            conditions.add("(LOWER(r.title) LIKE :" + name + " OR LOWER(r.description) LIKE :" + name + ")",
+                Map.of(name, "%" + terms.get(i) + "%"));
+        }
+        return conditions.createQuery(entityManager, SELECT_REQUEST, ORDER_BY, Request.class).getResultList();
+    }
+
+    private static <T> List<T> page(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    private static JpqlConditions conditions(RequestFilter filter, RequestCursor after) {
+        JpqlConditions conditions = new JpqlConditions()
+            .addIfSet("r.status = :status", "status", filter.status())
+            .addIfSet("r.requestType = :requestType", "requestType", filter.requestType())
+            .addIfSet("r.assignedToID = :assignedToID", "assignedToID", filter.assignedToID())
+            .addIfSet("r.requesterID = :requesterID", "requesterID", filter.requesterID())
+            .addIfSet("r.postingDate >= :postingFrom", "postingFrom", filter.postingFrom())
+            .addIfSet("r.postingDate <= :postingTo", "postingTo", filter.postingTo());
+        if (after == null) {
+            return conditions;
+        }
+        // Undated requests sort last, so a cursor inside that block only moves on by channelID.
+        if (after.postingDate() == null) {
+            return conditions.add("r.postingDate IS NULL AND r.channelID > :afterChannelID",
+                Map.of("afterChannelID", after.channelID()));
+        }
+        return conditions.add("(r.postingDate IS NULL OR r.postingDate > :afterPostingDate"
+                + " OR (r.postingDate = :afterPostingDate AND r.channelID > :afterChannelID))",
+            Map.of("afterPostingDate", after.postingDate(), "afterChannelID", after.channelID()));
+    }
+}
@@ -1,23 +1,98 @@
 package com.ibrasoft.commandcentre.repository;
 
-import com.ibrasoft.commandcentre.model.DepartmentCount;
+import com.ibrasoft.commandcentre.model.DepartmentStatusCount;
 import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestStatisticsRow;
 import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface RequestRepository extends JpaRepository<Request, Long> {
-    
+public interface RequestRepository extends JpaRepository<Request, Long>, RequestListingRepository {
+
     List<Request> findByStatus(RequestStatus status);
     
     List<Request> findByRequesterID(Long requesterID);
     
     List<Request> findByAssignedToID(Long assignedToID);
 
-    @Query(value = "SELECT requester_departmentid, COUNT(*) AS total_requests FROM requests GROUP BY requester_departmentid ORDER BY total_requests DESC", nativeQuery = true)
-    List<DepartmentCount> countByDepartment();
+    // Cycle workload windows. Both are inclusive range scans on the posting-date indexes; channelID
+    // keeps the order stable for requests sharing a posting date.
+
+    List<Request> findByRequestTypeAndPostingDateBetweenOrderByPostingDateAscChannelIDAsc(
+        RequestType requestType, LocalDate postingStart, LocalDate postingEnd);
+
+    List<Request> findByPostingDateBetweenOrderByPostingDateAscChannelIDAsc(LocalDate postingStart, LocalDate postingEnd);
+
+    /** Full scan behind {@code DepartmentRequestCounters}; the API serves the counters instead. */
+    @Query(value = "SELECT requester_departmentid, status, COUNT(*) AS total_requests FROM requests GROUP BY requester_departmentid, status", nativeQuery = true)
+    List<DepartmentStatusCount> countByDepartmentAndStatus();
+
+    /** Request counts grouped by every statistics dimension; posting dates are folded into cycles by the caller. */
+    @Query("""
+        SELECT r.status AS status, r.requestType AS requestType, r.requesterDepartmentID AS requesterDepartmentId,
+               r.postingDate AS postingDate, COUNT(r) AS total
+        FROM Request r
+        GROUP BY r.status, r.requestType, r.requesterDepartmentID, r.postingDate
+        """)
+    List<RequestStatisticsRow> countForStatistics();
+
+    // Conditional single-statement updates. Each applies only while the row still has the version
+    // the caller read, bumps the version, and returns the number of rows changed: 0 means the
+    // request was modified or deleted concurrently. Bulk updates bypass @PreUpdate, so updatedAt is
+    // passed in.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Request r SET r.assignedToID = :assignedToID, r.updatedAt = :now, r.version = r.version + 1
+        WHERE r.channelID = :channelID AND r.version = :version
+        """)
+    int updateAssignee(@Param("channelID") Long channelID, @Param("version") Long version,
+                       @Param("assignedToID") Long assignedToID, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Request r SET r.status = :status, r.updatedAt = :now, r.version = r.version + 1
+        WHERE r.channelID = :channelID AND r.version = :version
+        """)
+    int updateStatus(@Param("channelID") Long channelID, @Param("version") Long version,
+                     @Param("status") RequestStatus status, @Param("now") LocalDateTime now);
+
+    /**
+     * Moves the request from {@code from} to {@code to}, e.g. IN_QUEUE to IN_PROGRESS only while it
+     * is IN_QUEUE. Unlike the updates above it is conditioned on the status alone, so a concurrent
+     * change of another field does not make it miss; it still bumps the version.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Request r SET r.status = :to, r.updatedAt = :now, r.version = r.version + 1
+        WHERE r.channelID = :channelID AND r.status = :from
+        """)
+    int transitionStatus(@Param("channelID") Long channelID,
+                         @Param("from") RequestStatus from, @Param("to") RequestStatus to,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Request r SET r.requesterID = :requesterID, r.updatedAt = :now, r.version = r.version + 1
+        WHERE r.channelID = :channelID AND r.version = :version
+        """)
+    int updateRequester(@Param("channelID") Long channelID, @Param("version") Long version,
+                        @Param("requesterID") Long requesterID, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Request r SET r.requesterDepartmentID = :departmentID, r.updatedAt = :now, r.version = r.version + 1
+        WHERE r.channelID = :channelID AND r.version = :version
+        """)
+    int updateRequesterDepartment(@Param("channelID") Long channelID, @Param("version") Long version,
+                                  @Param("departmentID") Long departmentID, @Param("now") LocalDateTime now);
 }
@@ -1,13 +1,15 @@
 package com.ibrasoft.commandcentre.security;
 
+import com.ibrasoft.commandcentre.config.DiscordConfig;
+import com.ibrasoft.commandcentre.model.Role;
 import com.ibrasoft.commandcentre.service.DiscordService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,14 +18,29 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
 
+/**
+ * Lets only members of the required Discord guild through. In the {@code session}
+ * {@link GuildVerificationMode} OAuth2 session users are checked against Discord once per session;
+ * in the {@code token} mode user JWTs must carry a current {@code guild} claim for that guild.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class DiscordGuildFilter extends OncePerRequestFilter {
     
     private final DiscordService discordService;
+    private final DiscordConfig discordConfig;
+    private final GuildVerificationMode mode;
     private static final String GUILD_CHECK_ATTRIBUTE = "DISCORD_GUILD_VERIFIED";
+
+    public DiscordGuildFilter(DiscordService discordService,
+                              DiscordConfig discordConfig,
+                              @Value("${app.guild-verification.mode:session}") String mode) {
+        this.discordService = discordService;
+        this.discordConfig = discordConfig;
+        this.mode = GuildVerificationMode.fromProperty(mode);
+    }
     
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, 
@@ -31,6 +48,22 @@ public class DiscordGuildFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
         
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (mode == GuildVerificationMode.TOKEN) {
+            // No sessions: the membership checked at login travels in the JWT
+            if (authentication != null && authentication.getDetails() instanceof JwtClaims claims
+                    && !isGuildVerified(claims)) {
+                log.info("Guild verification of user {} is missing or expired", claims.subject());
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType("application/json");
+                response.getWriter().write(
+                    "{\"error\":\"Guild Verification Expired\",\"message\":\"Log in again to confirm your membership of the required Discord server\"}"
+                );
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
         
         // Only apply guild check to OAuth2-authenticated users
         // Skip JWT-authenticated users (they were verified during JWT issuance)
@@ -72,6 +105,15 @@ public class DiscordGuildFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    // Bot tokens are issued against the bot API key, not a Discord login, and carry no guild claim.
+    private boolean isGuildVerified(JwtClaims claims) {
+        if (claims.roles().contains(Role.ROLE_BOT.name())) {
+            return true;
+        }
+        return claims.guildId() != null && claims.guildId().equals(discordConfig.getId())
+            && claims.guildVerifiedUntil() != null && Instant.now().isBefore(claims.guildVerifiedUntil());
+    }
     
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
@@ -92,8 +134,9 @@ public class DiscordGuildFilter extends OncePerRequestFilter {
         
         // Skip filter if JWT authentication is being used (no session-based OAuth)
         // This prevents Discord API calls for JWT-authenticated requests
+        // In token mode the JWT is exactly what gets checked, so it is not skipped
         String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+        if (mode == GuildVerificationMode.SESSION && authHeader != null && authHeader.startsWith("Bearer ")) {
             log.debug("Skipping Discord guild filter for JWT-authenticated request");
             return true;
         }
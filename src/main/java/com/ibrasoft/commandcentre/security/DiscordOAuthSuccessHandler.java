@@ -1,5 +1,6 @@
 package com.ibrasoft.commandcentre.security;
 
+import com.ibrasoft.commandcentre.config.DiscordConfig;
 import com.ibrasoft.commandcentre.model.Role;
 import com.ibrasoft.commandcentre.service.DiscordService;
 import jakarta.servlet.ServletException;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 
 @Component
@@ -24,10 +26,15 @@ public class DiscordOAuthSuccessHandler implements AuthenticationSuccessHandler
 
     private final JwtService jwtService;
     private final DiscordService discordService;
+    private final DiscordConfig discordConfig;
 
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
 
+    // How long the guild claim in the issued token is trusted (enforced in the token verification mode)
+    @Value("${app.guild-verification.ttl-seconds:86400}")
+    private long guildVerificationTtlSeconds;
+
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
                                         Authentication authentication) throws IOException, ServletException {
@@ -41,7 +48,8 @@ public class DiscordOAuthSuccessHandler implements AuthenticationSuccessHandler
                         "You must be a member of the required Discord server to access this API");
                     return;
                 }
-                String token = jwtService.generateUserToken(userId, List.of(Role.ROLE_USER));
+                String token = jwtService.generateUserToken(userId, List.of(Role.ROLE_USER),
+                    discordConfig.getId(), Instant.now().plusSeconds(guildVerificationTtlSeconds));
                 String redirect = UriComponentsBuilder.fromUriString(frontendUrl)
                     .queryParam("token", token)
                     .build()
@@ -0,0 +1,27 @@
+package com.ibrasoft.commandcentre.security;
+
+/**
+ * Where a user's verified membership of the required Discord guild is remembered
+ * ({@code app.guild-verification.mode}).
+ *
+ * <ul>
+ *   <li>{@code session}: in the OAuth2 login's HTTP session, checked once per session. Several
+ *       instances need sticky sessions.</li>
+ *   <li>{@code token}: no HTTP sessions at all. Membership is checked at login and carried in the
+ *       user JWT as a signed {@code guild} claim valid until {@code guild_exp}, and the OAuth2 login
+ *       state travels in a signed cookie, so any instance can serve any request.</li>
+ * </ul>
+ */
+public enum GuildVerificationMode {
+    SESSION,
+    TOKEN;
+
+    /** Accepts {@code session} and {@code token} in any case. */
+    public static GuildVerificationMode fromProperty(String value) {
+        try {
+            return GuildVerificationMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown app.guild-verification.mode: " + value, e);
+        }
+    }
+}
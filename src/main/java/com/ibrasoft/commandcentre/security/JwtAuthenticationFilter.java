@@ -35,6 +35,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 List<SimpleGrantedAuthority> authorities = JwtAuthConverter.toAuthorities(claims.roles());
                 UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(claims.subject(), token, authorities);
+                // Read by DiscordGuildFilter for the guild claims in the token verification mode
+                authentication.setDetails(claims);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             } catch (Exception ex) {
                 log.warn("Invalid JWT provided: {}", ex.getMessage());
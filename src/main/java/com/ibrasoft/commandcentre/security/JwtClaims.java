@@ -1,5 +1,15 @@
 package com.ibrasoft.commandcentre.security;
 
+import java.time.Instant;
 import java.util.List;
 
-public record JwtClaims(String subject, List<String> roles) {}
+/**
+ * Claims of a verified token. {@code guildId} and {@code guildVerifiedUntil} are set on user tokens
+ * issued after a guild membership check and null otherwise.
+ */
+public record JwtClaims(String subject, List<String> roles, String guildId, Instant guildVerifiedUntil) {
+
+    public JwtClaims(String subject, List<String> roles) {
+        this(subject, roles, null, null);
+    }
+}
@@ -2,74 +2,190 @@ package com.ibrasoft.commandcentre.security;
 
 import com.ibrasoft.commandcentre.model.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Issues and verifies the application's HS256 JWTs.
+ *
+ * <p>The signing key and parser are built once. Verified tokens are remembered, keyed by their
+ * SHA-256 digest, in an LRU cache of {@code security.jwt.verified-cache-size} entries (0 disables
+ * it) until their {@code exp}, so a token presented again skips signature verification and claim
+ * parsing. Hits and misses are exported as {@code security.jwt.verified.cache}.
+ */
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
     private static final String ROLES_CLAIM = "roles";
+    private static final String GUILD_CLAIM = "guild";
+    private static final String GUILD_EXPIRATION_CLAIM = "guild_exp";
 
-    @Value("${security.jwt.secret}")
-    private String jwtSecret;
+    private final String jwtIssuer;
+    private final long userTtlSeconds;
+    private final long botTtlSeconds;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int verifiedCacheSize;
+    private final Clock clock;
 
-    @Value("${security.jwt.issuer:command-centre}")
-    private String jwtIssuer;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
-    @Value("${security.jwt.user-ttl-seconds:604800}")
-    private long userTtlSeconds;
+    private record Verified(JwtClaims claims, long expiresAtMillis) {}
 
-    @Value("${security.jwt.bot-ttl-seconds:31536000}")
-    private long botTtlSeconds;
+    // Access-ordered, so the least recently presented token is evicted first.
+    private final Map<String, Verified> verified = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Verified> eldest) {
+            return size() > verifiedCacheSize;
+        }
+    };
+
+    @Autowired
+    public JwtService(MeterRegistry meterRegistry,
+                      @Value("${security.jwt.secret}") String jwtSecret,
+                      @Value("${security.jwt.issuer:command-centre}") String jwtIssuer,
+                      @Value("${security.jwt.user-ttl-seconds:604800}") long userTtlSeconds,
+                      @Value("${security.jwt.bot-ttl-seconds:31536000}") long botTtlSeconds,
+                      @Value("${security.jwt.verified-cache-size:10000}") int verifiedCacheSize) {
+        this(meterRegistry, jwtSecret, jwtIssuer, userTtlSeconds, botTtlSeconds, verifiedCacheSize, Clock.systemUTC());
+    }
+
+    /** {@code clock} dates issued tokens and decides when verified and cached tokens expire. */
+    JwtService(MeterRegistry meterRegistry, String jwtSecret, String jwtIssuer, long userTtlSeconds,
+               long botTtlSeconds, int verifiedCacheSize, Clock clock) {
+        this.clock = clock;
+        this.jwtIssuer = jwtIssuer;
+        this.userTtlSeconds = userTtlSeconds;
+        this.botTtlSeconds = botTtlSeconds;
+        // Without a secret the application still starts; issuing or verifying tokens then fails.
+        this.signingKey = jwtSecret == null || jwtSecret.isBlank()
+            ? null
+            : Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = signingKey == null ? null : Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .requireIssuer(jwtIssuer)
+            .setClock(() -> Date.from(clock.instant()))
+            .build();
+        this.verifiedCacheSize = verifiedCacheSize;
+        this.cacheHits = Counter.builder("security.jwt.verified.cache")
+            .tag("result", "hit")
+            .description("Tokens accepted from the verified-token cache")
+            .register(meterRegistry);
+        this.cacheMisses = Counter.builder("security.jwt.verified.cache")
+            .tag("result", "miss")
+            .description("Tokens that had to be verified")
+            .register(meterRegistry);
+    }
 
     public String generateUserToken(String subject, Collection<Role> roles) {
-        return generateToken(subject, roles, userTtlSeconds);
+        return generateToken(subject, roles, userTtlSeconds, null, null);
+    }
+
+    /** A user token recording that the subject was a member of {@code guildId}, trusted until {@code guildVerifiedUntil}. */
+    public String generateUserToken(String subject, Collection<Role> roles, String guildId, Instant guildVerifiedUntil) {
+        return generateToken(subject, roles, userTtlSeconds, guildId, guildVerifiedUntil);
     }
 
     public String generateBotToken(String subject, Collection<Role> roles) {
-        return generateToken(subject, roles, botTtlSeconds);
+        return generateToken(subject, roles, botTtlSeconds, null, null);
     }
 
+    /** @throws io.jsonwebtoken.JwtException when the token is invalid, expired or from another issuer */
     public JwtClaims parseToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .requireIssuer(jwtIssuer)
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+        if (verifiedCacheSize <= 0) {
+            return verify(token).claims();
+        }
+        String digest = digest(token);
+        long now = clock.millis();
+        synchronized (verified) {
+            Verified cached = verified.get(digest);
+            if (cached != null) {
+                if (now < cached.expiresAtMillis()) {
+                    cacheHits.increment();
+                    return cached.claims();
+                }
+                verified.remove(digest);
+            }
+        }
+        cacheMisses.increment();
+        Verified result = verify(token);
+        // Tokens without exp are accepted but not cached, so a cached entry never outlives its token.
+        if (result.expiresAtMillis() > now) {
+            synchronized (verified) {
+                verified.put(digest, result);
+            }
+        }
+        return result.claims();
+    }
+
+    private Verified verify(String token) {
+        Claims claims = requireConfigured(parser).parseClaimsJws(token).getBody();
 
         List<String> roles = claims.get(ROLES_CLAIM, List.class);
         if (roles == null) {
             roles = List.of();
         }
-        return new JwtClaims(claims.getSubject(), roles);
+        Date expiration = claims.getExpiration();
+        Object guildExpiration = claims.get(GUILD_EXPIRATION_CLAIM);
+        JwtClaims result = new JwtClaims(claims.getSubject(), List.copyOf(roles), claims.get(GUILD_CLAIM, String.class),
+            guildExpiration instanceof Number seconds ? Instant.ofEpochSecond(seconds.longValue()) : null);
+        return new Verified(result, expiration != null ? expiration.getTime() : 0L);
     }
 
-    private String generateToken(String subject, Collection<Role> roles, long ttlSeconds) {
-        Instant now = Instant.now();
-        return Jwts.builder()
+    private String generateToken(String subject, Collection<Role> roles, long ttlSeconds,
+                                 String guildId, Instant guildVerifiedUntil) {
+        Instant now = clock.instant();
+        JwtBuilder builder = Jwts.builder()
             .setIssuer(jwtIssuer)
             .setSubject(subject)
             .claim(ROLES_CLAIM, roles.stream().map(Role::name).toList())
             .setIssuedAt(Date.from(now))
-            .setExpiration(Date.from(now.plusSeconds(ttlSeconds)))
-            .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+            .setExpiration(Date.from(now.plusSeconds(ttlSeconds)));
+        if (guildId != null && guildVerifiedUntil != null) {
+            builder.claim(GUILD_CLAIM, guildId)
+                .claim(GUILD_EXPIRATION_CLAIM, guildVerifiedUntil.getEpochSecond());
+        }
+        return builder
+            .signWith(requireConfigured(signingKey), SignatureAlgorithm.HS256)
             .compact();
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    private static <T> T requireConfigured(T keyMaterial) {
+        if (keyMaterial == null) {
+            throw new IllegalStateException("security.jwt.secret is not set");
+        }
+        return keyMaterial;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,188 @@
+package com.ibrasoft.commandcentre.security;
+
+import io.jsonwebtoken.io.Decoders;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Keeps the pending OAuth2 authorization request in a short-lived cookie instead of the HTTP
+ * session, so the redirect to Discord and its callback may be served by different instances
+ * ({@link GuildVerificationMode#TOKEN}).
+ *
+ * <p>The cookie holds the serialized request and its expiry, HMAC-SHA256 signed with
+ * {@code security.jwt.secret}; it is only deserialized once the signature checks out, and then
+ * only into the classes an authorization request is made of.
+ */
+@Component
+@Slf4j
+public class SignedCookieAuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    static final String COOKIE_NAME = "oauth2_authorization_request";
+    static final Duration MAX_AGE = Duration.ofMinutes(5);
+    // Keeps these signatures apart from the JWTs signed with the same secret.
+    private static final byte[] SIGNATURE_CONTEXT = "oauth2-authorization-request".getBytes(StandardCharsets.US_ASCII);
+    // A leaked secret must not turn the cookie into a deserialization gadget: allow only what an
+    // OAuth2AuthorizationRequest serializes to (its own types, strings, and the JDK collections
+    // behind its scopes, parameters and attributes).
+    static final ObjectInputFilter ALLOWED_CLASSES = ObjectInputFilter.Config.createFilter(
+        "maxdepth=10;maxrefs=1000;"
+            + "org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;"
+            + "org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationResponseType;"
+            + "org.springframework.security.oauth2.core.AuthorizationGrantType;"
+            + "java.lang.String;"
+            + "java.util.Collections$UnmodifiableCollection;java.util.Collections$UnmodifiableSet;"
+            + "java.util.Collections$UnmodifiableMap;java.util.Collections$EmptySet;java.util.Collections$EmptyMap;"
+            + "java.util.HashSet;java.util.LinkedHashSet;java.util.HashMap;java.util.LinkedHashMap;"
+            + "!*");
+
+    private final SecretKeySpec key;
+    private final Clock clock;
+
+    @Autowired
+    public SignedCookieAuthorizationRequestRepository(@Value("${security.jwt.secret}") String jwtSecret) {
+        this(jwtSecret, Clock.systemUTC());
+    }
+
+    SignedCookieAuthorizationRequestRepository(String jwtSecret, Clock clock) {
+        this.key = jwtSecret == null || jwtSecret.isBlank()
+            ? null
+            : new SecretKeySpec(Decoders.BASE64.decode(jwtSecret), "HmacSHA256");
+        this.clock = clock;
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String value = cookieValue(request);
+        if (value == null) {
+            return null;
+        }
+        try {
+            int separator = value.indexOf('.');
+            if (separator < 0) {
+                return null;
+            }
+            byte[] payload = Base64.getUrlDecoder().decode(value.substring(0, separator));
+            byte[] signature = Base64.getUrlDecoder().decode(value.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                log.warn("Ignoring OAuth2 authorization request cookie with an invalid signature");
+                return null;
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+                if (clock.millis() > in.readLong()) {
+                    return null;
+                }
+                ObjectInputStream objects = new ObjectInputStream(in);
+                objects.setObjectInputFilter(ALLOWED_CLASSES);
+                return (OAuth2AuthorizationRequest) objects.readObject();
+            }
+        } catch (IllegalArgumentException | IOException | ClassNotFoundException | ClassCastException e) {
+            log.warn("Ignoring unreadable OAuth2 authorization request cookie: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            clear(request, response);
+            return;
+        }
+        setCookie(request, response, encode(authorizationRequest), MAX_AGE);
+    }
+
+    /** Signed cookie value carrying {@code value} until {@link #MAX_AGE} from now. */
+    String encode(Object value) {
+        byte[] payload;
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(clock.millis() + MAX_AGE.toMillis());
+            ObjectOutputStream objects = new ObjectOutputStream(out);
+            objects.writeObject(value);
+            objects.flush();
+            payload = bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize the OAuth2 authorization request", e);
+        }
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request, HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        if (cookieValue(request) != null) {
+            clear(request, response);
+        }
+        return authorizationRequest;
+    }
+
+    private byte[] sign(byte[] payload) {
+        if (key == null) {
+            throw new IllegalStateException("security.jwt.secret is not set");
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            mac.update(SIGNATURE_CONTEXT);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static String cookieValue(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static void clear(HttpServletRequest request, HttpServletResponse response) {
+        setCookie(request, response, "", Duration.ZERO);
+    }
+
+    // Lax, so the cookie still comes along on Discord's top-level redirect back to the callback.
+    private static void setCookie(HttpServletRequest request, HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+            .path("/")
+            .httpOnly(true)
+            .secure(request.isSecure())
+            .sameSite("Lax")
+            .maxAge(maxAge)
+            .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
@@ -1,15 +1,28 @@
 package com.ibrasoft.commandcentre.service;
 
+import com.ibrasoft.commandcentre.archive.AuditSegmentStore;
 import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.audit.AuditEntry;
 import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.auditstore.AuditEventStore;
+import com.ibrasoft.commandcentre.auditstore.AuditEventWriter;
+import com.ibrasoft.commandcentre.model.AuditCursor;
+import com.ibrasoft.commandcentre.model.AuditDailyCount;
 import com.ibrasoft.commandcentre.model.AuditEvent;
-import com.ibrasoft.commandcentre.repository.AuditEventRepository;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import com.ibrasoft.commandcentre.model.CursorPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -18,30 +31,113 @@ public class AuditEventService {
 
     static final String REQUEST_ENTITY_TYPE = "Request";
 
-    private final AuditEventRepository auditEventRepository;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final int MAX_ACTIVITY_DAYS = 366;
 
-    public List<AuditEvent> getAllAuditEvents() {
-        return auditEventRepository.findAllByOrderByEventTimestampDescIdDesc();
+    private final AuditEventStore auditEventStore;
+    private final AuditSegmentStore auditSegmentStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * One newest-first keyset page of audit events matching {@code filter}, starting after
+     * {@code after} (or from the newest when null). {@code limit} is clamped to {@link #MAX_PAGE_SIZE}.
+     * With {@code includeArchived} the page continues into archived segments once the table runs out.
+     */
+    public CursorPage<AuditEvent> getAuditEventPage(AuditEventFilter filter, AuditCursor after, Integer limit,
+                                                    boolean includeArchived) {
+        int pageSize = pageSize(limit);
+        // One extra row tells us whether another page exists without a COUNT query.
+        List<AuditEvent> rows = auditEventStore.findPage(filter, after, pageSize + 1);
+        if (includeArchived && rows.size() <= pageSize) {
+            rows = withArchived(rows, auditSegmentStore.find(filter, after, pageSize + 1), pageSize + 1);
+        }
+        return page(rows, pageSize);
     }
 
-    public Optional<AuditEvent> getAuditEventById(Long id) {
-        return auditEventRepository.findById(id);
+    /**
+     * Audit events whose structured metadata has {@code path = value}, paged like
+     * {@link #getAuditEventPage}. {@code path} joins nested keys with dots and matches any element
+     * of an array, so {@code assigneeIds = 123} finds {@code {"assigneeIds":["123","456"]}}.
+     * Archived events are not searched.
+     */
+    public CursorPage<AuditEvent> getAuditEventPageByMetadata(String path, String value, AuditCursor after,
+                                                              Integer limit) {
+        int pageSize = pageSize(limit);
+        return page(auditEventStore.findByMetadata(path, value, after, pageSize + 1), pageSize);
     }
 
-    public List<AuditEvent> getAuditEventsByEntityTypeAndId(String entityType, Long entityId) {
-        return auditEventRepository.findByEntityTypeAndEntityIdOrderByEventTimestampDescIdDesc(entityType, entityId);
+    /**
+     * Events per day per event type per actor from {@code from} to {@code to} inclusive (at most
+     * {@link #MAX_ACTIVITY_DAYS} days), optionally for one event type or actor, read from the
+     * pre-aggregated daily buckets rather than from the events.
+     *
+     * @throws IllegalArgumentException when the range is reversed or too long
+     */
+    public List<AuditDailyCount> getDailyActivity(LocalDate from, LocalDate to, String eventType, String actor) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_ACTIVITY_DAYS) {
+            throw new IllegalArgumentException("Range is limited to " + MAX_ACTIVITY_DAYS + " days");
+        }
+        return auditEventStore.findDailyCounts(from, to, eventType, actor);
     }
 
-    public List<AuditEvent> getAuditEventsByEventType(String eventType) {
-        return auditEventRepository.findByEventTypeOrderByEventTimestampDescIdDesc(eventType);
+    /** Recomputes the daily activity buckets of past days from the stored events; see {@link AuditEventStore#rebuildDailyCounts()}. */
+    public int rebuildDailyActivity() {
+        return auditEventStore.rebuildDailyCounts();
     }
 
-    public List<AuditEvent> getAuditEventsByPerformedBy(String performedBy) {
-        return auditEventRepository.findByPerformedByOrderByEventTimestampDescIdDesc(performedBy);
+    private static int pageSize(Integer limit) {
+        return limit == null || limit < 1 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
     }
 
-    public List<AuditEvent> getAuditEventsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return auditEventRepository.findByEventTimestampBetweenOrderByEventTimestampDescIdDesc(start, end);
+    private static CursorPage<AuditEvent> page(List<AuditEvent> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<AuditEvent> page = rows.subList(0, pageSize);
+        return new CursorPage<>(page, AuditCursor.after(page.get(pageSize - 1)).encode());
+    }
+
+    public Optional<AuditEvent> getAuditEventById(Long id, boolean includeArchived) {
+        Optional<AuditEvent> event = auditEventStore.findById(id);
+        return event.isEmpty() && includeArchived ? auditSegmentStore.findById(id) : event;
+    }
+
+    // Archived events are older than the table's, but a batch interrupted between writing its
+    // segment and deleting its rows can briefly be in both, so merge by position and drop repeats.
+    private static List<AuditEvent> withArchived(List<AuditEvent> rows, List<AuditEvent> archived, int limit) {
+        Map<Long, AuditEvent> byId = new LinkedHashMap<>();
+        rows.forEach(event -> byId.put(event.getId(), event));
+        archived.forEach(event -> byId.putIfAbsent(event.getId(), event));
+        List<AuditEvent> merged = new ArrayList<>(byId.values());
+        merged.sort(AuditSegmentStore.NEWEST_FIRST);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    /**
+     * Why {@code entityType} or {@code eventDetails} would not fit their columns, or null when
+     * both do. Checked before events are queued, since an asynchronous write could no longer
+     * report the error to the caller.
+     */
+    public static String fieldLengthError(String entityType, String eventDetails) {
+        if (entityType != null && entityType.length() > AuditEvent.MAX_ENTITY_TYPE_LENGTH) {
+            return "entityType is longer than " + AuditEvent.MAX_ENTITY_TYPE_LENGTH + " characters";
+        }
+        if (eventDetails != null && eventDetails.length() > AuditEvent.MAX_EVENT_DETAILS_LENGTH) {
+            return "eventDetails is longer than " + AuditEvent.MAX_EVENT_DETAILS_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static void checkFieldLengths(String entityType, String eventDetails) {
+        String error = fieldLengthError(entityType, eventDetails);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
     }
 
     /** Convenience overload for Request lifecycle events (no structured metadata). */
@@ -50,9 +146,19 @@ public class AuditEventService {
         return logEvent(eventType, REQUEST_ENTITY_TYPE, channelId, eventDetails, null, actor);
     }
 
+    /** Request lifecycle event with structured metadata, e.g. {@link com.ibrasoft.commandcentre.audit.AuditMetadata#statusChange}. */
+    @Transactional
+    public AuditEvent logRequestEvent(AuditEventType eventType, Long channelId, String eventDetails,
+                                      String metadataJson, Actor actor) {
+        return logEvent(eventType, REQUEST_ENTITY_TYPE, channelId, eventDetails, metadataJson, actor);
+    }
+
     /**
      * Persist an audit event for any entity type, with an optional structured JSON {@code metadata}
      * payload alongside the human-readable {@code eventDetails} summary.
+     *
+     * <p>With the {@code jpa} store and an asynchronous {@code app.audit.write-mode} the event is
+     * handed to {@link AuditEventWriter} instead and the returned event has no id.
      */
     @Transactional
     public AuditEvent logEvent(AuditEventType eventType, String entityType, Long entityId,
@@ -63,13 +169,51 @@ public class AuditEventService {
         if (actor == null) {
             throw new IllegalArgumentException("actor is required for audit logging");
         }
+        checkFieldLengths(entityType, eventDetails);
         AuditEvent auditEvent = new AuditEvent();
-        auditEvent.setEventType(eventType.name());
+        auditEvent.applyEventType(eventType);
         auditEvent.setEntityType(entityType != null && !entityType.isBlank() ? entityType : REQUEST_ENTITY_TYPE);
         auditEvent.setEntityId(entityId);
         auditEvent.setEventDetails(eventDetails);
         auditEvent.setMetadata(metadataJson);
-        auditEvent.setPerformedBy(actor.format());
-        return auditEventRepository.save(auditEvent);
+        auditEvent.applyActor(actor);
+        AuditEvent saved = auditEventStore.append(auditEvent);
+        eventPublisher.publishEvent(new AuditEventsRecordedEvent(List.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Persist several audit events performed by the same {@code actor} in one append: a JDBC batch
+     * in the caller's transaction with the {@code jpa} store (or through {@link AuditEventWriter} in
+     * an asynchronous write mode, in which case the returned events have no ids).
+     */
+    @Transactional
+    public List<AuditEvent> logEvents(List<AuditEntry> entries, Actor actor) {
+        if (actor == null) {
+            throw new IllegalArgumentException("actor is required for audit logging");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditEvent> events = new ArrayList<>(entries.size());
+        for (AuditEntry entry : entries) {
+            if (entry.eventType() == null) {
+                throw new IllegalArgumentException("eventType is required for audit logging");
+            }
+            checkFieldLengths(entry.entityType(), entry.eventDetails());
+            AuditEvent auditEvent = new AuditEvent();
+            auditEvent.applyEventType(entry.eventType());
+            auditEvent.setEntityType(entry.entityType() != null && !entry.entityType().isBlank()
+                ? entry.entityType() : REQUEST_ENTITY_TYPE);
+            auditEvent.setEntityId(entry.entityId());
+            auditEvent.setEventDetails(entry.eventDetails());
+            auditEvent.setMetadata(entry.metadataJson());
+            auditEvent.applyActor(actor);
+            auditEvent.setEventTimestamp(now);
+            events.add(auditEvent);
+        }
+        auditEventStore.appendAll(events);
+        if (!events.isEmpty()) {
+            eventPublisher.publishEvent(new AuditEventsRecordedEvent(List.copyOf(events)));
+        }
+        return events;
     }
 }
@@ -0,0 +1,12 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.ibrasoft.commandcentre.model.AuditEvent;
+
+import java.util.List;
+
+/**
+ * Published by {@link AuditEventService} for every audit write, with the events in write order.
+ * Listen with {@code @TransactionalEventListener} to see only committed events. Batch-written
+ * events have no id.
+ */
+public record AuditEventsRecordedEvent(List<AuditEvent> events) {}
@@ -0,0 +1,95 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.ibrasoft.commandcentre.auditstore.AuditEventStore;
+import com.ibrasoft.commandcentre.export.CsvWriter;
+import com.ibrasoft.commandcentre.export.ExportFormat;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes audit events straight from the {@link AuditEventStore} to an output stream, one event at
+ * a time and optionally gzip-compressed on the fly, so months of history can be exported without
+ * holding them in memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditExportService {
+
+    private static final Object[] CSV_HEADER = {
+        "id", "eventTimestamp", "eventType", "entityType", "entityId", "performedBy",
+        "actorKind", "actorUserId", "actorBotId", "eventDetails", "metadata"
+    };
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+    private final AuditEventStore auditEventStore;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /** Streams every audit event matching {@code filter}, oldest first, to {@code out}. Does not close {@code out}. */
+    @Transactional(readOnly = true)
+    public void exportAuditEvents(AuditEventFilter filter, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        try (Stream<AuditEvent> rows = auditEventStore.stream(filter)) {
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_BYTES) : null;
+            Writer writer = new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8);
+            switch (format) {
+                case NDJSON -> writeNdjson(rows.iterator(), writer);
+                case CSV -> writeCsv(rows.iterator(), writer);
+            }
+            writer.flush();
+            if (compressed != null) {
+                compressed.finish();
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<AuditEvent> rows, Writer writer) throws IOException {
+        SequenceWriter json = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+        boolean empty = true;
+        while (rows.hasNext()) {
+            AuditEvent event = rows.next();
+            json.write(event);
+            detach(event);
+            empty = false;
+        }
+        json.flush();
+        if (!empty) {
+            writer.write('\n');
+        }
+    }
+
+    private void writeCsv(Iterator<AuditEvent> rows, Writer writer) throws IOException {
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRow(CSV_HEADER);
+        while (rows.hasNext()) {
+            AuditEvent event = rows.next();
+            csv.writeRow(
+                event.getId(), event.getEventTimestamp(), event.getEventType(), event.getEntityType(),
+                event.getEntityId(), event.getPerformedBy(), event.getActorKind(), event.getActorUserId(),
+                event.getActorBotId(), event.getEventDetails(), event.getMetadata());
+            detach(event);
+        }
+    }
+
+    // Events from the log store were never managed.
+    private void detach(AuditEvent event) {
+        if (entityManager.contains(event)) {
+            entityManager.detach(event);
+        }
+    }
+}
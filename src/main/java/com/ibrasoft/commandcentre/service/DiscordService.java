@@ -1,80 +1,125 @@
 package com.ibrasoft.commandcentre.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibrasoft.commandcentre.config.DiscordConfig;
+import com.ibrasoft.commandcentre.discord.DiscordApiClient;
+import com.ibrasoft.commandcentre.discord.DiscordRateLimitException;
 import com.ibrasoft.commandcentre.model.DiscordGuild;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Guild membership checks against Discord.
+ *
+ * <p>Membership results are cached per user in an LRU cache of {@code discord.guild-cache.max-size}
+ * entries, members for {@code discord.guild-cache.member-ttl-seconds} and non-members for the
+ * shorter {@code discord.guild-cache.non-member-ttl-seconds}, so someone who has just joined the
+ * server is let in soon. While Discord rate-limits the lookup, an expired result is used rather than
+ * denying access.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DiscordService {
-    
+
+    private static final ParameterizedTypeReference<List<DiscordGuild>> GUILD_LIST = new ParameterizedTypeReference<>() {};
+
     private final DiscordConfig discordConfig;
     private final OAuth2AuthorizedClientService authorizedClientService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    
-    private static final String DISCORD_API_BASE_URL = "https://discord.com/api/v10";
-    
+    private final DiscordApiClient discordApiClient;
+    private final long memberTtlMillis;
+    private final long nonMemberTtlMillis;
+    private final int cacheSize;
+
+    private record Membership(boolean member, long expiresAtMillis) {}
+
+    // Access-ordered, so the user checked least recently is evicted first.
+    private final Map<String, Membership> memberships = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Membership> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    public DiscordService(DiscordConfig discordConfig,
+                          OAuth2AuthorizedClientService authorizedClientService,
+                          DiscordApiClient discordApiClient,
+                          @Value("${discord.guild-cache.member-ttl-seconds:300}") long memberTtlSeconds,
+                          @Value("${discord.guild-cache.non-member-ttl-seconds:30}") long nonMemberTtlSeconds,
+                          @Value("${discord.guild-cache.max-size:10000}") int cacheSize) {
+        this.discordConfig = discordConfig;
+        this.authorizedClientService = authorizedClientService;
+        this.discordApiClient = discordApiClient;
+        this.memberTtlMillis = memberTtlSeconds * 1000;
+        this.nonMemberTtlMillis = nonMemberTtlSeconds * 1000;
+        this.cacheSize = cacheSize;
+    }
+
     public boolean isUserInRequiredGuild(String username) {
+        long now = System.currentTimeMillis();
+        Membership cached;
+        synchronized (memberships) {
+            cached = memberships.get(username);
+        }
+        if (cached != null && now < cached.expiresAtMillis()) {
+            return cached.member();
+        }
+
         try {
             OAuth2AuthorizedClient client = authorizedClientService.loadAuthorizedClient(
                 "discord", username
             );
-            
+
             if (client == null) {
                 log.warn("No authorized client found for user: {}", username);
                 return false;
             }
-            
+
             OAuth2AccessToken accessToken = client.getAccessToken();
             List<DiscordGuild> guilds = getUserGuilds(accessToken.getTokenValue());
-            
+
             String requiredGuildId = discordConfig.getId();
             boolean isMember = guilds.stream()
                 .anyMatch(guild -> guild.getId().equals(requiredGuildId));
-            
+
             if (!isMember) {
                 log.warn("User {} is not a member of required guild {}", username, requiredGuildId);
             }
-            
+
+            long ttlMillis = isMember ? memberTtlMillis : nonMemberTtlMillis;
+            synchronized (memberships) {
+                memberships.put(username, new Membership(isMember, System.currentTimeMillis() + ttlMillis));
+            }
             return isMember;
-            
+
+        } catch (DiscordRateLimitException e) {
+            if (cached != null) {
+                log.warn("Discord rate limited the guild check for user {}, using the expired result", username);
+                return cached.member();
+            }
+            log.error("Discord rate limited the guild check for user {}: {}", username, e.getMessage());
+            return false;
         } catch (Exception e) {
             log.error("Error checking guild membership for user: {}", username, e);
             return false;
         }
     }
-    
+
+    /** @throws DiscordRateLimitException when Discord keeps the call rate-limited */
     public List<DiscordGuild> getUserGuilds(String accessToken) {
         try {
-            RestClient restClient = RestClient.create();
-            
-            String response = restClient.get()
-                .uri(DISCORD_API_BASE_URL + "/users/@me/guilds")
-                .header("Authorization", "Bearer " + accessToken)
-                .retrieve()
-                .onStatus(status -> status.value() == 429, (req, res) -> {
-                    log.warn("Discord API rate limit hit, returning empty guild list");
-                    throw new RuntimeException("Discord API rate limit exceeded");
-                })
-                .body(String.class);
-            
-            return objectMapper.readValue(response, new TypeReference<List<DiscordGuild>>() {});
-            
+            return discordApiClient.getAsUser("/users/@me/guilds", accessToken, GUILD_LIST);
+        } catch (DiscordRateLimitException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error fetching user guilds from Discord: {}", e.getMessage());
-            // Return empty list on error to prevent blocking access temporarily
-            // In production, you might want to handle this differently
             throw new RuntimeException("Failed to fetch Discord guilds", e);
         }
     }
@@ -0,0 +1,16 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.Request;
+
+/**
+ * Published by {@link RequestService} for every request mutation, alongside the audit event of the
+ * same {@code type}.
+ *
+ * <p>Listeners should use {@code @TransactionalEventListener} so they only observe committed
+ * changes. {@code request} is the entity that was written (null for {@code DELETE}); it is only
+ * fully up to date (timestamps, version) after the transaction has flushed, so take a copy in the
+ * listener rather than holding on to it. {@code previous} is a copy of the row as it was before
+ * the mutation, or null when the request did not exist.
+ */
+public record RequestChangedEvent(AuditEventType type, Long channelId, Request previous, Request request) {}
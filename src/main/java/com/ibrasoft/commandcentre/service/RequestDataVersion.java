@@ -0,0 +1,66 @@
+package com.ibrasoft.commandcentre.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the request data set, bumped after every committed request mutation.
+ *
+ * <p>Read endpoints derive strong ETags from it so pollers can revalidate with
+ * {@code If-None-Match} and get a {@code 304} before any repository call. The boot time is part of
+ * the tag, so tags issued before a restart never match.
+ *
+ * <p>The counter is per process and only sees this instance's writes, so it is only tracked while
+ * the in-memory request store is enabled (which already assumes a single instance). With
+ * {@code app.request-store.enabled=false} there is no version: {@link #etag} returns {@code null}
+ * and callers serve full responses.
+ */
+@Component
+public class RequestDataVersion {
+
+    private final boolean tracked;
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+
+    public RequestDataVersion(@Value("${app.request-store.enabled:true}") boolean tracked) {
+        this.tracked = tracked;
+    }
+
+    /** Whether {@link #current()} follows every write; false when other instances may write too. */
+    public boolean isTracked() {
+        return tracked;
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Quoted ETag for the current version, or {@code null} when the version is not tracked.
+     * {@code scope} adds anything else the response depends on besides the request data and the URL
+     * (e.g. the current cycle number).
+     */
+    public String etag(Object... scope) {
+        if (!tracked) {
+            return null;
+        }
+        StringBuilder tag = new StringBuilder("\"r").append(epoch).append('-').append(version.get());
+        for (Object part : scope) {
+            tag.append('-').append(part);
+        }
+        return tag.append('"').toString();
+    }
+
+    // Ordered after the in-memory store's listener, so a client can never receive the new tag
+    // together with the old data.
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,245 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.Request;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed request changes out to Server-Sent Events subscribers
+ * ({@code GET /api/requests/stream}).
+ *
+ * <p>Each subscriber has a bounded queue drained on its own virtual thread, so one slow client
+ * never delays the others; a subscriber whose queue overflows is disconnected and is expected to
+ * reconnect with {@code Last-Event-ID}. The most recent events are kept in a replay window for
+ * those reconnects. When the requested id has already left the window (or came from a previous
+ * process), the subscriber receives a {@code reset} event and should refetch instead.
+ */
+@Service
+@Slf4j
+public class RequestEventStreamService {
+
+    public static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    // Event ids are "<epoch>-<sequence>", so ids from before a restart are recognisably stale.
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Deque<Frame> replay = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RequestEventStreamService(ObjectMapper objectMapper,
+                                     @Value("${app.request-stream.buffer-size:256}") int bufferSize,
+                                     @Value("${app.request-stream.replay-size:1000}") int replaySize,
+                                     @Value("${app.request-stream.max-subscribers:1000}") int maxSubscribers,
+                                     @Value("${app.request-stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /** JSON payload of a change event. {@code request} is null for deletions. */
+    public record RequestStreamEvent(String type, AuditEventType auditEventType, Long channelId, Request request) {}
+
+    private record Frame(long sequence, String id, String name, String data) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment(data);
+            }
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+            return id != null ? event.id(id) : event;
+        }
+    }
+
+    /**
+     * Registers a new subscriber, replaying anything after {@code lastEventId} first.
+     *
+     * @return the emitter, or null when the subscriber limit has been reached
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // Holding the replay lock keeps publish() from slipping an event in between the replay and
+        // the registration.
+        synchronized (replay) {
+            List<Frame> backlog = backlogAfter(lastEventId);
+            if (backlog == null || backlog.size() >= bufferSize) {
+                subscriber.enqueue(new Frame(-1, null, RESET_EVENT, "{}"));
+            } else {
+                backlog.forEach(subscriber::enqueue);
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    /** Overridden by tests to observe what a subscriber is sent. */
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent change) {
+        Request request = change.request() != null ? change.request().toBuilder().build() : null;
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(
+                new RequestStreamEvent(streamType(change.type()), change.type(), change.channelId(), request));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize request change for channel {}", change.channelId(), e);
+            return;
+        }
+
+        synchronized (replay) {
+            long seq = sequence.incrementAndGet();
+            Frame frame = new Frame(seq, epoch + "-" + seq, streamType(change.type()), data);
+            replay.addLast(frame);
+            while (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.enqueue(frame));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.request-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Frame frame = new Frame(-1, null, null, "heartbeat");
+        subscribers.forEach(subscriber -> subscriber.enqueue(frame));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /** Frames after {@code lastEventId}; null when they can no longer be replayed. Call holding the replay lock. */
+    private List<Frame> backlogAfter(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        int separator = lastEventId.indexOf('-');
+        long lastSeq;
+        try {
+            if (separator < 0 || Long.parseLong(lastEventId.substring(0, separator)) != epoch) {
+                return null;
+            }
+            lastSeq = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (lastSeq > sequence.get()) {
+            return null;
+        }
+        long oldestReplayable = replay.isEmpty() ? sequence.get() + 1 : replay.peekFirst().sequence();
+        if (lastSeq + 1 < oldestReplayable) {
+            return null;
+        }
+        return replay.stream().filter(frame -> frame.sequence() > lastSeq).toList();
+    }
+
+    private static String streamType(AuditEventType type) {
+        return switch (type) {
+            case CREATE -> "create";
+            case DELETE -> "delete";
+            case ASSIGN, UNASSIGN -> "assign";
+            case STATUS_CHANGE, STATUS_ADVANCE -> "status";
+            default -> "update";
+        };
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Frame> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Frame frame) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                log.debug("Disconnecting slow request stream subscriber ({} events buffered)", queue.size());
+                close();
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while (!closed && (frame = queue.poll()) != null) {
+                    emitter.send(frame.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's completion callback cleans up.
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.ibrasoft.commandcentre.export.CsvWriter;
+import com.ibrasoft.commandcentre.export.ExportFormat;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes request history straight from a database cursor to an output stream, one row at a time,
+ * so memory use does not depend on how many rows are exported.
+ */
+@Service
+@RequiredArgsConstructor
+public class RequestExportService {
+
+    private static final Object[] CSV_HEADER = {
+        "channelID", "requesterID", "requesterDepartmentID", "assignedToID", "additionalAssigneeID",
+        "mainMessageID", "title", "description", "requestType", "status", "postingDate",
+        "createdAt", "updatedAt", "room", "signupUrl"
+    };
+
+    private final RequestRepository requestRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /** Streams every request matching {@code filter} to {@code out}. Does not close {@code out}. */
+    @Transactional(readOnly = true)
+    public void exportRequests(RequestFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Request> rows = requestRepository.streamAll(filter)) {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            switch (format) {
+                case NDJSON -> writeNdjson(rows.iterator(), writer);
+                case CSV -> writeCsv(rows.iterator(), writer);
+            }
+            writer.flush();
+        }
+    }
+
+    private void writeNdjson(Iterator<Request> rows, Writer writer) throws IOException {
+        SequenceWriter json = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+        boolean empty = true;
+        while (rows.hasNext()) {
+            Request request = rows.next();
+            json.write(request);
+            entityManager.detach(request);
+            empty = false;
+        }
+        json.flush();
+        if (!empty) {
+            writer.write('\n');
+        }
+    }
+
+    private void writeCsv(Iterator<Request> rows, Writer writer) throws IOException {
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRow(CSV_HEADER);
+        while (rows.hasNext()) {
+            Request request = rows.next();
+            csv.writeRow(
+                request.getChannelID(), request.getRequesterID(), request.getRequesterDepartmentID(),
+                request.getAssignedToID(), request.getAdditionalAssigneeID(), request.getMainMessageID(),
+                request.getTitle(), request.getDescription(), request.getRequestType(), request.getStatus(),
+                request.getPostingDate(), request.getCreatedAt(), request.getUpdatedAt(),
+                request.getRoom(), request.getSignupUrl());
+            entityManager.detach(request);
+        }
+    }
+}
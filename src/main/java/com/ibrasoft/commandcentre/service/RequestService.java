@@ -1,62 +1,147 @@
 package com.ibrasoft.commandcentre.service;
 
 import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.audit.AuditEntry;
 import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.audit.AuditMetadata;
+import com.ibrasoft.commandcentre.model.CursorPage;
 import com.ibrasoft.commandcentre.model.DepartmentCount;
 import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestBatchGetResult;
+import com.ibrasoft.commandcentre.model.RequestBatchOperation;
+import com.ibrasoft.commandcentre.model.RequestBatchResult;
+import com.ibrasoft.commandcentre.model.RequestCursor;
+import com.ibrasoft.commandcentre.model.RequestFilter;
 import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestSummary;
 import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.readmodel.DepartmentRequestCounters;
+import com.ibrasoft.commandcentre.readmodel.RequestReadModel;
+import com.ibrasoft.commandcentre.readmodel.RequestSearch;
 import com.ibrasoft.commandcentre.repository.RequestRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class RequestService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final RequestRepository requestRepository;
+    private final RequestReadModel requestReadModel;
+    private final RequestSearch requestSearch;
+    private final DepartmentRequestCounters departmentRequestCounters;
     private final AuditEventService auditEventService;
     private final CycleService cycleService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Request> getAllRequests() {
-        return requestRepository.findAll().stream()
-            .sorted(Comparator.comparing(Request::getPostingDate,
-                Comparator.nullsLast(Comparator.naturalOrder())))
-            .collect(Collectors.toList());
+        return getRequests(RequestFilter.none());
+    }
+
+    /** Every request matching {@code filter}, ordered by posting date (undated last) then channel. */
+    public List<Request> getRequests(RequestFilter filter) {
+        return requestReadModel.find(filter, null, Pageable.unpaged());
+    }
+
+    /** {@link #getRequests} as {@link RequestSummary} rows. */
+    public List<RequestSummary> getRequestSummaries(RequestFilter filter) {
+        return requestReadModel.findSummaries(filter, null, Pageable.unpaged());
+    }
+
+    /**
+     * One keyset page of requests matching {@code filter}, starting after {@code after} (or from
+     * the beginning when null). {@code limit} is clamped to {@link #MAX_PAGE_SIZE}.
+     */
+    public CursorPage<Request> getRequestPage(RequestFilter filter, RequestCursor after, Integer limit) {
+        int pageSize = pageSize(limit);
+        return toPage(requestReadModel.find(filter, after, PageRequest.ofSize(pageSize + 1)), pageSize, RequestCursor::after);
+    }
+
+    /** {@link #getRequestPage} as {@link RequestSummary} rows. */
+    public CursorPage<RequestSummary> getRequestSummaryPage(RequestFilter filter, RequestCursor after, Integer limit) {
+        int pageSize = pageSize(limit);
+        return toPage(requestReadModel.findSummaries(filter, after, PageRequest.ofSize(pageSize + 1)), pageSize, RequestCursor::after);
+    }
+
+    /**
+     * Ranked keyword search over titles and descriptions, best match first. {@code offset} is the
+     * number of hits to skip; {@code limit} is clamped like a listing page size.
+     */
+    public RequestSearch.SearchResult searchRequests(String query, int offset, Integer limit) {
+        return requestSearch.search(query, Math.max(offset, 0), pageSize(limit));
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null || limit < 1 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Rows are fetched with one extra to learn whether another page exists without a COUNT query.
+    private static <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, RequestCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return new CursorPage<>(page, cursorOf.apply(page.get(pageSize - 1)).encode());
     }
 
     public Optional<Request> getRequestByChannelId(Long channelId) {
-        return requestRepository.findById(channelId);
+        return requestReadModel.findById(channelId);
     }
 
     public List<Request> getRequestsByStatus(RequestStatus status) {
-        return requestRepository.findByStatus(status);
+        return requestReadModel.findByStatus(status);
     }
 
     public List<Request> getRequestsByRequester(Long requesterID) {
-        return requestRepository.findByRequesterID(requesterID);
+        return requestReadModel.findByRequester(requesterID);
     }
 
     public List<Request> getRequestsByAssignedTo(Long assignedToID) {
-        return requestRepository.findByAssignedToID(assignedToID);
+        return requestReadModel.findByAssignee(assignedToID);
     }
 
+    /**
+     * Inserts a new request. A request for a channel that already has one is rejected with a
+     * {@link DuplicateKeyException}; a concurrent insert of the same channel fails on the primary
+     * key at commit with a {@link org.springframework.dao.DataIntegrityViolationException}.
+     */
     @Transactional
     public Request createRequest(Request request, Actor actor) {
         if (request.getRequesterID() == null && actor.kind() == Actor.Kind.USER) {
             request.setRequesterID(actor.discordUserId());
         }
+        if (requestRepository.existsById(request.getChannelID())) {
+            throw new DuplicateKeyException("A request already exists for channelId: " + request.getChannelID());
+        }
+        // A null version makes save() persist instead of merging over an existing row.
+        request.setVersion(null);
 
         Request savedRequest = requestRepository.save(request);
         auditEventService.logRequestEvent(AuditEventType.CREATE, savedRequest.getChannelID(),
-            "Request created: " + savedRequest.getTitle(), actor);
+            "Request created: " + savedRequest.getTitle(),
+            AuditMetadata.statusChange(null, savedRequest.getStatus()), actor);
+        publishChange(AuditEventType.CREATE, null, savedRequest);
         return savedRequest;
     }
 
@@ -64,6 +149,11 @@ public class RequestService {
     public Request updateRequest(Long channelId, Request requestDetails, Actor actor) {
         Request request = requestRepository.findById(channelId)
             .orElseThrow(() -> new RuntimeException("Request not found with channelId: " + channelId));
+        // A client that sends the version it last saw gets a conflict instead of overwriting newer edits.
+        if (requestDetails.getVersion() != null && !requestDetails.getVersion().equals(request.getVersion())) {
+            throw conflict(channelId);
+        }
+        Request previous = request.toBuilder().build();
 
         request.setRequesterDepartmentID(requestDetails.getRequesterDepartmentID());
         request.setAssignedToID(requestDetails.getAssignedToID());
@@ -78,7 +168,12 @@ public class RequestService {
 
         Request updatedRequest = requestRepository.save(request);
         auditEventService.logRequestEvent(AuditEventType.UPDATE, updatedRequest.getChannelID(),
-            "Request updated: " + updatedRequest.getTitle(), actor);
+            "Request updated: " + updatedRequest.getTitle(),
+            previous.getStatus() != updatedRequest.getStatus()
+                ? AuditMetadata.statusChange(previous.getStatus(), updatedRequest.getStatus())
+                : null,
+            actor);
+        publishChange(AuditEventType.UPDATE, previous, updatedRequest);
         return updatedRequest;
     }
 
@@ -90,60 +185,71 @@ public class RequestService {
         auditEventService.logRequestEvent(AuditEventType.DELETE, channelId,
             "Request deleted: " + request.getTitle(), actor);
         requestRepository.deleteById(channelId);
+        eventPublisher.publishEvent(new RequestChangedEvent(
+            AuditEventType.DELETE, channelId, request.toBuilder().build(), null));
     }
 
     @Transactional
     public Request assignRequest(Long channelId, Long assignedToId, Actor actor) {
-        Request request = requestRepository.findById(channelId)
-            .orElseThrow(() -> new RuntimeException("Request not found with channelId: " + channelId));
-
-        Long previousAssignee = request.getAssignedToID();
-        request.setAssignedToID(assignedToId);
-
-        Request updatedRequest = requestRepository.save(request);
-        boolean cleared = assignedToId == null;
-        auditEventService.logRequestEvent(
-            cleared ? AuditEventType.UNASSIGN : AuditEventType.ASSIGN,
-            channelId,
-            cleared
-                ? String.format("Request unassigned (was %s)", previousAssignee)
-                : String.format("Request assigned from %s to %s", previousAssignee, assignedToId),
-            actor);
+        LocalDateTime now = LocalDateTime.now();
+        Request current = applyConditionally(channelId,
+            request -> requestRepository.updateAssignee(channelId, request.getVersion(), assignedToId, now));
+        Request updatedRequest = updated(current.toBuilder().assignedToID(assignedToId), current, now);
+
+        AuditEventType eventType = assignedToId == null ? AuditEventType.UNASSIGN : AuditEventType.ASSIGN;
+        auditEventService.logRequestEvent(eventType, channelId,
+            assignmentDetails(current.getAssignedToID(), assignedToId), actor);
+        publishChange(eventType, current, updatedRequest);
         return updatedRequest;
     }
 
     @Transactional
     public Request setRequestStatus(Long channelId, RequestStatus status, Actor actor) {
-        Request request = requestRepository.findById(channelId)
-            .orElseThrow(() -> new RuntimeException("Request not found with channelId: " + channelId));
-
-        RequestStatus previousStatus = request.getStatus();
-        request.setStatus(status);
+        LocalDateTime now = LocalDateTime.now();
+        Request current = applyConditionally(channelId,
+            request -> requestRepository.updateStatus(channelId, request.getVersion(), status, now));
+        Request updatedRequest = updated(current.toBuilder().status(status), current, now);
 
-        Request updatedRequest = requestRepository.save(request);
         auditEventService.logRequestEvent(AuditEventType.STATUS_CHANGE, channelId,
-            String.format("Status changed from %s to %s", previousStatus.getDisplayName(), status.getDisplayName()), actor);
+            statusChangeDetails(current.getStatus(), status), AuditMetadata.statusChange(current.getStatus(), status), actor);
+        publishChange(AuditEventType.STATUS_CHANGE, current, updatedRequest);
         return updatedRequest;
     }
 
     @Transactional
     public Request advanceRequestToNextStatus(Long channelId, Actor actor) {
-        Request request = requestRepository.findById(channelId)
-            .orElseThrow(() -> new RuntimeException("Request not found with channelId: " + channelId));
+        LocalDateTime now = LocalDateTime.now();
+        Request current = requestReadModel.findById(channelId).orElseGet(() -> reread(channelId));
+        RequestStatus currentStatus = current.getStatus();
+        RequestStatus nextStatus = nextStatus(currentStatus);
+        // Conditioned on the status alone, so edits of other fields do not make the advance fail;
+        // a miss means the request was advanced or deleted since it was read.
+        if (requestRepository.transitionStatus(channelId, currentStatus, nextStatus, now) == 0) {
+            throw conflict(channelId);
+        }
+        // The row is locked by the update, so this read is exactly the state it wrote.
+        Request updatedRequest = reread(channelId);
+        Request previous = updatedRequest.toBuilder()
+            .status(currentStatus)
+            .updatedAt(current.getUpdatedAt())
+            .version(updatedRequest.getVersion() - 1)
+            .build();
 
-        RequestStatus currentStatus = request.getStatus();
+        auditEventService.logRequestEvent(AuditEventType.STATUS_ADVANCE, channelId,
+            String.format("Status advanced from %s to %s", currentStatus.getDisplayName(), nextStatus.getDisplayName()),
+            AuditMetadata.statusChange(currentStatus, nextStatus), actor);
+        publishChange(AuditEventType.STATUS_ADVANCE, previous, updatedRequest);
+        return updatedRequest;
+    }
 
-        RequestStatus nextStatus;
+    private static RequestStatus nextStatus(RequestStatus currentStatus) {
         switch (currentStatus) {
             case IN_QUEUE:
-                nextStatus = RequestStatus.IN_PROGRESS;
-                break;
+                return RequestStatus.IN_PROGRESS;
             case IN_PROGRESS:
-                nextStatus = RequestStatus.AWAITING_POSTING;
-                break;
+                return RequestStatus.AWAITING_POSTING;
             case AWAITING_POSTING:
-                nextStatus = RequestStatus.DONE;
-                break;
+                return RequestStatus.DONE;
             case DONE:
                 throw new IllegalStateException("Request is already in DONE state and cannot be advanced further");
             case BLOCKED:
@@ -151,81 +257,240 @@ public class RequestService {
             default:
                 throw new IllegalStateException("Unknown status: " + currentStatus);
         }
-
-        request.setStatus(nextStatus);
-        Request updatedRequest = requestRepository.save(request);
-        auditEventService.logRequestEvent(AuditEventType.STATUS_ADVANCE, channelId,
-            String.format("Status advanced from %s to %s", currentStatus.getDisplayName(), nextStatus.getDisplayName()), actor);
-        return updatedRequest;
     }
 
     @Transactional
     public Request updateRequesterDepartment(Long channelId, Long requesterDepartmentID, Actor actor) {
-        Request request = requestRepository.findById(channelId)
-            .orElseThrow(() -> new RuntimeException("Request not found with channelId: " + channelId));
+        LocalDateTime now = LocalDateTime.now();
+        Request current = applyConditionally(channelId, request ->
+            requestRepository.updateRequesterDepartment(channelId, request.getVersion(), requesterDepartmentID, now));
+        Request updatedRequest = updated(current.toBuilder().requesterDepartmentID(requesterDepartmentID), current, now);
 
-        Long previousDepartment = request.getRequesterDepartmentID();
-        request.setRequesterDepartmentID(requesterDepartmentID);
-
-        Request updatedRequest = requestRepository.save(request);
         auditEventService.logRequestEvent(AuditEventType.DEPARTMENT_UPDATE, channelId,
-            String.format("Requester department changed from %s to %s", previousDepartment, requesterDepartmentID), actor);
+            departmentChangeDetails(current.getRequesterDepartmentID(), requesterDepartmentID), actor);
+        publishChange(AuditEventType.DEPARTMENT_UPDATE, current, updatedRequest);
         return updatedRequest;
     }
 
     @Transactional
     public Request updateRequester(Long channelId, Long requesterID, Actor actor) {
-        Request request = requestRepository.findById(channelId)
-            .orElseThrow(() -> new RuntimeException("Request not found with channelId: " + channelId));
-
-        Long previousRequester = request.getRequesterID();
-        request.setRequesterID(requesterID);
+        LocalDateTime now = LocalDateTime.now();
+        Request current = applyConditionally(channelId,
+            request -> requestRepository.updateRequester(channelId, request.getVersion(), requesterID, now));
+        Request updatedRequest = updated(current.toBuilder().requesterID(requesterID), current, now);
 
-        Request updatedRequest = requestRepository.save(request);
         auditEventService.logRequestEvent(AuditEventType.REQUESTER_UPDATE, channelId,
-            String.format("Requester changed from %s to %s", previousRequester, requesterID), actor);
+            String.format("Requester changed from %s to %s", current.getRequesterID(), requesterID), actor);
+        publishChange(AuditEventType.REQUESTER_UPDATE, current, updatedRequest);
         return updatedRequest;
     }
 
+    /** A conditional single-statement update of one request, returning the number of rows changed. */
+    @FunctionalInterface
+    private interface ConditionalUpdate {
+        int apply(Request current);
+    }
+
+    /**
+     * Runs {@code update} for the single-field mutations above against a snapshot of the request
+     * from the read model, so the write is usually the only statement sent to the database. The
+     * read model can lag behind a concurrent commit; when the update matches no row it is retried
+     * once against the row re-read from the database, and only a second miss is a conflict.
+     * Returns the snapshot the successful update was based on.
+     */
+    private Request applyConditionally(Long channelId, ConditionalUpdate update) {
+        Request current = requestReadModel.findById(channelId)
+            .map(request -> request.toBuilder().build())
+            .orElseGet(() -> reread(channelId));
+        if (update.apply(current) > 0) {
+            return current;
+        }
+        Request latest = reread(channelId);
+        if (update.apply(latest) > 0) {
+            return latest;
+        }
+        throw conflict(channelId);
+    }
+
+    private Request reread(Long channelId) {
+        return requestRepository.findById(channelId)
+            .map(request -> request.toBuilder().build())
+            .orElseThrow(() -> new RuntimeException("Request not found with channelId: " + channelId));
+    }
+
+    /** The state the conditional update just wrote, built locally instead of re-reading the row. */
+    private static Request updated(Request.RequestBuilder changed, Request current, LocalDateTime now) {
+        return changed.updatedAt(now).version(current.getVersion() + 1).build();
+    }
+
+    private static OptimisticLockingFailureException conflict(Long channelId) {
+        return new OptimisticLockingFailureException("Request " + channelId + " was modified concurrently");
+    }
+
+    /** Requests with the given ids in the order asked for (duplicates dropped), plus the ids that do not exist. */
+    public RequestBatchGetResult getRequestsByChannelIds(List<Long> channelIds) {
+        Set<Long> wanted = new LinkedHashSet<>(channelIds);
+        wanted.remove(null);
+        Map<Long, Request> found = new HashMap<>();
+        requestReadModel.findAllById(wanted).forEach(request -> found.put(request.getChannelID(), request));
+
+        List<Request> requests = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long channelId : wanted) {
+            Request request = found.get(channelId);
+            if (request != null) {
+                requests.add(request);
+            } else {
+                missing.add(channelId);
+            }
+        }
+        return new RequestBatchGetResult(requests, missing);
+    }
+
+    /**
+     * Applies assign/status/department operations in one transaction. The affected requests are
+     * loaded with a single {@code IN} query, the updates are flushed together once every operation
+     * has been applied (batched by Hibernate when {@code hibernate.jdbc.batch_size} is set) and the
+     * audit events go out as one JDBC batch. Invalid items are reported in their result and
+     * skipped; they do not roll back the others. A concurrent edit to any affected request fails
+     * the whole batch with an {@link OptimisticLockingFailureException}.
+     *
+     * <p>Each result and change event carries a copy of the request as that operation left it, so
+     * several operations on one request report (and publish) each intermediate state in turn.
+     */
     @Transactional
+    public List<RequestBatchResult> applyBatch(List<RequestBatchOperation> operations, Actor actor) {
+        Set<Long> channelIds = new HashSet<>();
+        operations.forEach(operation -> channelIds.add(operation.channelId()));
+        channelIds.remove(null);
+        Map<Long, Request> requests = new HashMap<>();
+        requestRepository.findAllById(channelIds).forEach(request -> requests.put(request.getChannelID(), request));
+
+        List<RequestBatchResult> results = new ArrayList<>(operations.size());
+        List<AuditEntry> auditEntries = new ArrayList<>();
+        List<RequestChangedEvent> changes = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            RequestBatchOperation operation = operations.get(i);
+            Request request = operation.channelId() != null ? requests.get(operation.channelId()) : null;
+            if (request == null) {
+                results.add(RequestBatchResult.failed(i, operation, 404,
+                    "Request not found with channelId: " + operation.channelId()));
+                continue;
+            }
+            String action = operation.action() != null ? operation.action().trim().toLowerCase() : "";
+
+            Request previous = request.toBuilder().build();
+            AuditEventType eventType;
+            String details;
+            String metadata = null;
+            switch (action) {
+                case "assign" -> {
+                    eventType = operation.assignedToId() == null ? AuditEventType.UNASSIGN : AuditEventType.ASSIGN;
+                    details = assignmentDetails(request.getAssignedToID(), operation.assignedToId());
+                    request.setAssignedToID(operation.assignedToId());
+                }
+                case "status" -> {
+                    RequestStatus status;
+                    try {
+                        status = RequestStatus.valueOf(String.valueOf(operation.status()).toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        results.add(RequestBatchResult.failed(i, operation, 400, "Invalid status: " + operation.status()));
+                        continue;
+                    }
+                    eventType = AuditEventType.STATUS_CHANGE;
+                    details = statusChangeDetails(request.getStatus(), status);
+                    metadata = AuditMetadata.statusChange(request.getStatus(), status);
+                    request.setStatus(status);
+                }
+                case "department" -> {
+                    eventType = AuditEventType.DEPARTMENT_UPDATE;
+                    details = departmentChangeDetails(request.getRequesterDepartmentID(), operation.departmentId());
+                    request.setRequesterDepartmentID(operation.departmentId());
+                }
+                default -> {
+                    results.add(RequestBatchResult.failed(i, operation, 400, "Invalid action: " + operation.action()));
+                    continue;
+                }
+            }
+            auditEntries.add(new AuditEntry(eventType, AuditEventService.REQUEST_ENTITY_TYPE,
+                request.getChannelID(), details, metadata));
+            Request current = request.toBuilder().build();
+            changes.add(new RequestChangedEvent(eventType, request.getChannelID(), previous, current));
+            results.add(RequestBatchResult.ok(i, operation, current));
+        }
+
+        // The flush bumps each changed request's version once and stamps updatedAt; the copies
+        // taken above (shared with the results) are brought up to date before they are published.
+        requestRepository.flush();
+        for (RequestChangedEvent change : changes) {
+            Request written = requests.get(change.channelId());
+            change.request().setVersion(written.getVersion());
+            change.request().setUpdatedAt(written.getUpdatedAt());
+            eventPublisher.publishEvent(change);
+        }
+        auditEventService.logEvents(auditEntries, actor);
+        return results;
+    }
+
+    private static String assignmentDetails(Long previousAssignee, Long assignedToId) {
+        return assignedToId == null
+            ? String.format("Request unassigned (was %s)", previousAssignee)
+            : String.format("Request assigned from %s to %s", previousAssignee, assignedToId);
+    }
+
+    private static String statusChangeDetails(RequestStatus from, RequestStatus to) {
+        return String.format("Status changed from %s to %s", displayName(from), displayName(to));
+    }
+
+    private static String departmentChangeDetails(Long from, Long to) {
+        return String.format("Requester department changed from %s to %s", from, to);
+    }
+
+    private static String displayName(RequestStatus status) {
+        return status != null ? status.getDisplayName() : "none";
+    }
+
+    private void publishChange(AuditEventType type, Request previous, Request request) {
+        eventPublisher.publishEvent(new RequestChangedEvent(type, request.getChannelID(), previous, request));
+    }
+
+    /** Per-department request totals with a status breakdown, from the maintained counters. */
     public List<DepartmentCount> getRequestCountsByDepartment() {
-        return requestRepository.countByDepartment();
+        return departmentRequestCounters.snapshot();
     }
 
     public List<Request> getContentCreatorWorkload() {
         CycleService.CycleInfo currentCycle = cycleService.getCurrentDevelopmentCycle();
+        return requestReadModel.findByPostingWindow(
+            RequestType.REEL, currentCycle.getPostingStart(), currentCycle.getPostingEnd());
+    }
 
-        return requestRepository.findAll().stream()
-            .filter(request -> request.getRequestType() == RequestType.REEL)
-            .filter(request -> request.getPostingDate() != null)
-            .filter(request -> isInCyclePostingPeriod(request.getPostingDate(), currentCycle))
-            .sorted(Comparator.comparing(Request::getPostingDate))
-            .collect(Collectors.toList());
+    public List<RequestSummary> getContentCreatorWorkloadSummaries() {
+        return workloadSummaries(RequestType.REEL, cycleService.getCurrentDevelopmentCycle());
     }
 
     public List<Request> getGraphicDesignerWorkload() {
         CycleService.CycleInfo currentCycle = cycleService.getCurrentDevelopmentCycle();
+        return requestReadModel.findByPostingWindow(
+            RequestType.POST, currentCycle.getPostingStart(), currentCycle.getPostingEnd());
+    }
 
-        return requestRepository.findAll().stream()
-            .filter(request -> request.getRequestType() == RequestType.POST)
-            .filter(request -> request.getPostingDate() != null)
-            .filter(request -> isInCyclePostingPeriod(request.getPostingDate(), currentCycle))
-            .sorted(Comparator.comparing(Request::getPostingDate))
-            .collect(Collectors.toList());
+    public List<RequestSummary> getGraphicDesignerWorkloadSummaries() {
+        return workloadSummaries(RequestType.POST, cycleService.getCurrentDevelopmentCycle());
     }
 
     public List<Request> getSocialMediaManagerWorkload() {
         CycleService.CycleInfo currentPostingCycle = cycleService.getCurrentPostingCycle();
+        return requestReadModel.findByPostingWindow(null,
+            currentPostingCycle.getPostingStart(), currentPostingCycle.getPostingEnd());
+    }
 
-        return requestRepository.findAll().stream()
-            .filter(request -> request.getPostingDate() != null)
-            .filter(request -> isInCyclePostingPeriod(request.getPostingDate(), currentPostingCycle))
-            .sorted(Comparator.comparing(Request::getPostingDate))
-            .collect(Collectors.toList());
+    public List<RequestSummary> getSocialMediaManagerWorkloadSummaries() {
+        return workloadSummaries(null, cycleService.getCurrentPostingCycle());
     }
 
-    private boolean isInCyclePostingPeriod(LocalDate postingDate, CycleService.CycleInfo cycle) {
-        return !postingDate.isBefore(cycle.getPostingStart())
-            && !postingDate.isAfter(cycle.getPostingEnd());
+    private List<RequestSummary> workloadSummaries(RequestType requestType, CycleService.CycleInfo cycle) {
+        RequestFilter window = new RequestFilter(null, requestType, null, null, cycle.getPostingStart(), cycle.getPostingEnd());
+        return requestReadModel.findSummaries(window, null, Pageable.unpaged());
     }
 }
@@ -0,0 +1,114 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.ibrasoft.commandcentre.model.RequestStatistics;
+import com.ibrasoft.commandcentre.model.RequestStatisticsRow;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Status by type by department by cycle request counts for dashboard pivots.
+ *
+ * <p>Computed from one grouped query and cached against {@link RequestDataVersion}, so it is
+ * recomputed at most once per committed request mutation however often it is polled. When the
+ * version is not tracked (request store disabled, other instances may write) the entry instead
+ * expires after {@code app.request-statistics.cache-ttl}.
+ */
+@Service
+public class RequestStatisticsService {
+
+    private static final Comparator<RequestStatistics.Cell> CELL_ORDER = Comparator
+        .comparing(RequestStatistics.Cell::cycleNumber, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(RequestStatistics.Cell::status, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(RequestStatistics.Cell::requestType, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(RequestStatistics.Cell::requesterDepartmentId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final RequestRepository requestRepository;
+    private final CycleService cycleService;
+    private final RequestDataVersion requestDataVersion;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private record Cached(long version, long computedAt, RequestStatistics statistics) {}
+
+    private record CellKey(RequestStatus status, RequestType requestType, Long requesterDepartmentId, Integer cycleNumber) {}
+
+    private volatile Cached cached;
+
+    @Autowired
+    public RequestStatisticsService(RequestRepository requestRepository, CycleService cycleService,
+                                    RequestDataVersion requestDataVersion,
+                                    @Value("${app.request-statistics.cache-ttl:PT30S}") Duration ttl) {
+        this(requestRepository, cycleService, requestDataVersion, ttl, Clock.systemUTC());
+    }
+
+    RequestStatisticsService(RequestRepository requestRepository, CycleService cycleService,
+                             RequestDataVersion requestDataVersion, Duration ttl, Clock clock) {
+        this.requestRepository = requestRepository;
+        this.cycleService = cycleService;
+        this.requestDataVersion = requestDataVersion;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    public RequestStatistics getStatistics() {
+        Cached current = cached;
+        if (isFresh(current, requestDataVersion.current())) {
+            return current.statistics();
+        }
+        synchronized (this) {
+            // Read the version before querying: a commit during the query leaves the entry stale,
+            // never a newer version paired with older counts.
+            long version = requestDataVersion.current();
+            if (isFresh(cached, version)) {
+                return cached.statistics();
+            }
+            long computedAt = clock.millis();
+            RequestStatistics statistics = compute(requestRepository.countForStatistics());
+            cached = new Cached(version, computedAt, statistics);
+            return statistics;
+        }
+    }
+
+    private boolean isFresh(Cached entry, long version) {
+        if (entry == null) {
+            return false;
+        }
+        if (requestDataVersion.isTracked()) {
+            return entry.version() == version;
+        }
+        return clock.millis() - entry.computedAt() < ttlMillis;
+    }
+
+    private RequestStatistics compute(List<RequestStatisticsRow> rows) {
+        // Rows are per posting date; several dates share a cycle, so merge them.
+        Map<CellKey, RequestStatistics.Cell> cells = new LinkedHashMap<>();
+        long total = 0;
+        for (RequestStatisticsRow row : rows) {
+            Integer cycleNumber = row.getPostingDate() != null
+                ? cycleService.getCycleForPostingDate(row.getPostingDate()).getCycleNumber()
+                : null;
+            long count = row.getTotal();
+            total += count;
+            cells.merge(new CellKey(row.getStatus(), row.getRequestType(), row.getRequesterDepartmentId(), cycleNumber),
+                new RequestStatistics.Cell(row.getStatus(), row.getRequestType(), row.getRequesterDepartmentId(),
+                    cycleNumber, count),
+                (a, b) -> new RequestStatistics.Cell(a.status(), a.requestType(), a.requesterDepartmentId(),
+                    a.cycleNumber(), a.count() + b.count()));
+        }
+        List<RequestStatistics.Cell> sorted = new ArrayList<>(cells.values());
+        sorted.sort(CELL_ORDER);
+        return new RequestStatistics(total, List.copyOf(sorted));
+    }
+}
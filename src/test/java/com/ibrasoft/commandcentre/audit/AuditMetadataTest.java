@@ -0,0 +1,66 @@
+package com.ibrasoft.commandcentre.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** The searchable {@code path = value} form {@link AuditMetadata#entries} gives event metadata. */
+class AuditMetadataTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private Set<AuditMetadata.Entry> entries(String json) throws IOException {
+		return AuditMetadata.entries(objectMapper.readTree(json));
+	}
+
+	private static AuditMetadata.Entry entry(String path, String value) {
+		return new AuditMetadata.Entry(path, value);
+	}
+
+	@Test
+	void statusChangeMetadataIsSearchableByFromAndTo() throws IOException {
+		assertEquals("{\"from\":null,\"to\":\"IN_QUEUE\"}", AuditMetadata.statusChange(null, RequestStatus.IN_QUEUE));
+		assertEquals(Set.of(entry("from", "IN_QUEUE"), entry("to", "DONE")),
+			entries(AuditMetadata.statusChange(RequestStatus.IN_QUEUE, RequestStatus.DONE)));
+	}
+
+	@Test
+	void joinsNestedKeysAndIndexesEachArrayElementUnderTheArrayPath() throws IOException {
+		assertEquals(List.of(entry("via.kind", "role"), entry("via.id", "42"), entry("assigneeIds", "1"),
+				entry("assigneeIds", "2"), entry("steps.name", "draft"), entry("urgent", "true")),
+			List.copyOf(entries("{\"via\":{\"kind\":\"role\",\"id\":42},\"assigneeIds\":[\"1\",\"2\",\"1\"],"
+				+ "\"steps\":[{\"name\":\"draft\"}],\"urgent\":true}")));
+	}
+
+	@Test
+	void leavesOutNullsAndValuesTooLongToIndex() throws IOException {
+		String longValue = "x".repeat(AuditMetadata.MAX_VALUE_LENGTH + 1);
+		String longPath = "p".repeat(AuditMetadata.MAX_PATH_LENGTH + 1);
+
+		assertEquals(Set.of(entry("kept", "yes")),
+			entries("{\"kept\":\"yes\",\"gone\":null,\"long\":\"" + longValue + "\",\"" + longPath + "\":\"v\"}"));
+	}
+
+	@Test
+	void onlyObjectsHaveEntries() throws IOException {
+		assertTrue(AuditMetadata.entries(null).isEmpty());
+		assertTrue(entries("[\"a\",\"b\"]").isEmpty());
+		assertTrue(entries("\"plain\"").isEmpty());
+	}
+
+	@Test
+	void stopsDescendingPastTheDepthLimit() throws IOException {
+		JsonNode deep = objectMapper.readTree("{\"a\":{\"b\":{\"c\":{\"d\":{\"e\":{\"f\":{\"g\":{\"h\":{\"i\":\"deep\"}}}}}}}},"
+			+ "\"top\":\"kept\"}");
+
+		assertEquals(Set.of(entry("top", "kept")), AuditMetadata.entries(deep));
+	}
+}
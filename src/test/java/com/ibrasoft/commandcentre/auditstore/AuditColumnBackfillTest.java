@@ -0,0 +1,71 @@
+package com.ibrasoft.commandcentre.auditstore;
+
+import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.repository.AuditEventJdbcRepository;
+import com.ibrasoft.commandcentre.repository.AuditEventRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** {@link AuditColumnBackfill} over mocked legacy rows. */
+class AuditColumnBackfillTest {
+
+	private final AuditEventRepository auditEventRepository = mock(AuditEventRepository.class);
+	private final AuditEventJdbcRepository auditEventJdbcRepository = mock(AuditEventJdbcRepository.class);
+	private final AuditColumnBackfill backfill = new AuditColumnBackfill(auditEventRepository, auditEventJdbcRepository,
+		mock(PlatformTransactionManager.class));
+
+	private static AuditEvent legacy(long id, String eventType, String performedBy) {
+		AuditEvent event = new AuditEvent();
+		event.setId(id);
+		event.setEventType(eventType);
+		event.setEntityType("Request");
+		event.setEntityId(1L);
+		event.setPerformedBy(performedBy);
+		return event;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void derivesWhatItCanAndMarksTheRestUnknown() {
+		AuditEvent user = legacy(1, AuditEventType.CREATE.name(), "user:42");
+		AuditEvent freeText = legacy(2, "Imported", "Jordan (old dashboard)");
+		when(auditEventRepository.findByIdGreaterThanAndActorKindIsNullOrderByIdAsc(eq(0L), any()))
+			.thenReturn(List.of(user, freeText));
+
+		backfill.backfill();
+
+		ArgumentCaptor<List<AuditEvent>> written = ArgumentCaptor.forClass(List.class);
+		verify(auditEventJdbcRepository).updateDerivedColumns(written.capture());
+		assertEquals(List.of(user, freeText), written.getValue());
+		assertEquals(Actor.Kind.USER, user.getActorKind());
+		assertEquals(42L, user.getActorUserId());
+		assertEquals(AuditEventType.CREATE.code(), user.getEventTypeCode());
+		assertEquals(Actor.Kind.UNKNOWN, freeText.getActorKind());
+		assertNull(freeText.getActorUserId());
+		assertNull(freeText.getEventTypeCode());
+	}
+
+	@Test
+	void writesNothingOnceEveryRowHasAnActorKind() {
+		when(auditEventRepository.findByIdGreaterThanAndActorKindIsNullOrderByIdAsc(anyLong(), any())).thenReturn(List.of());
+
+		backfill.backfill();
+
+		verify(auditEventJdbcRepository, never()).updateDerivedColumns(any());
+	}
+}
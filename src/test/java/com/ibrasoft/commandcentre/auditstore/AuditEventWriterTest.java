@@ -0,0 +1,281 @@
+package com.ibrasoft.commandcentre.auditstore;
+
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.repository.AuditEventJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/** {@link AuditEventWriter} with a mocked JDBC repository recording what it was asked to insert. */
+class AuditEventWriterTest {
+
+	private AuditEventJdbcRepository repository;
+	private SimpleMeterRegistry meterRegistry;
+	private final List<List<AuditEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+	private final List<String> writingThreads = Collections.synchronizedList(new ArrayList<>());
+	private AuditEventWriter writer;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(AuditEventJdbcRepository.class);
+		meterRegistry = new SimpleMeterRegistry();
+		recordInserts();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (writer != null) {
+			writer.shutdown();
+		}
+	}
+
+	/** The writer reuses its batch list, so the events are copied when the insert happens. */
+	private void recordInserts() {
+		doAnswer(invocation -> {
+			batches.add(List.copyOf(invocation.<List<AuditEvent>>getArgument(0)));
+			writingThreads.add(Thread.currentThread().getName());
+			return null;
+		}).when(repository).insertAll(anyList());
+	}
+
+	private AuditEventWriter writer(String mode, int queueCapacity, int batchSize, long flushIntervalMillis,
+	                                long offerTimeoutMillis) {
+		writer = new AuditEventWriter(repository, mock(PlatformTransactionManager.class), meterRegistry,
+			mode, queueCapacity, batchSize, flushIntervalMillis, offerTimeoutMillis, 1);
+		writer.start();
+		return writer;
+	}
+
+	private static List<AuditEvent> events(int count) {
+		List<AuditEvent> events = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			AuditEvent event = new AuditEvent();
+			event.setEntityId((long) i);
+			events.add(event);
+		}
+		return events;
+	}
+
+	private int writtenCount() {
+		synchronized (batches) {
+			return batches.stream().mapToInt(List::size).sum();
+		}
+	}
+
+	private double counter(String name) {
+		return meterRegistry.get(name).counter().count();
+	}
+
+	private static void await(CountDownLatch latch) throws InterruptedException {
+		assertTrue(latch.await(5, TimeUnit.SECONDS), "timed out");
+	}
+
+	private void awaitWritten(int count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (writtenCount() < count) {
+			assertTrue(System.nanoTime() < deadline, "timed out with " + writtenCount() + " of " + count + " written");
+			Thread.sleep(5);
+		}
+	}
+
+	@Test
+	void writesQueuedEventsInBatchesOnTheWriterThread() throws InterruptedException {
+		writer("async", 100, 3, 10_000, 1000);
+
+		writer.submit(events(3));
+		awaitWritten(3);
+
+		assertEquals(1, batches.size());
+		assertEquals(List.of("audit-writer"), writingThreads);
+		assertEquals(3.0, counter("audit.writer.written"));
+	}
+
+	@Test
+	void flushesAPartialBatchAfterTheInterval() throws InterruptedException {
+		writer("async", 100, 100, 20, 1000);
+
+		writer.submit(events(2));
+		awaitWritten(2);
+
+		assertEquals(1, batches.size());
+		assertEquals(2, batches.get(0).size());
+	}
+
+	@Test
+	void queuesAsyncOnCommitEventsOnlyOnceTheTransactionCommits() throws InterruptedException {
+		writer("async-on-commit", 100, 100, 20, 1000);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			writer.submit(events(2));
+			Thread.sleep(100);
+			assertEquals(0, writtenCount());
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		awaitWritten(2);
+	}
+
+	@Test
+	void writesOverflowOnTheCallersThreadWhenTheQueueIsFull() throws InterruptedException {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			if (!Thread.currentThread().getName().equals("audit-writer")) {
+				writingThreads.add(Thread.currentThread().getName());
+				batches.add(List.copyOf(invocation.<List<AuditEvent>>getArgument(0)));
+				return null;
+			}
+			writing.countDown();
+			await(release);
+			batches.add(List.copyOf(invocation.<List<AuditEvent>>getArgument(0)));
+			return null;
+		}).when(repository).insertAll(anyList());
+		writer("async", 1, 1, 10_000, 10);
+
+		writer.submit(events(1));
+		await(writing);
+		// One event fills the queue behind the stuck batch; the next one is written by the caller.
+		writer.submit(events(2));
+
+		assertEquals(List.of(Thread.currentThread().getName()), writingThreads);
+		assertEquals(1.0, counter("audit.writer.overflow"));
+		release.countDown();
+		awaitWritten(3);
+	}
+
+	@Test
+	void overflowWriteFailuresReachTheCaller() {
+		doAnswer(invocation -> {
+			throw new DataAccessResourceFailureException("database down");
+		}).when(repository).insertAll(anyList());
+		// Never started, so every event takes the synchronous path.
+		writer = new AuditEventWriter(repository, mock(PlatformTransactionManager.class), meterRegistry,
+			"async", 100, 100, 20, 10, 1);
+
+		assertThrows(DataAccessResourceFailureException.class, () -> writer.submit(events(2)));
+		assertEquals(2.0, counter("audit.writer.failed"));
+		assertEquals(2.0, counter("audit.writer.overflow"));
+	}
+
+	@Test
+	void retriesAFailedBatchUntilItIsWritten() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		doAnswer(invocation -> {
+			if (attempts.incrementAndGet() <= 5) {
+				throw new DataAccessResourceFailureException("database down");
+			}
+			batches.add(List.copyOf(invocation.<List<AuditEvent>>getArgument(0)));
+			return null;
+		}).when(repository).insertAll(anyList());
+		writer("async", 100, 10, 200, 1000);
+
+		writer.submit(events(4));
+		awaitWritten(4);
+
+		assertEquals(6, attempts.get());
+		assertEquals(0.0, counter("audit.writer.failed"));
+	}
+
+	@Test
+	void shutdownDrainsTheQueue() {
+		writer("async", 100, 2, 10_000, 1000);
+
+		writer.submit(events(5));
+		writer.shutdown();
+
+		assertEquals(5, writtenCount());
+		assertTrue(batches.stream().allMatch(batch -> batch.size() <= 2));
+		assertEquals(0.0, meterRegistry.get("audit.writer.queue.depth").gauge().value());
+	}
+
+	@Test
+	void shutdownGivesUpOnABatchThatKeepsFailing() {
+		AtomicInteger attempts = new AtomicInteger();
+		doAnswer(invocation -> {
+			attempts.incrementAndGet();
+			throw new DataAccessResourceFailureException("database down");
+		}).when(repository).insertAll(anyList());
+		writer("async", 100, 10, 20, 1000);
+
+		writer.submit(events(3));
+		writer.shutdown();
+
+		assertEquals(3.0, counter("audit.writer.failed"));
+		assertTrue(attempts.get() >= 3);
+	}
+
+	@Test
+	void waitsForQueueSpaceOncePerSubmission() throws InterruptedException {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			if (Thread.currentThread().getName().equals("audit-writer")) {
+				writing.countDown();
+				await(release);
+			}
+			batches.add(List.copyOf(invocation.<List<AuditEvent>>getArgument(0)));
+			return null;
+		}).when(repository).insertAll(anyList());
+		writer("async", 1, 1, 10_000, 300);
+
+		writer.submit(events(1));
+		await(writing);
+		long start = System.nanoTime();
+		// The first event takes the free slot, the second waits out the timeout, the rest overflow at once.
+		writer.submit(events(5));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals(4.0, counter("audit.writer.overflow"));
+		assertTrue(elapsedMillis < 600, "blocked for " + elapsedMillis + " ms");
+		release.countDown();
+		awaitWritten(6);
+	}
+
+	@Test
+	void isolatesEventsTheDatabaseRejectsAndWritesTheRest() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		doAnswer(invocation -> {
+			attempts.incrementAndGet();
+			List<AuditEvent> events = invocation.getArgument(0);
+			if (events.stream().anyMatch(event -> event.getEntityId() == 2L || event.getEntityId() == 5L)) {
+				throw new DataIntegrityViolationException("value too long for type character varying(2000)");
+			}
+			batches.add(List.copyOf(events));
+			return null;
+		}).when(repository).insertAll(anyList());
+		writer("async", 100, 8, 10_000, 1000);
+
+		writer.submit(events(8));
+		awaitWritten(6);
+		writer.shutdown();
+
+		assertEquals(List.of(0L, 1L, 3L, 4L, 6L, 7L), batches.stream().flatMap(List::stream).map(AuditEvent::getEntityId).toList());
+		assertEquals(2.0, counter("audit.writer.failed"));
+		assertEquals(6.0, counter("audit.writer.written"));
+		// Never retried unchanged: each attempt is a smaller slice than the one before it failed.
+		assertTrue(attempts.get() <= 15, attempts.get() + " attempts");
+	}
+}
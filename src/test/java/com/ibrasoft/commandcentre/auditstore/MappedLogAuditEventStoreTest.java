@@ -0,0 +1,343 @@
+package com.ibrasoft.commandcentre.auditstore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.audit.AuditMetadata;
+import com.ibrasoft.commandcentre.model.AuditCursor;
+import com.ibrasoft.commandcentre.model.AuditDailyCount;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link MappedLogAuditEventStore} on segment files in a temporary directory. */
+class MappedLogAuditEventStoreTest {
+
+	private static final int SEGMENT_BYTES = 64 * 1024;
+	private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+		.findAndRegisterModules()
+		.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	@TempDir
+	Path directory;
+
+	private MappedLogAuditEventStore open(int segmentBytes) throws IOException {
+		MappedLogAuditEventStore store = new MappedLogAuditEventStore(objectMapper, directory.toString(), segmentBytes);
+		store.recover();
+		return store;
+	}
+
+	private static AuditEvent event(AuditEventType type, long requestId, Actor actor, LocalDateTime timestamp) {
+		AuditEvent event = new AuditEvent();
+		event.applyEventType(type);
+		event.setEntityType("REQUEST");
+		event.setEntityId(requestId);
+		event.setEventDetails(type + " on " + requestId);
+		event.applyActor(actor);
+		event.setEventTimestamp(timestamp);
+		return event;
+	}
+
+	/**
+	 * Ten events over ten minutes: requests 1 and 2 alternate, users 100 and 200 alternate in
+	 * pairs, every third one is a status change and the rest are updates.
+	 */
+	private static List<AuditEvent> sampleEvents() {
+		List<AuditEvent> events = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			AuditEventType type = i % 3 == 0 ? AuditEventType.STATUS_CHANGE : AuditEventType.UPDATE;
+			Actor actor = (i / 2) % 2 == 0 ? Actor.user(100L) : Actor.botOnBehalfOf("bot", 200L);
+			events.add(event(type, 1L + i % 2, actor, T0.plusMinutes(i)));
+		}
+		return events;
+	}
+
+	private static List<Long> ids(List<AuditEvent> events) {
+		return events.stream().map(AuditEvent::getId).toList();
+	}
+
+	private static List<Long> ids(Stream<AuditEvent> events) {
+		try (events) {
+			return events.map(AuditEvent::getId).toList();
+		}
+	}
+
+	/** Byte offsets of the records in a segment file, in order. */
+	private static List<Integer> recordOffsets(Path segment) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+		List<Integer> offsets = new ArrayList<>();
+		int position = 0;
+		while (position + 8 <= buffer.capacity() && buffer.getInt(position) > 0) {
+			offsets.add(position);
+			position += 8 + buffer.getInt(position);
+		}
+		return offsets;
+	}
+
+	private static void overwrite(Path segment, int position, ByteBuffer bytes) throws IOException {
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.write(bytes, position);
+		}
+	}
+
+	private List<Path> segmentFiles() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.toString().endsWith(".log")).sorted().toList();
+		}
+	}
+
+	@Test
+	void assignsDenseIdsAndRecoversThemAfterARestart() throws IOException {
+		MappedLogAuditEventStore store = open(SEGMENT_BYTES);
+		store.appendAll(sampleEvents());
+		store.close();
+
+		MappedLogAuditEventStore reopened = open(SEGMENT_BYTES);
+
+		assertEquals(List.of(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L),
+			ids(reopened.findPage(AuditEventFilter.none(), null, 100)));
+		AuditEvent third = reopened.findById(3L).orElseThrow();
+		assertEquals("REQUEST", third.getEntityType());
+		assertEquals(1L, third.getEntityId());
+		assertEquals(T0.plusMinutes(2), third.getEventTimestamp());
+		assertEquals(AuditEventType.UPDATE.code(), third.getEventTypeCode());
+		assertEquals(11L, reopened.append(event(AuditEventType.CREATE, 3L, Actor.user(100L), T0.plusMinutes(10))).getId());
+	}
+
+	@Test
+	void neverLetsTimestampsGoBackwards() throws IOException {
+		MappedLogAuditEventStore store = open(SEGMENT_BYTES);
+		store.append(event(AuditEventType.CREATE, 1L, Actor.user(100L), T0.plusMinutes(5)));
+
+		AuditEvent late = store.append(event(AuditEventType.UPDATE, 1L, Actor.user(100L), T0));
+
+		assertEquals(T0.plusMinutes(5), late.getEventTimestamp());
+	}
+
+	@Test
+	void recoveryStopsAtACorruptTailAndAppendsOverIt() throws IOException {
+		MappedLogAuditEventStore store = open(SEGMENT_BYTES);
+		store.appendAll(sampleEvents().subList(0, 3));
+		store.close();
+		Path segment = segmentFiles().get(0);
+		int last = recordOffsets(segment).get(2);
+		// Flip the first payload byte of the third record so its checksum no longer matches.
+		byte first = ByteBuffer.wrap(Files.readAllBytes(segment)).get(last + 8);
+		overwrite(segment, last + 8, ByteBuffer.wrap(new byte[] {(byte) ~first}));
+
+		MappedLogAuditEventStore reopened = open(SEGMENT_BYTES);
+
+		assertEquals(List.of(2L, 1L), ids(reopened.findPage(AuditEventFilter.none(), null, 100)));
+		assertEquals(3L, reopened.append(event(AuditEventType.DELETE, 2L, Actor.user(100L), T0.plusMinutes(3))).getId());
+		reopened.close();
+
+		List<AuditEvent> recovered = open(SEGMENT_BYTES).findPage(AuditEventFilter.none(), null, 100);
+		assertEquals(List.of(3L, 2L, 1L), ids(recovered));
+		assertEquals(AuditEventType.DELETE.name(), recovered.get(0).getEventType());
+	}
+
+	@Test
+	void recoveryTreatsARecordRunningPastTheSegmentAsTheEnd() throws IOException {
+		MappedLogAuditEventStore store = open(SEGMENT_BYTES);
+		store.appendAll(sampleEvents().subList(0, 2));
+		store.close();
+		Path segment = segmentFiles().get(0);
+		List<Integer> offsets = recordOffsets(segment);
+		int end = offsets.get(1) + 8 + ByteBuffer.wrap(Files.readAllBytes(segment)).getInt(offsets.get(1));
+		// A torn append: a length that claims more bytes than the segment holds.
+		overwrite(segment, end, ByteBuffer.allocate(4).putInt(0, SEGMENT_BYTES));
+
+		MappedLogAuditEventStore reopened = open(SEGMENT_BYTES);
+
+		assertEquals(List.of(2L, 1L), ids(reopened.findPage(AuditEventFilter.none(), null, 100)));
+		assertEquals(3L, reopened.append(event(AuditEventType.DELETE, 2L, Actor.user(100L), T0.plusMinutes(3))).getId());
+		reopened.close();
+		assertEquals(3, ids(open(SEGMENT_BYTES).findPage(AuditEventFilter.none(), null, 100)).size());
+	}
+
+	@Test
+	void rollsToANewSegmentNamedAfterItsFirstId() throws IOException {
+		// Small enough for a few records per segment.
+		int segmentBytes = 1024;
+		MappedLogAuditEventStore store = open(segmentBytes);
+		store.appendAll(sampleEvents());
+		store.close();
+
+		List<Path> files = segmentFiles();
+		assertTrue(files.size() > 1, "expected several segments, got " + files);
+		assertEquals(String.format("%020d.log", 1), files.get(0).getFileName().toString());
+		long nextFirst = recordOffsets(files.get(0)).size() + 1L;
+		assertEquals(String.format("%020d.log", nextFirst), files.get(1).getFileName().toString());
+
+		MappedLogAuditEventStore reopened = open(segmentBytes);
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), ids(reopened.stream(AuditEventFilter.none())));
+		assertEquals(10L, reopened.findById(10L).orElseThrow().getId());
+		assertEquals(11L, reopened.append(event(AuditEventType.CREATE, 3L, Actor.user(100L), T0.plusMinutes(10))).getId());
+	}
+
+	@Test
+	void rejectsAnEventLargerThanASegment() throws IOException {
+		MappedLogAuditEventStore store = open(1024);
+		AuditEvent huge = event(AuditEventType.UPDATE, 1L, Actor.user(100L), T0);
+		huge.setEventDetails("x".repeat(2000));
+
+		assertThrows(IllegalArgumentException.class, () -> store.append(huge));
+		assertNull(huge.getId());
+		assertEquals(1L, store.append(event(AuditEventType.UPDATE, 1L, Actor.user(100L), T0)).getId());
+	}
+
+	@Test
+	void findPageAppliesEachFilterNewestFirst() throws IOException {
+		MappedLogAuditEventStore store = open(SEGMENT_BYTES);
+		store.appendAll(sampleEvents());
+
+		assertEquals(List.of(9L, 7L, 5L, 3L, 1L),
+			ids(store.findPage(AuditEventFilter.forEntity("REQUEST", 1L), null, 100)));
+		assertEquals(List.of(10L, 7L, 4L, 1L),
+			ids(store.findPage(AuditEventFilter.forEventType(AuditEventType.STATUS_CHANGE.name()), null, 100)));
+		assertEquals(List.of(10L, 9L, 6L, 5L, 2L, 1L),
+			ids(store.findPage(AuditEventFilter.forPerformedBy(Actor.user(100L).format()), null, 100)));
+		assertEquals(List.of(8L, 7L, 4L, 3L),
+			ids(store.findPage(AuditEventFilter.forActorUser(200L), null, 100)));
+		assertEquals(List.of(6L, 5L, 4L),
+			ids(store.findPage(AuditEventFilter.between(T0.plusMinutes(3), T0.plusMinutes(5)), null, 100)));
+		assertEquals(List.of(7L, 3L),
+			ids(store.findPage(new AuditEventFilter("REQUEST", 1L, null, null, 200L, null, null), null, 100)));
+		assertEquals(List.of(7L),
+			ids(store.findPage(new AuditEventFilter("REQUEST", 1L, AuditEventType.STATUS_CHANGE.name(), null, null,
+				T0.plusMinutes(4), null), null, 100)));
+		assertEquals(List.of(), ids(store.findPage(AuditEventFilter.forEntity("REQUEST", 99L), null, 100)));
+		assertEquals(List.of(10L, 9L, 8L), ids(store.findPage(AuditEventFilter.none(), null, 3)));
+	}
+
+	@Test
+	void streamAppliesEachFilterOldestFirst() throws IOException {
+		MappedLogAuditEventStore store = open(SEGMENT_BYTES);
+		store.appendAll(sampleEvents());
+
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), ids(store.stream(AuditEventFilter.none())));
+		assertEquals(List.of(2L, 4L, 6L, 8L, 10L), ids(store.stream(AuditEventFilter.forEntity("REQUEST", 2L))));
+		assertEquals(List.of(1L, 4L, 7L, 10L),
+			ids(store.stream(AuditEventFilter.forEventType(AuditEventType.STATUS_CHANGE.name()))));
+		assertEquals(List.of(1L, 2L, 5L, 6L, 9L, 10L),
+			ids(store.stream(AuditEventFilter.forPerformedBy(Actor.user(100L).format()))));
+		assertEquals(List.of(3L, 4L, 7L, 8L), ids(store.stream(AuditEventFilter.forActorUser(200L))));
+		assertEquals(List.of(4L, 5L, 6L),
+			ids(store.stream(AuditEventFilter.between(T0.plusMinutes(3), T0.plusMinutes(5)))));
+		assertEquals(List.of(4L, 8L),
+			ids(store.stream(new AuditEventFilter("REQUEST", 2L, null, null, 200L, null, null))));
+		assertEquals(List.of(), ids(store.stream(AuditEventFilter.forActorUser(999L))));
+	}
+
+	@Test
+	void streamReadsPastOneChunk() throws IOException {
+		MappedLogAuditEventStore store = open(SEGMENT_BYTES * 16);
+		List<AuditEvent> events = new ArrayList<>();
+		for (int i = 0; i < 1200; i++) {
+			events.add(event(AuditEventType.UPDATE, 1L + i % 2, Actor.user(100L), T0.plusSeconds(i)));
+		}
+		store.appendAll(events);
+
+		List<Long> all = ids(store.stream(AuditEventFilter.none()));
+		List<Long> second = ids(store.stream(AuditEventFilter.forEntity("REQUEST", 2L)));
+
+		assertEquals(1200, all.size());
+		assertEquals(1200L, all.get(1199));
+		assertEquals(600, second.size());
+		assertTrue(second.stream().allMatch(id -> id % 2 == 0));
+		assertEquals(1200L, second.get(599));
+	}
+
+	@Test
+	void cursorContinuesAfterTheLastEventOfAPage() throws IOException {
+		MappedLogAuditEventStore store = open(SEGMENT_BYTES);
+		// Ties on the timestamp are broken by id.
+		for (int i = 0; i < 5; i++) {
+			store.append(event(AuditEventType.UPDATE, 1L, Actor.user(100L), T0));
+		}
+		store.append(event(AuditEventType.UPDATE, 2L, Actor.user(100L), T0.plusMinutes(1)));
+
+		List<Long> seen = new ArrayList<>();
+		AuditCursor cursor = null;
+		List<AuditEvent> page;
+		do {
+			page = store.findPage(AuditEventFilter.none(), cursor, 2);
+			seen.addAll(ids(page));
+			cursor = page.isEmpty() ? cursor : AuditCursor.after(page.get(page.size() - 1));
+		} while (!page.isEmpty());
+
+		assertEquals(List.of(6L, 5L, 4L, 3L, 2L, 1L), seen);
+		AuditCursor afterFour = new AuditCursor(T0, 4L);
+		assertEquals(List.of(3L, 2L, 1L), ids(store.findPage(AuditEventFilter.forEntity("REQUEST", 1L), afterFour, 10)));
+		AuditCursor decoded = AuditCursor.decode(afterFour.encode());
+		assertEquals(List.of(3L, 2L), ids(store.findPage(AuditEventFilter.none(), decoded, 2)));
+	}
+
+	@Test
+	void findsEventsByMetadataEntryAcrossARestart() throws IOException {
+		MappedLogAuditEventStore store = open(SEGMENT_BYTES);
+		for (int i = 0; i < 6; i++) {
+			AuditEvent event = event(AuditEventType.STATUS_CHANGE, 1L, Actor.user(100L), T0.plusMinutes(i));
+			event.setMetadata(i % 2 == 0
+				? AuditMetadata.statusChange(RequestStatus.IN_QUEUE, RequestStatus.IN_PROGRESS)
+				: "{\"assigneeIds\":[\"7\",\"" + i + "\"]}");
+			store.append(event);
+		}
+		store.append(event(AuditEventType.UPDATE, 2L, Actor.user(100L), T0.plusMinutes(6)));
+		store.close();
+
+		MappedLogAuditEventStore reopened = open(SEGMENT_BYTES);
+
+		assertEquals(List.of(5L, 3L, 1L), ids(reopened.findByMetadata("to", "IN_PROGRESS", null, 10)));
+		assertEquals(List.of(6L, 4L), ids(reopened.findByMetadata("assigneeIds", "7", null, 2)));
+		assertEquals(List.of(2L), ids(reopened.findByMetadata("assigneeIds", "7", new AuditCursor(T0.plusMinutes(3), 4L), 2)));
+		assertEquals(List.of(4L), ids(reopened.findByMetadata("assigneeIds", "3", null, 10)));
+		assertTrue(reopened.findByMetadata("to", "DONE", null, 10).isEmpty());
+		assertTrue(reopened.findByMetadata("assignee", "7", null, 10).isEmpty());
+	}
+
+	@Test
+	void dailyCountsSplitAtMidnightAndSurviveARestart() throws IOException {
+		LocalDate march1 = T0.toLocalDate();
+		MappedLogAuditEventStore store = open(SEGMENT_BYTES);
+		store.append(event(AuditEventType.UPDATE, 1L, Actor.user(100L), march1.atTime(23, 59, 59)));
+		store.append(event(AuditEventType.UPDATE, 1L, Actor.botOnBehalfOf("bot", 100L), march1.atTime(23, 59, 59, 999_000_000)));
+		store.append(event(AuditEventType.UPDATE, 2L, Actor.user(100L), march1.plusDays(1).atStartOfDay()));
+		store.close();
+
+		MappedLogAuditEventStore reopened = open(SEGMENT_BYTES);
+		reopened.append(event(AuditEventType.UPDATE, 2L, Actor.bot("bot"), march1.plusDays(1).atTime(0, 0, 1)));
+
+		assertEquals(List.of(
+				new AuditDailyCount(null, march1, "UPDATE", "user:100", 2),
+				new AuditDailyCount(null, march1.plusDays(1), "UPDATE", "bot:bot", 1),
+				new AuditDailyCount(null, march1.plusDays(1), "UPDATE", "user:100", 1)),
+			reopened.findDailyCounts(march1, march1.plusDays(1), null, null));
+		assertEquals(List.of(new AuditDailyCount(null, march1, "UPDATE", "user:100", 2)),
+			reopened.findDailyCounts(march1, march1, null, null));
+		assertEquals(List.of(new AuditDailyCount(null, march1.plusDays(1), "UPDATE", "user:100", 1)),
+			reopened.findDailyCounts(march1.plusDays(1), march1.plusDays(1), null, "user:100"));
+	}
+}
@@ -0,0 +1,244 @@
+package com.ibrasoft.commandcentre.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.audit.AuditEntry;
+import com.ibrasoft.commandcentre.audit.AuthenticationActorResolver;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.CursorPage;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestSummary;
+import com.ibrasoft.commandcentre.service.AuditEventService;
+import com.ibrasoft.commandcentre.service.RequestDataVersion;
+import com.ibrasoft.commandcentre.service.RequestEventStreamService;
+import com.ibrasoft.commandcentre.service.RequestService;
+import com.ibrasoft.commandcentre.service.RequestStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** {@link CommandCentreController} request reads over standalone MockMvc and a mocked service. */
+class CommandCentreControllerTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+		.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private final RequestService requestService = mock(RequestService.class);
+	private final AuditEventService auditEventService = mock(AuditEventService.class);
+	private final AuthenticationActorResolver actorResolver = mock(AuthenticationActorResolver.class);
+
+	private final Request request = Request.builder()
+		.channelID(1L).title("Spring gala poster").description("Print run for the gala")
+		.status(RequestStatus.IN_QUEUE).build();
+
+	private MockMvc mvc(RequestDataVersion version) {
+		CommandCentreController controller = new CommandCentreController(requestService, version,
+			mock(RequestEventStreamService.class), mock(RequestStatisticsService.class), auditEventService,
+			actorResolver, objectMapper);
+		return MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	private static String etag(MockMvc mvc, String url) throws Exception {
+		String etag = mvc.perform(get(url))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotNull(etag);
+		return etag;
+	}
+
+	@Test
+	void matchingIfNoneMatchIsAnsweredWithoutReadingTheRequest() throws Exception {
+		when(requestService.getRequestByChannelId(1L)).thenReturn(Optional.of(request));
+		MockMvc mvc = mvc(new RequestDataVersion(true));
+		String etag = etag(mvc, "/api/requests/channel/1");
+
+		mvc.perform(get("/api/requests/channel/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, etag));
+
+		verify(requestService, times(1)).getRequestByChannelId(1L);
+	}
+
+	@Test
+	void listingsShareTheTagAndSkipTheQueryOn304() throws Exception {
+		when(requestService.getRequests(any(RequestFilter.class))).thenReturn(List.of(request));
+		MockMvc mvc = mvc(new RequestDataVersion(true));
+		String etag = etag(mvc, "/api/requests?status=IN_QUEUE");
+
+		mvc.perform(get("/api/requests").param("status", "IN_QUEUE").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified());
+
+		verify(requestService, times(1)).getRequests(any(RequestFilter.class));
+	}
+
+	@Test
+	void aCommittedChangeRetiresTheTag() throws Exception {
+		when(requestService.getRequestByChannelId(1L)).thenReturn(Optional.of(request));
+		RequestDataVersion version = new RequestDataVersion(true);
+		MockMvc mvc = mvc(version);
+		String before = etag(mvc, "/api/requests/channel/1");
+
+		version.onRequestChanged(null);
+
+		String after = mvc.perform(get("/api/requests/channel/1").header(HttpHeaders.IF_NONE_MATCH, before))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(before, after);
+	}
+
+	@Test
+	void untrackedVersionSendsNoTagAndIgnoresIfNoneMatch() throws Exception {
+		when(requestService.getRequestByChannelId(1L)).thenReturn(Optional.of(request));
+		RequestDataVersion tracked = new RequestDataVersion(true);
+		MockMvc mvc = mvc(new RequestDataVersion(false));
+
+		mvc.perform(get("/api/requests/channel/1").header(HttpHeaders.IF_NONE_MATCH, tracked.etag()))
+			.andExpect(status().isOk())
+			.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+		mvc.perform(get("/api/requests/channel/1").header(HttpHeaders.IF_NONE_MATCH, "*"))
+			.andExpect(status().isOk());
+
+		verify(requestService, times(2)).getRequestByChannelId(1L);
+	}
+
+	@Test
+	void summaryViewListsOnlyTheSummaryColumns() throws Exception {
+		when(requestService.getRequestSummaries(RequestFilter.none())).thenReturn(List.of(RequestSummary.of(request)));
+
+		mvc(new RequestDataVersion(true)).perform(get("/api/requests").param("view", "SUMMARY"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].channelID").value(1))
+			.andExpect(jsonPath("$[0].title").value("Spring gala poster"))
+			.andExpect(jsonPath("$[0].description").doesNotExist())
+			.andExpect(jsonPath("$[0].mainMessageID").doesNotExist());
+
+		verify(requestService, never()).getRequests(any());
+	}
+
+	@Test
+	void summaryViewAppliesToPagesAndTheNarrowListings() throws Exception {
+		RequestFilter done = new RequestFilter(RequestStatus.DONE, null, null, null, null, null);
+		when(requestService.getRequestSummaryPage(RequestFilter.none(), null, 1))
+			.thenReturn(new CursorPage<>(List.of(RequestSummary.of(request)), "next"));
+		when(requestService.getRequestSummaries(done)).thenReturn(List.of());
+		MockMvc mvc = mvc(new RequestDataVersion(true));
+
+		mvc.perform(get("/api/requests").param("view", "summary").param("limit", "1"))
+			.andExpect(jsonPath("$.items[0].channelID").value(1))
+			.andExpect(jsonPath("$.items[0].description").doesNotExist())
+			.andExpect(jsonPath("$.nextCursor").value("next"));
+		mvc.perform(get("/api/requests/status/DONE").param("view", "summary"))
+			.andExpect(status().isOk());
+
+		verify(requestService).getRequestSummaries(done);
+		verify(requestService, never()).getRequestsByStatus(any());
+	}
+
+	/** A JSON array of {@code count} copies of {@code item}. */
+	private static String array(String item, int count) {
+		return "[" + String.join(",", Collections.nCopies(count, item)) + "]";
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void batchRejectsInvalidItemsAndWritesTheRestTogether() throws Exception {
+		when(actorResolver.resolve(any(), any())).thenReturn(Actor.user(100L));
+		when(auditEventService.logEvents(anyList(), eq(Actor.user(100L)))).thenAnswer(invocation -> {
+			List<AuditEntry> entries = invocation.getArgument(0);
+			List<AuditEvent> saved = new ArrayList<>();
+			for (AuditEntry entry : entries) {
+				AuditEvent event = new AuditEvent();
+				event.setId(saved.size() + 1L);
+				event.setEntityId(entry.entityId());
+				saved.add(event);
+			}
+			return saved;
+		});
+		String tooLong = "x".repeat(AuditEvent.MAX_EVENT_DETAILS_LENGTH + 1);
+		String body = "[{\"eventType\":\"UPDATE\",\"entityId\":1},"
+			+ "{\"eventType\":\"UPDATE\"},"
+			+ "{\"eventType\":\"NOT_A_TYPE\",\"entityId\":3},"
+			+ "{\"eventType\":\"UPDATE\",\"entityId\":4,\"eventDetails\":\"" + tooLong + "\"},"
+			+ "{\"eventType\":\"UPDATE\",\"entityId\":5,\"metadata\":{\"via\":\"role\"}}]";
+
+		mvc(new RequestDataVersion(true)).perform(post("/api/audit-events/batch")
+				.contentType(MediaType.APPLICATION_JSON).content(body))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[*].code").value(contains(201, 400, 400, 400, 201)))
+			.andExpect(jsonPath("$[1].error").value("entityId is required"))
+			.andExpect(jsonPath("$[2].error").value("Invalid eventType: NOT_A_TYPE"))
+			.andExpect(jsonPath("$[3].error").value(startsWith("eventDetails")))
+			.andExpect(jsonPath("$[4].event.entityId").value(5));
+
+		ArgumentCaptor<List<AuditEntry>> written = ArgumentCaptor.forClass(List.class);
+		verify(auditEventService).logEvents(written.capture(), eq(Actor.user(100L)));
+		assertEquals(List.of(1L, 5L), written.getValue().stream().map(AuditEntry::entityId).toList());
+		assertEquals("{\"via\":\"role\"}", written.getValue().get(1).metadataJson());
+	}
+
+	@Test
+	void batchLargerThanTheLimitIsRejectedWhole() throws Exception {
+		when(actorResolver.resolve(any(), any())).thenReturn(Actor.user(100L));
+		MockMvc mvc = mvc(new RequestDataVersion(true));
+		String item = "{\"eventType\":\"UPDATE\",\"entityId\":1}";
+
+		mvc.perform(post("/api/audit-events/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(array(item, AuditEventService.MAX_BATCH_SIZE + 1)))
+			.andExpect(status().isBadRequest());
+		mvc.perform(post("/api/audit-events/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(array(item, AuditEventService.MAX_BATCH_SIZE)))
+			.andExpect(status().isOk());
+
+		verify(auditEventService, times(1)).logEvents(anyList(), any());
+	}
+
+	@Test
+	void ingestionNeedsAResolvableActorAndFieldsThatFit() throws Exception {
+		MockMvc mvc = mvc(new RequestDataVersion(true));
+		when(actorResolver.resolve(any(), any()))
+			.thenThrow(new AuthenticationActorResolver.ActorResolutionException("no actor"))
+			.thenReturn(Actor.user(100L));
+
+		mvc.perform(post("/api/audit-events/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+			.andExpect(status().isUnauthorized());
+		String tooLongType = "x".repeat(AuditEvent.MAX_ENTITY_TYPE_LENGTH + 1);
+		mvc.perform(post("/api/audit-events").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"eventType\":\"UPDATE\",\"entityId\":1,\"entityType\":\"" + tooLongType + "\"}"))
+			.andExpect(status().isBadRequest())
+			.andExpect(content().string(startsWith("entityType")));
+
+		verify(auditEventService, never()).logEvents(anyList(), any());
+		verify(auditEventService, never()).logEvent(any(), any(), any(), any(), any(), any());
+	}
+}
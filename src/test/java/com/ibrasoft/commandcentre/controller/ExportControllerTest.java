@@ -0,0 +1,69 @@
+package com.ibrasoft.commandcentre.controller;
+
+import com.ibrasoft.commandcentre.export.ExportFormat;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import com.ibrasoft.commandcentre.service.AuditExportService;
+import com.ibrasoft.commandcentre.service.RequestExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** {@link ExportController} response headers and argument handling, with the export services mocked. */
+class ExportControllerTest {
+
+	private final RequestExportService requestExportService = mock(RequestExportService.class);
+	private final AuditExportService auditExportService = mock(AuditExportService.class);
+	private final MockMvc mvc = MockMvcBuilders
+		.standaloneSetup(new ExportController(requestExportService, auditExportService))
+		.build();
+
+	@Test
+	void gzipAuditExportIsAGzDownload() throws Exception {
+		mvc.perform(get("/api/audit-events/export").param("format", "csv").param("gzip", "true")
+				.param("entityType", "REQUEST").param("start", "2026-03-01T00:00:00"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType("application/gzip"))
+			.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-events.csv.gz\""));
+
+		AuditEventFilter filter = new AuditEventFilter("REQUEST", null, null, null, null,
+			LocalDateTime.of(2026, 3, 1, 0, 0), null);
+		verify(auditExportService).exportAuditEvents(eq(filter), eq(ExportFormat.CSV), eq(true), any(OutputStream.class));
+	}
+
+	@Test
+	void plainAuditExportDefaultsToNdjson() throws Exception {
+		mvc.perform(get("/api/audit-events/export"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson;charset=UTF-8"))
+			.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-events.ndjson\""));
+
+		verify(auditExportService).exportAuditEvents(eq(AuditEventFilter.none()), eq(ExportFormat.NDJSON), eq(false),
+			any(OutputStream.class));
+	}
+
+	@Test
+	void unknownFormatIsRejectedBeforeExporting() throws Exception {
+		mvc.perform(get("/api/audit-events/export").param("format", "xml").param("gzip", "true"))
+			.andExpect(status().isBadRequest());
+		mvc.perform(get("/api/requests/export").param("format", "xlsx"))
+			.andExpect(status().isBadRequest());
+
+		verify(auditExportService, never()).exportAuditEvents(any(), any(), anyBoolean(), any());
+		verify(requestExportService, never()).exportRequests(any(), any(), any());
+	}
+}
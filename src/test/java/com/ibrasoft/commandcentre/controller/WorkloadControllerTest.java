@@ -0,0 +1,46 @@
+package com.ibrasoft.commandcentre.controller;
+
+import com.ibrasoft.commandcentre.service.CycleService;
+import com.ibrasoft.commandcentre.service.RequestDataVersion;
+import com.ibrasoft.commandcentre.service.RequestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** {@link WorkloadController} revalidation: the tag covers both the request data and the current cycle. */
+class WorkloadControllerTest {
+
+	private final RequestService requestService = mock(RequestService.class);
+	private final CycleService cycleService = mock(CycleService.class);
+	private final MockMvc mvc = MockMvcBuilders
+		.standaloneSetup(new WorkloadController(requestService, cycleService, new RequestDataVersion(true)))
+		.build();
+
+	@Test
+	void aNewCycleRetiresTheTagEvenWithoutWrites() throws Exception {
+		when(requestService.getSocialMediaManagerWorkload()).thenReturn(List.of());
+		when(cycleService.getCurrentPostingCycle()).thenReturn(new CycleService.CycleInfo(3, LocalDate.of(2026, 2, 16)));
+		String etag = mvc.perform(get("/api/workload/social-media-managers"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mvc.perform(get("/api/workload/social-media-managers").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified());
+		when(cycleService.getCurrentPostingCycle()).thenReturn(new CycleService.CycleInfo(4, LocalDate.of(2026, 3, 2)));
+		mvc.perform(get("/api/workload/social-media-managers").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk());
+
+		verify(requestService, times(2)).getSocialMediaManagerWorkload();
+	}
+}
@@ -0,0 +1,155 @@
+package com.ibrasoft.commandcentre.discord;
+
+import com.ibrasoft.commandcentre.config.DiscordConfig;
+import com.ibrasoft.commandcentre.model.DiscordGuild;
+import com.ibrasoft.commandcentre.service.DiscordService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** {@link DiscordApiClient} and the guild membership cache against a local stub of Discord's API. */
+class DiscordApiClientTest {
+
+	private static final String GUILDS = "/users/@me/guilds";
+	private static final String GUILD_JSON = "[{\"id\":\"42\",\"name\":\"Marketing\",\"permissions\":\"2147483648\"}]";
+	private static final ParameterizedTypeReference<List<DiscordGuild>> GUILD_LIST = new ParameterizedTypeReference<>() {};
+
+	private record StubResponse(int status, Map<String, String> headers, String body) {}
+
+	private record StubRequest(String authorization, long atMillis) {}
+
+	private HttpServer server;
+	private final ConcurrentLinkedQueue<StubResponse> responses = new ConcurrentLinkedQueue<>();
+	private final List<StubRequest> requests = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void startStub() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/api/v10" + GUILDS, exchange -> {
+			requests.add(new StubRequest(exchange.getRequestHeaders().getFirst("Authorization"), System.currentTimeMillis()));
+			StubResponse response = responses.poll();
+			if (response == null) {
+				response = new StubResponse(200, Map.of(), GUILD_JSON);
+			}
+			byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+			response.headers().forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(response.status(), body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void stopStub() {
+		server.stop(0);
+	}
+
+	private DiscordApiClient client(long maxWaitMillis) {
+		String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v10";
+		return new DiscordApiClient(RestClient.builder(), baseUrl, 2000, maxWaitMillis);
+	}
+
+	@Test
+	void retriesAfterRetryAfter() {
+		responses.add(new StubResponse(429, Map.of("Retry-After", "0.2"), "{\"retry_after\":0.2,\"global\":false}"));
+
+		List<DiscordGuild> guilds = client(5000).getAsUser(GUILDS, "token", GUILD_LIST);
+
+		assertEquals("42", guilds.get(0).getId());
+		assertEquals(2, requests.size());
+		assertTrue(requests.get(1).atMillis() - requests.get(0).atMillis() >= 190);
+	}
+
+	@Test
+	void waitsForExhaustedBucketToReset() {
+		responses.add(new StubResponse(200,
+			Map.of("X-RateLimit-Limit", "2", "X-RateLimit-Remaining", "0", "X-RateLimit-Reset-After", "0.3"), GUILD_JSON));
+		DiscordApiClient client = client(5000);
+
+		client.getAsUser(GUILDS, "token", GUILD_LIST);
+		client.getAsUser(GUILDS, "token", GUILD_LIST);
+
+		assertEquals(2, requests.size());
+		assertTrue(requests.get(1).atMillis() - requests.get(0).atMillis() >= 290);
+	}
+
+	@Test
+	void bucketsArePerToken() {
+		responses.add(new StubResponse(200,
+			Map.of("X-RateLimit-Remaining", "0", "X-RateLimit-Reset-After", "30"), GUILD_JSON));
+		DiscordApiClient client = client(100);
+
+		client.getAsUser(GUILDS, "first", GUILD_LIST);
+		client.getAsUser(GUILDS, "second", GUILD_LIST);
+		assertThrows(DiscordRateLimitException.class, () -> client.getAsUser(GUILDS, "first", GUILD_LIST));
+
+		assertEquals(List.of("Bearer first", "Bearer second"), requests.stream().map(StubRequest::authorization).toList());
+	}
+
+	@Test
+	void failsFastWhenRetryAfterExceedsMaxWait() {
+		responses.add(new StubResponse(429, Map.of("Retry-After", "5"), "{\"retry_after\":5,\"global\":false}"));
+
+		DiscordRateLimitException e = assertThrows(DiscordRateLimitException.class,
+			() -> client(100).getAsUser(GUILDS, "token", GUILD_LIST));
+
+		assertTrue(e.getRetryAfterMillis() > 100);
+		assertEquals(1, requests.size());
+	}
+
+	@Test
+	void guildMembershipIsCached() {
+		DiscordConfig discordConfig = new DiscordConfig();
+		discordConfig.setId("42");
+		OAuth2AuthorizedClientService authorizedClients = mock(OAuth2AuthorizedClientService.class);
+		when(authorizedClients.<OAuth2AuthorizedClient>loadAuthorizedClient("discord", "1001")).thenReturn(authorizedClient("1001"));
+		DiscordService discordService = new DiscordService(discordConfig, authorizedClients, client(5000), 300, 30, 100);
+
+		for (int i = 0; i < 100; i++) {
+			assertTrue(discordService.isUserInRequiredGuild("1001"));
+		}
+
+		assertEquals(1, requests.size());
+	}
+
+	private static OAuth2AuthorizedClient authorizedClient(String userId) {
+		ClientRegistration registration = ClientRegistration.withRegistrationId("discord")
+			.clientId("client")
+			.authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+			.redirectUri("http://localhost/login/oauth2/code/discord")
+			.authorizationUri("http://localhost/oauth2/authorize")
+			.tokenUri("http://localhost/oauth2/token")
+			.build();
+		OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token-" + userId,
+			Instant.now(), Instant.now().plusSeconds(3600));
+		return new OAuth2AuthorizedClient(registration, userId, token);
+	}
+
+}
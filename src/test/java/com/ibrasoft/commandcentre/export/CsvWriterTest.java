@@ -0,0 +1,35 @@
+package com.ibrasoft.commandcentre.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** RFC 4180 quoting in {@link CsvWriter}. */
+class CsvWriterTest {
+
+	private static String row(Object... values) throws IOException {
+		StringWriter out = new StringWriter();
+		new CsvWriter(out).writeRow(values);
+		return out.toString();
+	}
+
+	@Test
+	void writesPlainValuesUnquotedAndNullsAsEmptyFields() throws IOException {
+		assertEquals("1,,Poster,2026-03-01\r\n", row(1L, null, "Poster", LocalDate.of(2026, 3, 1)));
+	}
+
+	@Test
+	void quotesFieldsWithDelimitersQuotesAndLineBreaks() throws IOException {
+		assertEquals("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",\"cr\rhere\"\r\n",
+			row("a,b", "say \"hi\"", "two\nlines", "cr\rhere"));
+	}
+
+	@Test
+	void leavesOtherPunctuationAndEmptyStringsAlone() throws IOException {
+		assertEquals("it's; fine,,\t\r\n", row("it's; fine", "", "\t"));
+	}
+}
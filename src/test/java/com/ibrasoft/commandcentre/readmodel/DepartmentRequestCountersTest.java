@@ -0,0 +1,188 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.DepartmentCount;
+import com.ibrasoft.commandcentre.model.DepartmentStatusCount;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import com.ibrasoft.commandcentre.service.RequestChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** {@link DepartmentRequestCounters} seeded from mocked GROUP BY rows and moved by change events. */
+class DepartmentRequestCountersTest {
+
+	private RequestRepository requestRepository;
+	private DepartmentRequestCounters counters;
+
+	@BeforeEach
+	void setUp() {
+		requestRepository = mock(RequestRepository.class);
+		when(requestRepository.countByDepartmentAndStatus()).thenReturn(List.of(
+			row(1L, "IN_QUEUE", 2),
+			row(1L, "DONE", 1),
+			row(2L, "IN_QUEUE", 1)));
+		counters = new DepartmentRequestCounters(requestRepository);
+		counters.load();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	/** Runs the after-completion callbacks a transaction manager would, then ends the fake transaction. */
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+	}
+
+	private static DepartmentStatusCount row(Long department, String status, long total) {
+		return new DepartmentStatusCount() {
+			@Override
+			public Long getRequesterDepartmentid() {
+				return department;
+			}
+
+			@Override
+			public String getStatus() {
+				return status;
+			}
+
+			@Override
+			public Long getTotalRequests() {
+				return total;
+			}
+		};
+	}
+
+	private static Request request(long channelId, Long department, RequestStatus status) {
+		return Request.builder().channelID(channelId).requesterDepartmentID(department).status(status).build();
+	}
+
+	private void change(AuditEventType type, Request previous, Request current) {
+		Long channelId = current != null ? current.getChannelID() : previous.getChannelID();
+		counters.onRequestChanged(new RequestChangedEvent(type, channelId, previous, current));
+	}
+
+	private Map<Long, DepartmentCount> byDepartment() {
+		Map<Long, DepartmentCount> result = new HashMap<>();
+		counters.snapshot().forEach(count -> result.put(count.requesterDepartmentid(), count));
+		return result;
+	}
+
+	@Test
+	void reportsLoadedCountsLargestDepartmentFirst() {
+		assertEquals(List.of(
+			new DepartmentCount(1L, 3, Map.of(RequestStatus.IN_QUEUE, 2L, RequestStatus.DONE, 1L)),
+			new DepartmentCount(2L, 1, Map.of(RequestStatus.IN_QUEUE, 1L))), counters.snapshot());
+	}
+
+	@Test
+	void unknownAndMissingStatusesCountTowardsTheTotalOnly() {
+		when(requestRepository.countByDepartmentAndStatus()).thenReturn(List.of(
+			row(null, "IN_QUEUE", 1), row(null, null, 2), row(null, "RETIRED", 3)));
+		counters.load();
+
+		assertEquals(List.of(new DepartmentCount(null, 6, Map.of(RequestStatus.IN_QUEUE, 1L))), counters.snapshot());
+	}
+
+	@Test
+	void createAndDeleteMoveOneCount() {
+		change(AuditEventType.CREATE, null, request(10L, 3L, RequestStatus.IN_QUEUE));
+		change(AuditEventType.DELETE, request(11L, 1L, RequestStatus.DONE), null);
+
+		Map<Long, DepartmentCount> counts = byDepartment();
+		assertEquals(Map.of(RequestStatus.IN_QUEUE, 1L), counts.get(3L).byStatus());
+		assertEquals(new DepartmentCount(1L, 2, Map.of(RequestStatus.IN_QUEUE, 2L)), counts.get(1L));
+	}
+
+	@Test
+	void statusAndDepartmentChangesMoveTheCountAcross() {
+		change(AuditEventType.STATUS_CHANGE, request(10L, 1L, RequestStatus.IN_QUEUE), request(10L, 1L, RequestStatus.IN_PROGRESS));
+		change(AuditEventType.DEPARTMENT_UPDATE, request(12L, 2L, RequestStatus.IN_QUEUE), request(12L, 1L, RequestStatus.IN_QUEUE));
+
+		assertEquals(List.of(new DepartmentCount(1L, 4, Map.of(
+			RequestStatus.IN_QUEUE, 2L, RequestStatus.IN_PROGRESS, 1L, RequestStatus.DONE, 1L))), counters.snapshot());
+	}
+
+	@Test
+	void ignoresChangesThatKeepDepartmentAndStatus() {
+		change(AuditEventType.ASSIGN, request(10L, 2L, RequestStatus.IN_QUEUE), request(10L, 2L, RequestStatus.IN_QUEUE));
+
+		assertEquals(1, byDepartment().get(2L).totalRequests());
+	}
+
+	@Test
+	void reconcileReplacesDriftedCounters() {
+		change(AuditEventType.CREATE, null, request(10L, 9L, RequestStatus.IN_QUEUE));
+		when(requestRepository.countByDepartmentAndStatus()).thenReturn(List.of(row(2L, "DONE", 4)));
+
+		counters.reconcile();
+
+		assertEquals(List.of(new DepartmentCount(2L, 4, Map.of(RequestStatus.DONE, 4L))), counters.snapshot());
+	}
+
+	@Test
+	void reconcileIsSkippedWhenAChangeLandsDuringTheCount() {
+		when(requestRepository.countByDepartmentAndStatus()).thenAnswer(invocation -> {
+			change(AuditEventType.CREATE, null, request(10L, 2L, RequestStatus.IN_QUEUE));
+			return List.of(row(2L, "IN_QUEUE", 2));
+		});
+
+		counters.reconcile();
+
+		// The counters keep their own tally: department 1 is still there, department 2 has the new request.
+		Map<Long, DepartmentCount> counts = byDepartment();
+		assertEquals(3, counts.get(1L).totalRequests());
+		assertEquals(2, counts.get(2L).totalRequests());
+	}
+
+	@Test
+	void reconcileDuringACommitDoesNotDoubleCountIt() {
+		TransactionSynchronizationManager.initSynchronization();
+		change(AuditEventType.CREATE, null, request(10L, 2L, RequestStatus.IN_QUEUE));
+		// The commit is already visible to the GROUP BY, but its change has not been applied yet.
+		when(requestRepository.countByDepartmentAndStatus()).thenReturn(List.of(
+			row(1L, "IN_QUEUE", 2),
+			row(1L, "DONE", 1),
+			row(2L, "IN_QUEUE", 2)));
+
+		counters.reconcile();
+		assertEquals(1, byDepartment().get(2L).totalRequests());
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		assertEquals(2, byDepartment().get(2L).totalRequests());
+
+		counters.reconcile();
+		assertEquals(2, byDepartment().get(2L).totalRequests());
+	}
+
+	@Test
+	void rolledBackChangesAreNotAppliedAndUnblockReconcile() {
+		TransactionSynchronizationManager.initSynchronization();
+		change(AuditEventType.DELETE, request(11L, 1L, RequestStatus.DONE), null);
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		assertEquals(3, byDepartment().get(1L).totalRequests());
+
+		when(requestRepository.countByDepartmentAndStatus()).thenReturn(List.of(row(2L, "DONE", 4)));
+		counters.reconcile();
+		assertEquals(List.of(new DepartmentCount(2L, 4, Map.of(RequestStatus.DONE, 4L))), counters.snapshot());
+	}
+}
@@ -0,0 +1,248 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestCursor;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestSummary;
+import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import com.ibrasoft.commandcentre.service.RequestChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** {@link InMemoryRequestStore} fed from a mocked repository and hand-made change events. */
+class InMemoryRequestStoreTest {
+
+	private static final LocalDate MARCH_1 = LocalDate.of(2026, 3, 1);
+
+	private RequestRepository requestRepository;
+	private InMemoryRequestStore store;
+
+	@BeforeEach
+	void setUp() {
+		requestRepository = mock(RequestRepository.class);
+		when(requestRepository.findAll()).thenReturn(List.of());
+		store = new InMemoryRequestStore(requestRepository);
+		store.load();
+	}
+
+	private static Request request(long channelId, RequestStatus status, long version) {
+		return Request.builder()
+			.channelID(channelId)
+			.mainMessageID(channelId)
+			.status(status)
+			.version(version)
+			.createdAt(LocalDateTime.now())
+			.updatedAt(LocalDateTime.now())
+			.build();
+	}
+
+	private static Request request(long channelId, RequestType type, Long assignedToID, Long requesterID, LocalDate postingDate) {
+		Request request = request(channelId, RequestStatus.IN_QUEUE, 0L);
+		request.setRequestType(type);
+		request.setAssignedToID(assignedToID);
+		request.setRequesterID(requesterID);
+		request.setPostingDate(postingDate);
+		return request;
+	}
+
+	/** Five requests: two on March 1st, one each on the 2nd and 3rd, and one undated. */
+	private void loadSample() {
+		when(requestRepository.findAll()).thenReturn(List.of(
+			request(5L, RequestType.POST, null, 10L, null),
+			request(4L, RequestType.REEL, 7L, 10L, MARCH_1.plusDays(2)),
+			request(3L, RequestType.POST, 7L, 11L, MARCH_1),
+			request(2L, RequestType.POST, 8L, 10L, MARCH_1.plusDays(1)),
+			request(1L, RequestType.REEL, 7L, 11L, MARCH_1)));
+		store.load();
+	}
+
+	private static List<Long> ids(List<Request> requests) {
+		return requests.stream().map(Request::getChannelID).toList();
+	}
+
+	private void change(AuditEventType type, Request previous, Request current) {
+		Long channelId = current != null ? current.getChannelID() : previous.getChannelID();
+		store.onRequestChanged(new RequestChangedEvent(type, channelId, previous, current));
+	}
+
+	@Test
+	void ignoresChangesOlderThanTheStoredRow() {
+		Request created = request(1L, RequestStatus.IN_QUEUE, 0L);
+		Request inProgress = request(1L, RequestStatus.IN_PROGRESS, 1L);
+		Request done = request(1L, RequestStatus.DONE, 2L);
+		change(AuditEventType.CREATE, null, created);
+
+		// The second commit's listener runs before the first one's.
+		change(AuditEventType.STATUS_CHANGE, inProgress, done);
+		change(AuditEventType.STATUS_CHANGE, created, inProgress);
+
+		assertEquals(2L, store.findById(1L).orElseThrow().getVersion());
+		assertEquals(RequestStatus.DONE, store.findById(1L).orElseThrow().getStatus());
+		assertTrue(store.findByStatus(RequestStatus.IN_PROGRESS).isEmpty());
+		assertEquals(List.of(1L), store.findByStatus(RequestStatus.DONE).stream().map(Request::getChannelID).toList());
+	}
+
+	@Test
+	void appliesChangesAtTheStoredVersion() {
+		// Several operations of one batch share the version their flush wrote.
+		Request before = request(1L, RequestStatus.IN_QUEUE, 0L);
+		change(AuditEventType.CREATE, null, before);
+		Request first = request(1L, RequestStatus.IN_PROGRESS, 1L);
+		Request second = request(1L, RequestStatus.AWAITING_POSTING, 1L);
+
+		change(AuditEventType.STATUS_CHANGE, before, first);
+		change(AuditEventType.STATUS_CHANGE, first, second);
+
+		assertEquals(RequestStatus.AWAITING_POSTING, store.findById(1L).orElseThrow().getStatus());
+	}
+
+	@Test
+	void loadReplacesTheStoreWithEveryRowInListingOrder() {
+		change(AuditEventType.CREATE, null, request(99L, RequestStatus.IN_QUEUE, 0L));
+
+		loadSample();
+
+		assertEquals(List.of(1L, 3L, 2L, 4L, 5L), ids(store.find(RequestFilter.none(), null, Pageable.unpaged())));
+		assertTrue(store.findById(99L).isEmpty());
+	}
+
+	@Test
+	void filtersCombineAcrossIndexes() {
+		loadSample();
+
+		assertEquals(List.of(3L, 2L, 5L), ids(store.find(new RequestFilter(null, RequestType.POST, null, null, null, null), null, Pageable.unpaged())));
+		assertEquals(List.of(1L, 4L), ids(store.find(new RequestFilter(null, RequestType.REEL, 7L, null, null, null), null, Pageable.unpaged())));
+		assertEquals(List.of(2L, 4L, 5L), ids(store.findByRequester(10L)));
+		assertEquals(List.of(1L, 3L, 4L), ids(store.findByAssignee(7L)));
+		assertTrue(store.findByAssignee(42L).isEmpty());
+	}
+
+	@Test
+	void postingWindowIsInclusiveAndSkipsUndatedRequests() {
+		loadSample();
+
+		assertEquals(List.of(3L, 2L), ids(store.findByPostingWindow(RequestType.POST, MARCH_1, MARCH_1.plusDays(2))));
+		assertEquals(List.of(2L, 4L), ids(store.find(new RequestFilter(null, null, null, null, MARCH_1.plusDays(1), null), null, Pageable.unpaged())));
+		assertEquals(List.of(1L, 3L), ids(store.find(new RequestFilter(null, null, null, null, null, MARCH_1), null, Pageable.unpaged())));
+	}
+
+	@Test
+	void postingWindowBoundsMatchExactDates() {
+		loadSample();
+		LocalDate march2 = MARCH_1.plusDays(1);
+
+		assertEquals(List.of(2L), ids(store.findByPostingWindow(null, march2, march2)));
+		assertEquals(List.of(1L, 3L), ids(store.findByPostingWindow(null, MARCH_1.minusDays(14), MARCH_1)));
+		assertEquals(List.of(4L), ids(store.findByPostingWindow(RequestType.REEL, march2, MARCH_1.plusDays(14))));
+		assertTrue(store.findByPostingWindow(null, MARCH_1.minusDays(14), MARCH_1.minusDays(1)).isEmpty());
+		assertTrue(store.findByPostingWindow(null, MARCH_1.plusDays(2), MARCH_1.plusDays(1)).isEmpty());
+	}
+
+	@Test
+	void summariesFollowTheListingOrderFiltersAndCursor() {
+		loadSample();
+		RequestFilter posts = new RequestFilter(null, RequestType.POST, null, null, null, null);
+
+		List<RequestSummary> first = store.findSummaries(posts, null, PageRequest.ofSize(2));
+		List<RequestSummary> rest = store.findSummaries(posts, RequestCursor.after(first.get(1)), Pageable.unpaged());
+
+		assertEquals(List.of(
+			new RequestSummary(3L, null, RequestStatus.IN_QUEUE, RequestType.POST, 7L, MARCH_1),
+			new RequestSummary(2L, null, RequestStatus.IN_QUEUE, RequestType.POST, 8L, MARCH_1.plusDays(1))), first);
+		assertEquals(List.of(new RequestSummary(5L, null, RequestStatus.IN_QUEUE, RequestType.POST, null, null)), rest);
+	}
+
+	@Test
+	void keysetPagesResumeAfterTheCursorIntoTheUndatedTail() {
+		loadSample();
+		RequestFilter all = RequestFilter.none();
+
+		List<Request> first = store.find(all, null, PageRequest.ofSize(2));
+		List<Request> second = store.find(all, RequestCursor.after(first.get(1)), PageRequest.ofSize(2));
+		List<Request> last = store.find(all, RequestCursor.after(second.get(1)), PageRequest.ofSize(2));
+
+		assertEquals(List.of(1L, 3L), ids(first));
+		assertEquals(List.of(2L, 4L), ids(second));
+		assertEquals(List.of(5L), ids(last));
+		assertTrue(store.find(all, RequestCursor.after(last.get(0)), PageRequest.ofSize(2)).isEmpty());
+	}
+
+	@Test
+	void reindexesARowWhoseIndexedFieldsChanged() {
+		loadSample();
+		Request before = store.findById(3L).orElseThrow();
+		Request after = before.toBuilder().assignedToID(8L).status(RequestStatus.IN_PROGRESS)
+			.postingDate(MARCH_1.plusDays(5)).version(1L).build();
+
+		change(AuditEventType.UPDATE, before, after);
+
+		assertEquals(List.of(1L, 4L), ids(store.findByAssignee(7L)));
+		assertEquals(List.of(2L, 3L), ids(store.findByAssignee(8L)));
+		assertEquals(List.of(3L), ids(store.findByStatus(RequestStatus.IN_PROGRESS)));
+		assertEquals(List.of(1L, 2L, 4L, 3L, 5L), ids(store.find(RequestFilter.none(), null, Pageable.unpaged())));
+	}
+
+	@Test
+	void deleteRemovesTheRowFromEveryIndex() {
+		loadSample();
+		Request deleted = store.findById(1L).orElseThrow();
+
+		change(AuditEventType.DELETE, deleted, null);
+
+		assertTrue(store.findById(1L).isEmpty());
+		assertEquals(List.of(3L, 4L), ids(store.findByAssignee(7L)));
+		assertEquals(List.of(3L), ids(store.findByRequester(11L)));
+		assertEquals(List.of(4L), ids(store.find(new RequestFilter(null, RequestType.REEL, null, null, null, null), null, Pageable.unpaged())));
+		assertEquals(4, store.find(RequestFilter.none(), null, Pageable.unpaged()).size());
+	}
+
+	@Test
+	void keepsItsOwnCopyOfChangedRows() {
+		Request created = request(1L, RequestStatus.IN_QUEUE, 0L);
+		change(AuditEventType.CREATE, null, created);
+
+		// The service goes on using the entity it published.
+		created.setStatus(RequestStatus.DONE);
+
+		assertEquals(RequestStatus.IN_QUEUE, store.findById(1L).orElseThrow().getStatus());
+		assertEquals(List.of(1L), ids(store.findByStatus(RequestStatus.IN_QUEUE)));
+	}
+
+	@Test
+	void cursorBeforePostingFromStartsAtPostingFrom() {
+		loadSample();
+		RequestFilter fromSecond = new RequestFilter(null, null, null, null, MARCH_1.plusDays(1), null);
+
+		assertEquals(List.of(2L, 4L), ids(store.find(fromSecond, new RequestCursor(MARCH_1, 1L), Pageable.unpaged())));
+		assertEquals(List.of(4L), ids(store.find(fromSecond, new RequestCursor(MARCH_1.plusDays(1), 2L), Pageable.unpaged())));
+		assertTrue(store.find(fromSecond, new RequestCursor(null, 1L), Pageable.unpaged()).isEmpty());
+	}
+
+	@Test
+	void changingAReturnedRequestLeavesTheStoreAlone() {
+		loadSample();
+
+		store.findById(3L).orElseThrow().setStatus(RequestStatus.DONE);
+		store.find(RequestFilter.none(), null, Pageable.unpaged()).get(0).setPostingDate(MARCH_1.plusDays(9));
+		store.findByAssignee(7L).forEach(request -> request.setAssignedToID(99L));
+
+		assertEquals(RequestStatus.IN_QUEUE, store.findById(3L).orElseThrow().getStatus());
+		assertTrue(store.findByStatus(RequestStatus.DONE).isEmpty());
+		assertEquals(List.of(1L, 3L, 2L, 4L, 5L), ids(store.find(RequestFilter.none(), null, Pageable.unpaged())));
+		assertEquals(List.of(1L, 3L, 4L), ids(store.findByAssignee(7L)));
+	}
+}
@@ -0,0 +1,109 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import com.ibrasoft.commandcentre.service.RequestChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Ranking, prefix matching and updates of {@link RequestSearchIndex}. */
+class RequestSearchIndexTest {
+
+	private RequestSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		RequestRepository requestRepository = mock(RequestRepository.class);
+		when(requestRepository.findAll()).thenReturn(List.of(
+			request(1L, "Spring gala poster", "Print run for the gala"),
+			request(2L, "Weekly newsletter", "Mention the spring gala tickets"),
+			request(3L, "Gallery reel", "Short clips from the photo gallery"),
+			request(4L, "Orientation banner", null)));
+		index = new RequestSearchIndex(requestRepository);
+		index.load();
+	}
+
+	private static Request request(long channelId, String title, String description) {
+		return Request.builder().channelID(channelId).title(title).description(description).build();
+	}
+
+	private List<Long> ids(String query) {
+		return index.search(query, 0, 10).hits().stream().map(hit -> hit.request().channelID()).toList();
+	}
+
+	@Test
+	void ranksTitleMatchesAboveDescriptionMatches() {
+		assertEquals(List.of(1L, 2L), ids("spring gala"));
+	}
+
+	@Test
+	void requiresEveryTerm() {
+		assertEquals(List.of(2L), ids("gala tickets"));
+		assertTrue(ids("gala banner").isEmpty());
+	}
+
+	@Test
+	void matchesOnlyTheLastTermAsAPrefix() {
+		// "gallery" is rarer than "gala", so its single match outranks both gala requests.
+		assertEquals(List.of(3L, 1L, 2L), ids("gal"));
+		assertEquals(List.of(3L), ids("photo gall"));
+		assertTrue(ids("phot gallery").isEmpty());
+	}
+
+	@Test
+	void ignoresCaseAndPunctuation() {
+		assertEquals(List.of(4L), ids("  ORIENTATION, banner! "));
+		assertTrue(ids("--").isEmpty());
+	}
+
+	@Test
+	void pagesThroughTheRankedHits() {
+		RequestSearch.SearchResult page = index.search("gal", 1, 1);
+
+		assertEquals(3, page.total());
+		assertEquals(1, page.hits().size());
+		assertEquals(ids("gal").get(1), page.hits().get(0).request().channelID());
+	}
+
+	@Test
+	void reindexesChangedAndDeletedRequests() {
+		Request renamed = request(4L, "Orientation gala banner", null);
+		index.onRequestChanged(new RequestChangedEvent(AuditEventType.UPDATE, 4L, null, renamed));
+		index.onRequestChanged(new RequestChangedEvent(AuditEventType.DELETE, 1L, null, null));
+
+		assertEquals(List.of(3L, 4L, 2L), ids("gal"));
+		assertTrue(ids("poster").isEmpty());
+	}
+
+	@Test
+	void ignoresEventsDeliveredOutOfOrder() {
+		Request first = request(4L, "Orientation gala banner", null).toBuilder().version(1L).build();
+		Request second = request(4L, "Orientation welcome banner", null).toBuilder().version(2L).build();
+		index.onRequestChanged(new RequestChangedEvent(AuditEventType.UPDATE, 4L, null, second));
+		index.onRequestChanged(new RequestChangedEvent(AuditEventType.UPDATE, 4L, null, first));
+		// A delete of an older version does not remove the newer document either.
+		index.onRequestChanged(new RequestChangedEvent(AuditEventType.DELETE, 4L, first, null));
+
+		assertEquals(List.of(4L), ids("welcome"));
+		assertTrue(ids("gala banner").isEmpty());
+	}
+
+	@Test
+	void standaloneIndexDropsSubstringOnlyCandidates() {
+		// What JpaRequestSearch gets back from a LIKE '%gala%' scan.
+		RequestSearchIndex candidates = RequestSearchIndex.of(List.of(
+			request(1L, "Spring gala poster", null),
+			request(5L, "Regalia photos", null)));
+
+		assertEquals(List.of(1L), candidates.search("gala", 0, 10).hits().stream()
+			.map(hit -> hit.request().channelID()).toList());
+	}
+}
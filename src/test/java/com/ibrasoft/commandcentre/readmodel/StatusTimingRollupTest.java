@@ -0,0 +1,142 @@
+package com.ibrasoft.commandcentre.readmodel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibrasoft.commandcentre.archive.AuditSegmentStore;
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.audit.AuditMetadata;
+import com.ibrasoft.commandcentre.auditstore.AuditEventStore;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.model.StatusTimingReport;
+import com.ibrasoft.commandcentre.service.AuditEventsRecordedEvent;
+import com.ibrasoft.commandcentre.service.CycleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** {@link StatusTimingRollup} replaying mocked live and archived audit events. */
+class StatusTimingRollupTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 5, 9, 0);
+	private static final long HOUR = 3600;
+
+	private AuditEventStore auditEventStore;
+	private AuditSegmentStore auditSegmentStore;
+	private StatusTimingRollup rollup;
+
+	@BeforeEach
+	void setUp() {
+		auditEventStore = mock(AuditEventStore.class);
+		auditSegmentStore = mock(AuditSegmentStore.class);
+		RequestReadModel requestReadModel = mock(RequestReadModel.class);
+		when(requestReadModel.findAllById(anyCollection())).thenReturn(List.of(
+			request(1L, RequestType.POST), request(2L, RequestType.REEL), request(3L, RequestType.POST)));
+		rollup = new StatusTimingRollup(auditEventStore, auditSegmentStore, requestReadModel,
+			mock(CycleService.class), new ObjectMapper());
+	}
+
+	private static Request request(long channelId, RequestType type) {
+		return Request.builder().channelID(channelId).requestType(type).build();
+	}
+
+	private static AuditEvent event(long id, long channelId, AuditEventType type, LocalDateTime at,
+	                                RequestStatus from, RequestStatus to) {
+		AuditEvent event = new AuditEvent();
+		event.setId(id);
+		event.applyEventType(type);
+		event.setEntityType("Request");
+		event.setEntityId(channelId);
+		event.setEventTimestamp(at);
+		if (to != null) {
+			event.setMetadata(AuditMetadata.statusChange(from, to));
+		}
+		return event;
+	}
+
+	private void history(List<AuditEvent> archived, List<AuditEvent> live) {
+		when(auditSegmentStore.findForReplay(eq("Request"), anyCollection())).thenReturn(archived);
+		when(auditEventStore.findForReplay(eq("Request"), anyCollection())).thenReturn(live);
+	}
+
+	private static Map<String, StatusTimingReport.Group> byKey(StatusTimingReport report) {
+		return report.groups().stream()
+			.collect(Collectors.toMap(StatusTimingReport.Group::key, group -> group));
+	}
+
+	@Test
+	void replaysArchivedAndLiveEventsOnceEach() {
+		AuditEvent advanced = event(2, 1L, AuditEventType.STATUS_ADVANCE, T0.plusHours(1),
+			RequestStatus.IN_QUEUE, RequestStatus.IN_PROGRESS);
+		history(
+			List.of(event(1, 1L, AuditEventType.CREATE, T0, null, RequestStatus.IN_QUEUE), advanced),
+			// An interrupted archival run left event 2 in both places.
+			List.of(advanced, event(3, 1L, AuditEventType.STATUS_CHANGE, T0.plusHours(3),
+				RequestStatus.IN_PROGRESS, RequestStatus.DONE)));
+
+		rollup.backfill();
+
+		StatusTimingReport.Group all = rollup.report("none", null, null, null).groups().get(0);
+		assertEquals(1, all.requests());
+		assertEquals(new StatusTimingReport.DurationStats(1, 3 * HOUR, 3 * HOUR, 3 * HOUR, 3 * HOUR), all.leadTime());
+		assertEquals(new StatusTimingReport.DurationStats(1, HOUR, HOUR, HOUR, HOUR), all.timeInStatus().get(RequestStatus.IN_QUEUE));
+		assertEquals(2 * HOUR, all.timeInStatus().get(RequestStatus.IN_PROGRESS).maxSeconds());
+	}
+
+	@Test
+	void readsStatusMovesFromTheDetailsOfOldEvents() {
+		AuditEvent created = event(1, 2L, AuditEventType.CREATE, T0, null, null);
+		AuditEvent blocked = event(2, 2L, AuditEventType.STATUS_CHANGE, T0.plusHours(2), null, null);
+		blocked.setEventDetails("Status changed from in queue to blocked");
+		history(List.of(created), List.of(blocked));
+
+		rollup.backfill();
+
+		StatusTimingReport.Group reel = rollup.report("type", null, null, null).groups().get(0);
+		assertEquals("REEL", reel.key());
+		assertEquals(0, reel.leadTime().count());
+		assertEquals(2 * HOUR, reel.timeInStatus().get(RequestStatus.IN_QUEUE).p50Seconds());
+	}
+
+	@Test
+	void dropsDeletedRequests() {
+		history(List.of(), List.of(
+			event(1, 3L, AuditEventType.CREATE, T0, null, RequestStatus.IN_QUEUE),
+			event(2, 3L, AuditEventType.DELETE, T0.plusHours(1), null, null)));
+
+		rollup.backfill();
+
+		assertEquals(List.of(), rollup.report("none", null, null, null).groups());
+	}
+
+	@Test
+	void extendsTimelinesFromRecordedEventsAndGroupsByType() {
+		history(List.of(), List.of());
+		rollup.backfill();
+
+		rollup.onAuditEventsRecorded(new AuditEventsRecordedEvent(List.of(
+			event(1, 1L, AuditEventType.CREATE, T0, null, RequestStatus.IN_QUEUE),
+			event(2, 2L, AuditEventType.CREATE, T0, null, RequestStatus.IN_QUEUE))));
+		rollup.onAuditEventsRecorded(new AuditEventsRecordedEvent(List.of(
+			event(3, 1L, AuditEventType.STATUS_CHANGE, T0.plusHours(4), RequestStatus.IN_QUEUE, RequestStatus.DONE),
+			event(4, 2L, AuditEventType.STATUS_ADVANCE, T0.plusHours(1), RequestStatus.IN_QUEUE, RequestStatus.IN_PROGRESS))));
+
+		Map<String, StatusTimingReport.Group> groups = byKey(rollup.report("type", null, null, null));
+		assertEquals(4 * HOUR, groups.get("POST").leadTime().p50Seconds());
+		assertEquals(0, groups.get("REEL").leadTime().count());
+		assertEquals(HOUR, groups.get("REEL").timeInStatus().get(RequestStatus.IN_QUEUE).p50Seconds());
+		assertEquals(List.of("REEL"), rollup.report("type", RequestType.REEL, null, null).groups().stream()
+			.map(StatusTimingReport.Group::key).toList());
+	}
+}
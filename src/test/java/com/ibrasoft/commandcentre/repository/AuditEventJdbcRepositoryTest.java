@@ -0,0 +1,108 @@
+package com.ibrasoft.commandcentre.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.AuditDailyCount;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** {@link AuditEventJdbcRepository} daily-count upserts against an in-memory SQLite database. */
+class AuditEventJdbcRepositoryTest {
+
+	private static final LocalDate MARCH_1 = LocalDate.of(2026, 3, 1);
+	private static final LocalDate MARCH_2 = MARCH_1.plusDays(1);
+
+	private SingleConnectionDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private AuditEventJdbcRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("""
+			CREATE TABLE audit_daily_counts (
+			    id INTEGER PRIMARY KEY AUTOINCREMENT,
+			    day DATE NOT NULL,
+			    event_type VARCHAR(255) NOT NULL,
+			    actor VARCHAR(255) NOT NULL,
+			    event_count BIGINT NOT NULL,
+			    CONSTRAINT uk_audit_daily_counts_bucket UNIQUE (day, event_type, actor)
+			)
+			""");
+		repository = new AuditEventJdbcRepository(jdbcTemplate, new ObjectMapper());
+	}
+
+	@AfterEach
+	void tearDown() {
+		dataSource.destroy();
+	}
+
+	private static AuditEvent event(AuditEventType type, Actor actor, LocalDateTime timestamp) {
+		AuditEvent event = new AuditEvent();
+		event.applyEventType(type);
+		event.setEntityType("REQUEST");
+		event.setEntityId(1L);
+		event.applyActor(actor);
+		event.setEventTimestamp(timestamp);
+		return event;
+	}
+
+	/** Every bucket as {@code day eventType actor = count}, in key order. */
+	private List<String> buckets() {
+		return jdbcTemplate.query("SELECT day, event_type, actor, event_count FROM audit_daily_counts"
+				+ " ORDER BY day, event_type, actor",
+			(rs, i) -> rs.getDate("day").toLocalDate() + " " + rs.getString("event_type") + " "
+				+ rs.getString("actor") + " = " + rs.getLong("event_count"));
+	}
+
+	@Test
+	void splitsEventsAtMidnightIntoTheirOwnDays() {
+		repository.insertDerived(List.of(
+			event(AuditEventType.UPDATE, Actor.user(100L), MARCH_1.atTime(23, 59, 59, 999_999_999)),
+			event(AuditEventType.UPDATE, Actor.user(100L), MARCH_2.atStartOfDay()),
+			event(AuditEventType.UPDATE, Actor.user(100L), MARCH_1.atStartOfDay())));
+
+		assertEquals(List.of(
+			MARCH_1 + " UPDATE user:100 = 2",
+			MARCH_2 + " UPDATE user:100 = 1"), buckets());
+	}
+
+	@Test
+	void laterBatchesAddToExistingBucketsInsteadOfDuplicatingThem() {
+		LocalDateTime lateMarch1 = MARCH_1.atTime(23, 30);
+		repository.insertDerived(List.of(event(AuditEventType.STATUS_CHANGE, Actor.user(100L), lateMarch1)));
+		repository.insertDerived(List.of(
+			event(AuditEventType.STATUS_CHANGE, Actor.user(100L), lateMarch1.plusMinutes(29)),
+			event(AuditEventType.STATUS_CHANGE, Actor.user(100L), lateMarch1.plusMinutes(31))));
+		repository.addDailyCounts(Map.of(new AuditDailyCount.Bucket(MARCH_1, "STATUS_CHANGE", "user:100"), 5L));
+
+		assertEquals(List.of(
+			MARCH_1 + " STATUS_CHANGE user:100 = 7",
+			MARCH_2 + " STATUS_CHANGE user:100 = 1"), buckets());
+	}
+
+	@Test
+	void countsAUserActingThroughTheBotAsThatUser() {
+		repository.insertDerived(List.of(
+			event(AuditEventType.CREATE, Actor.user(100L), MARCH_1.atTime(9, 0)),
+			event(AuditEventType.CREATE, Actor.botOnBehalfOf("bot", 100L), MARCH_1.atTime(10, 0)),
+			event(AuditEventType.CREATE, Actor.bot("bot"), MARCH_1.atTime(11, 0))));
+
+		assertEquals(List.of(
+			MARCH_1 + " CREATE bot:bot = 1",
+			MARCH_1 + " CREATE user:100 = 2"), buckets());
+	}
+}
@@ -0,0 +1,92 @@
+package com.ibrasoft.commandcentre.repository;
+
+import com.ibrasoft.commandcentre.model.AuditCursor;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/** The JPQL {@link AuditEventListingRepositoryImpl} sends for each kind of filter. */
+class AuditEventListingRepositoryImplTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+	private EntityManager entityManager;
+	private TypedQuery<AuditEvent> query;
+	private AuditEventListingRepositoryImpl repository;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		entityManager = mock(EntityManager.class);
+		query = mock(TypedQuery.class, RETURNS_SELF);
+		when(entityManager.createQuery(anyString(), eq(AuditEvent.class))).thenReturn(query);
+		repository = new AuditEventListingRepositoryImpl(entityManager);
+	}
+
+	@Test
+	void unfilteredPageHasNoWhereClause() {
+		repository.findPage(AuditEventFilter.none(), null, null, 50);
+
+		verify(entityManager).createQuery("SELECT e FROM AuditEvent e ORDER BY e.eventTimestamp DESC, e.id DESC", AuditEvent.class);
+		verify(query).setMaxResults(50);
+	}
+
+	@Test
+	void entityPageNamesOnlyTheEntityColumnsAndTheCursor() {
+		AuditCursor after = new AuditCursor(T0, 42L);
+
+		repository.findPage(AuditEventFilter.forEntity("Request", 7L), null, after, 20);
+
+		verify(entityManager).createQuery("SELECT e FROM AuditEvent e"
+			+ " WHERE e.entityType = :entityType AND e.entityId = :entityId"
+			+ " AND (e.eventTimestamp < :afterTimestamp OR (e.eventTimestamp = :afterTimestamp AND e.id < :afterId))"
+			+ " ORDER BY e.eventTimestamp DESC, e.id DESC", AuditEvent.class);
+		verify(query).setParameter("entityType", "Request");
+		verify(query).setParameter("entityId", 7L);
+		verify(query).setParameter("afterTimestamp", T0);
+		verify(query).setParameter("afterId", 42L);
+	}
+
+	@Test
+	void eventTypeIsMatchedByItsCode() {
+		repository.findPage(AuditEventFilter.forEventType("ASSIGN"), (short) 4, null, 10);
+
+		verify(entityManager).createQuery("SELECT e FROM AuditEvent e WHERE e.eventTypeCode = :eventTypeCode"
+			+ " ORDER BY e.eventTimestamp DESC, e.id DESC", AuditEvent.class);
+		verify(query).setParameter("eventTypeCode", (short) 4);
+	}
+
+	@Test
+	void streamUsesTheSameConditionsOldestFirst() {
+		AuditEventFilter filter = new AuditEventFilter(null, null, null, "user:1", 1L, T0, T0.plusDays(1));
+
+		repository.streamAll(filter, null);
+
+		verify(entityManager).createQuery("SELECT e FROM AuditEvent e"
+			+ " WHERE e.performedBy = :performedBy AND e.actorUserId = :actorUserId"
+			+ " AND e.eventTimestamp >= :from AND e.eventTimestamp <= :to"
+			+ " ORDER BY e.eventTimestamp ASC, e.id ASC", AuditEvent.class);
+		verify(query).setParameter("performedBy", "user:1");
+		verify(query).setParameter("actorUserId", 1L);
+		verify(query).setParameter("from", T0);
+		verify(query).setParameter("to", T0.plusDays(1));
+		verify(query).setHint(HibernateHints.HINT_FETCH_SIZE, AuditEventListingRepository.EXPORT_FETCH_SIZE);
+		verify(query).setHint(HibernateHints.HINT_READ_ONLY, true);
+		verify(query).getResultStream();
+		verifyNoMoreInteractions(query);
+	}
+}
@@ -0,0 +1,140 @@
+package com.ibrasoft.commandcentre.repository;
+
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestCursor;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestSummary;
+import com.ibrasoft.commandcentre.model.RequestType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/** The JPQL {@link RequestListingRepositoryImpl} sends for each listing variant. */
+class RequestListingRepositoryImplTest {
+
+	private static final String ORDER_BY = " ORDER BY r.postingDate ASC NULLS LAST, r.channelID ASC";
+	private static final LocalDate MARCH_1 = LocalDate.of(2026, 3, 1);
+
+	private EntityManager entityManager;
+	private TypedQuery<Request> query;
+	private TypedQuery<RequestSummary> summaryQuery;
+	private RequestListingRepositoryImpl repository;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		entityManager = mock(EntityManager.class);
+		query = mock(TypedQuery.class, RETURNS_SELF);
+		summaryQuery = mock(TypedQuery.class, RETURNS_SELF);
+		when(entityManager.createQuery(anyString(), eq(Request.class))).thenReturn(query);
+		when(entityManager.createQuery(anyString(), eq(RequestSummary.class))).thenReturn(summaryQuery);
+		repository = new RequestListingRepositoryImpl(entityManager);
+	}
+
+	@Test
+	void unfilteredUnpagedListingHasNoWhereClauseOrLimit() {
+		repository.findPage(RequestFilter.none(), null, Pageable.unpaged());
+
+		verify(entityManager).createQuery("SELECT r FROM Request r" + ORDER_BY, Request.class);
+		verify(query, never()).setMaxResults(anyInt());
+	}
+
+	@Test
+	void pageNamesOnlyTheFilteredColumnsAndTheCursor() {
+		RequestFilter filter = new RequestFilter(RequestStatus.IN_PROGRESS, null, 5L, null, MARCH_1, null);
+
+		repository.findPage(filter, new RequestCursor(MARCH_1, 40L), PageRequest.of(0, 25));
+
+		verify(entityManager).createQuery("SELECT r FROM Request r"
+			+ " WHERE r.status = :status AND r.assignedToID = :assignedToID AND r.postingDate >= :postingFrom"
+			+ " AND (r.postingDate IS NULL OR r.postingDate > :afterPostingDate"
+			+ " OR (r.postingDate = :afterPostingDate AND r.channelID > :afterChannelID))"
+			+ ORDER_BY, Request.class);
+		verify(query).setParameter("status", RequestStatus.IN_PROGRESS);
+		verify(query).setParameter("assignedToID", 5L);
+		verify(query).setParameter("postingFrom", MARCH_1);
+		verify(query).setParameter("afterPostingDate", MARCH_1);
+		verify(query).setParameter("afterChannelID", 40L);
+		verify(query).setMaxResults(25);
+	}
+
+	@Test
+	void postingWindowBindsBothInclusiveBounds() {
+		RequestFilter window = new RequestFilter(null, RequestType.REEL, null, null, MARCH_1, MARCH_1.plusDays(13));
+
+		repository.findPage(window, null, Pageable.unpaged());
+
+		verify(entityManager).createQuery("SELECT r FROM Request r"
+			+ " WHERE r.requestType = :requestType AND r.postingDate >= :postingFrom AND r.postingDate <= :postingTo"
+			+ ORDER_BY, Request.class);
+		verify(query).setParameter("postingFrom", MARCH_1);
+		verify(query).setParameter("postingTo", MARCH_1.plusDays(13));
+	}
+
+	@Test
+	void cursorAmongUndatedRequestsOnlyMovesOnByChannel() {
+		repository.findPage(RequestFilter.none(), new RequestCursor(null, 40L), PageRequest.of(0, 10));
+
+		verify(entityManager).createQuery("SELECT r FROM Request r"
+			+ " WHERE r.postingDate IS NULL AND r.channelID > :afterChannelID" + ORDER_BY, Request.class);
+		verify(query).setParameter("afterChannelID", 40L);
+	}
+
+	@Test
+	void summariesShareTheWhereClauseOfTheEntityListing() {
+		RequestFilter filter = new RequestFilter(null, RequestType.REEL, null, 9L, null, MARCH_1);
+
+		repository.findSummaryPage(filter, null, PageRequest.of(0, 10));
+
+		verify(entityManager).createQuery("SELECT new com.ibrasoft.commandcentre.model.RequestSummary("
+			+ "r.channelID, r.title, r.status, r.requestType, r.assignedToID, r.postingDate) FROM Request r"
+			+ " WHERE r.requestType = :requestType AND r.requesterID = :requesterID AND r.postingDate <= :postingTo"
+			+ ORDER_BY, RequestSummary.class);
+		verify(summaryQuery).setParameter("requestType", RequestType.REEL);
+		verify(summaryQuery).setParameter("requesterID", 9L);
+		verify(summaryQuery).setParameter("postingTo", MARCH_1);
+		verify(summaryQuery).setMaxResults(10);
+	}
+
+	@Test
+	void streamUsesTheSameConditionsWithExportHints() {
+		repository.streamAll(new RequestFilter(RequestStatus.DONE, null, null, null, null, null));
+
+		verify(entityManager).createQuery("SELECT r FROM Request r WHERE r.status = :status" + ORDER_BY, Request.class);
+		verify(query).setParameter("status", RequestStatus.DONE);
+		verify(query).setHint(HibernateHints.HINT_FETCH_SIZE, RequestListingRepository.EXPORT_FETCH_SIZE);
+		verify(query).setHint(HibernateHints.HINT_READ_ONLY, true);
+		verify(query).getResultStream();
+		verifyNoMoreInteractions(query);
+	}
+
+	@Test
+	void searchCandidatesMustContainEveryTermInTitleOrDescription() {
+		repository.findContainingAll(List.of("gala", "post"));
+
+		verify(entityManager).createQuery("SELECT r FROM Request r"
+			+ " WHERE (LOWER(r.title) LIKE :term0 OR LOWER(r.description) LIKE :term0)"
+			+ " AND (LOWER(r.title) LIKE :term1 OR LOWER(r.description) LIKE :term1)"
+			+ ORDER_BY, Request.class);
+		verify(query).setParameter("term0", "%gala%");
+		verify(query).setParameter("term1", "%post%");
+	}
+}
@@ -0,0 +1,117 @@
+package com.ibrasoft.commandcentre.security;
+
+import com.ibrasoft.commandcentre.config.DiscordConfig;
+import com.ibrasoft.commandcentre.model.Role;
+import com.ibrasoft.commandcentre.service.DiscordService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/** {@link DiscordGuildFilter} in the {@code token} mode: the guild claim decides, without sessions or Discord calls. */
+class DiscordGuildFilterTest {
+
+	private static final String GUILD_ID = "guild-1";
+
+	private final DiscordService discordService = mock(DiscordService.class);
+	private DiscordGuildFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		DiscordConfig discordConfig = mock(DiscordConfig.class);
+		when(discordConfig.getId()).thenReturn(GUILD_ID);
+		filter = new DiscordGuildFilter(discordService, discordConfig, "token");
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	private static void authenticate(JwtClaims claims) {
+		UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(claims.subject(), null,
+			claims.roles().stream().map(SimpleGrantedAuthority::new).toList());
+		authentication.setDetails(claims);
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+	}
+
+	private static MockHttpServletRequest apiRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/requests");
+		request.setServletPath("/api/requests");
+		request.addHeader("Authorization", "Bearer token");
+		return request;
+	}
+
+	private static JwtClaims user(String guildId, Instant verifiedUntil) {
+		return new JwtClaims("user", List.of(Role.ROLE_USER.name()), guildId, verifiedUntil);
+	}
+
+	@Test
+	void rejectsAUserTokenWithoutTheGuildClaim() throws Exception {
+		authenticate(new JwtClaims("user", List.of(Role.ROLE_USER.name())));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(apiRequest(), response, chain);
+
+		assertEquals(401, response.getStatus());
+		assertNull(chain.getRequest());
+	}
+
+	@Test
+	void rejectsAnExpiredOrForeignGuildClaim() throws Exception {
+		for (JwtClaims claims : List.of(
+				user(GUILD_ID, Instant.now().minus(Duration.ofMinutes(1))),
+				user("other-guild", Instant.now().plus(Duration.ofHours(1))))) {
+			authenticate(claims);
+			MockHttpServletResponse response = new MockHttpServletResponse();
+
+			filter.doFilter(apiRequest(), response, new MockFilterChain());
+
+			assertEquals(401, response.getStatus(), claims.toString());
+		}
+	}
+
+	@Test
+	void letsACurrentGuildClaimThroughWithoutASession() throws Exception {
+		authenticate(user(GUILD_ID, Instant.now().plus(Duration.ofHours(1))));
+		MockHttpServletRequest request = apiRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(request, response, chain);
+
+		assertEquals(200, response.getStatus());
+		assertNotNull(chain.getRequest());
+		assertNull(request.getSession(false));
+		verifyNoInteractions(discordService);
+	}
+
+	@Test
+	void exemptsBotTokens() throws Exception {
+		authenticate(new JwtClaims("bot", List.of(Role.ROLE_BOT.name())));
+		MockHttpServletRequest request = apiRequest();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		assertNotNull(chain.getRequest());
+		assertNull(request.getSession(false));
+	}
+}
@@ -0,0 +1,81 @@
+package com.ibrasoft.commandcentre.security;
+
+import com.ibrasoft.commandcentre.model.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Per-request cost of {@link JwtService#parseToken} for a repeatedly presented bot token: the
+ * previous per-call key and parser construction, the shared parser alone, and the verified-token
+ * cache. Timings are printed, not asserted. Excluded from the default build; run it with
+ * {@code mvn test -Dgroups=benchmark -Dtest.excludedGroups=}.
+ */
+@Tag("benchmark")
+class JwtServiceBenchmarkTest {
+
+	private static final String SECRET = Base64.getEncoder()
+		.encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+	private static final String ISSUER = "command-centre";
+	private static final int WARMUP = 2_000;
+	private static final int ITERATIONS = 20_000;
+
+	private static JwtService service(SimpleMeterRegistry registry, int cacheSize) {
+		return new JwtService(registry, SECRET, ISSUER, 604800, 31536000, cacheSize);
+	}
+
+	@Test
+	void parseTokenCost() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		JwtService cached = service(registry, 10_000);
+		JwtService uncached = service(new SimpleMeterRegistry(), 0);
+		String token = cached.generateBotToken("bot", List.of(Role.ROLE_BOT));
+		JwtClaims expected = new JwtClaims("bot", List.of("ROLE_BOT"));
+
+		// What parseToken did before: decode the secret and build the key and parser on every call.
+		Supplier<JwtClaims> perCall = () -> {
+			Claims claims = Jwts.parserBuilder()
+				.setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+				.requireIssuer(ISSUER)
+				.build()
+				.parseClaimsJws(token)
+				.getBody();
+			return new JwtClaims(claims.getSubject(), List.copyOf(claims.get("roles", List.class)));
+		};
+
+		double perCallNanos = measure(perCall, expected);
+		double sharedParserNanos = measure(() -> uncached.parseToken(token), expected);
+		double cachedNanos = measure(() -> cached.parseToken(token), expected);
+
+		System.out.printf("JwtService.parseToken per request: per-call parser %.0f ns, shared parser %.0f ns, verified cache %.0f ns%n",
+			perCallNanos, sharedParserNanos, cachedNanos);
+
+		assertEquals(1.0, registry.get("security.jwt.verified.cache").tag("result", "miss").counter().count());
+		assertEquals(WARMUP + ITERATIONS - 1.0, registry.get("security.jwt.verified.cache").tag("result", "hit").counter().count());
+	}
+
+	private static double measure(Supplier<JwtClaims> parse, JwtClaims expected) {
+		for (int i = 0; i < WARMUP; i++) {
+			assertEquals(expected, parse.get());
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			if (!expected.equals(parse.get())) {
+				throw new AssertionError("Unexpected claims");
+			}
+		}
+		return (System.nanoTime() - start) / (double) ITERATIONS;
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.ibrasoft.commandcentre.security;
+
+import com.ibrasoft.commandcentre.model.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** {@link JwtService} token round trips and the verified-token cache, on a clock the test moves. */
+class JwtServiceTest {
+
+	private static final String SECRET = Base64.getEncoder()
+		.encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+	private static final long USER_TTL_SECONDS = 60;
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T09:00:00Z"));
+
+	private JwtService service(int cacheSize) {
+		return new JwtService(registry, SECRET, "command-centre", USER_TTL_SECONDS, 3600, cacheSize, clock);
+	}
+
+	private double cache(String result) {
+		return registry.get("security.jwt.verified.cache").tag("result", result).counter().count();
+	}
+
+	@Test
+	void cachedTokenStillExpires() {
+		JwtService service = service(10);
+		String token = service.generateUserToken("user", List.of(Role.ROLE_USER));
+		JwtClaims expected = new JwtClaims("user", List.of("ROLE_USER"));
+
+		assertEquals(expected, service.parseToken(token));
+		clock.advance(Duration.ofSeconds(USER_TTL_SECONDS - 1));
+		assertEquals(expected, service.parseToken(token));
+		// The cache drops the entry at exp; jjwt itself only rejects the token once past it.
+		clock.advance(Duration.ofSeconds(2));
+
+		assertThrows(ExpiredJwtException.class, () -> service.parseToken(token));
+		assertEquals(1.0, cache("hit"));
+		assertEquals(2.0, cache("miss"));
+	}
+
+	@Test
+	void expiredTokenIsRejectedWithoutTheCache() {
+		String token = service(10).generateUserToken("user", List.of(Role.ROLE_USER));
+		clock.advance(Duration.ofSeconds(USER_TTL_SECONDS + 1));
+
+		assertThrows(ExpiredJwtException.class, () -> service(0).parseToken(token));
+	}
+
+	/** A clock that only moves when told to. */
+	private static final class MutableClock extends Clock {
+
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.ibrasoft.commandcentre.security;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** {@link SignedCookieAuthorizationRequestRepository} round trips and the cookies it refuses to load. */
+class SignedCookieAuthorizationRequestRepositoryTest {
+
+	private static final String SECRET = Base64.getEncoder()
+		.encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+	private static final long NOW = 1_772_355_600_000L;
+
+	private final Clock clock = mock(Clock.class);
+	private SignedCookieAuthorizationRequestRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		when(clock.millis()).thenReturn(NOW);
+		repository = new SignedCookieAuthorizationRequestRepository(SECRET, clock);
+	}
+
+	private static OAuth2AuthorizationRequest authorizationRequest() {
+		return OAuth2AuthorizationRequest.authorizationCode()
+			.authorizationUri("https://discord.com/oauth2/authorize")
+			.clientId("client")
+			.redirectUri("http://localhost:8080/login/oauth2/code/discord")
+			.scopes(Set.of("identify", "guilds"))
+			.state("state-1")
+			.attributes(attributes -> attributes.put("registration_id", "discord"))
+			.build();
+	}
+
+	/** The cookie value the repository set on {@code response}. */
+	private static String cookieValue(MockHttpServletResponse response) {
+		String header = response.getHeader(HttpHeaders.SET_COOKIE);
+		assertNotNull(header);
+		String prefix = SignedCookieAuthorizationRequestRepository.COOKIE_NAME + "=";
+		assertTrue(header.startsWith(prefix), header);
+		return header.substring(prefix.length(), header.indexOf(';'));
+	}
+
+	private static MockHttpServletRequest requestWithCookie(String value) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/login/oauth2/code/discord");
+		request.setCookies(new Cookie(SignedCookieAuthorizationRequestRepository.COOKIE_NAME, value));
+		return request;
+	}
+
+	private String savedCookie() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveAuthorizationRequest(authorizationRequest(), new MockHttpServletRequest(), response);
+		return cookieValue(response);
+	}
+
+	@Test
+	void roundTripsTheRequestThroughTheCookieWithoutASession() {
+		MockHttpServletRequest saveRequest = new MockHttpServletRequest("GET", "/oauth2/authorization/discord");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveAuthorizationRequest(authorizationRequest(), saveRequest, response);
+
+		MockHttpServletRequest callback = requestWithCookie(cookieValue(response));
+		OAuth2AuthorizationRequest loaded = repository.loadAuthorizationRequest(callback);
+
+		assertNotNull(loaded);
+		assertEquals("state-1", loaded.getState());
+		assertEquals("client", loaded.getClientId());
+		assertEquals(Set.of("identify", "guilds"), loaded.getScopes());
+		assertEquals("discord", loaded.getAttribute("registration_id"));
+		assertNull(saveRequest.getSession(false));
+		assertNull(callback.getSession(false));
+	}
+
+	@Test
+	void removeReturnsTheRequestAndExpiresTheCookie() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		OAuth2AuthorizationRequest removed = repository.removeAuthorizationRequest(requestWithCookie(savedCookie()), response);
+
+		assertEquals("state-1", removed.getState());
+		assertTrue(response.getHeader(HttpHeaders.SET_COOKIE).contains("Max-Age=0"));
+	}
+
+	@Test
+	void rejectsATamperedCookie() {
+		String value = savedCookie();
+		String tampered = (value.charAt(0) == 'A' ? 'B' : 'A') + value.substring(1);
+
+		assertNull(repository.loadAuthorizationRequest(requestWithCookie(tampered)));
+		assertNull(repository.loadAuthorizationRequest(requestWithCookie(value.substring(0, value.indexOf('.')))));
+	}
+
+	@Test
+	void rejectsACookieSignedWithAnotherSecret() {
+		String otherSecret = Base64.getEncoder()
+			.encodeToString("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.US_ASCII));
+		String value = new SignedCookieAuthorizationRequestRepository(otherSecret, clock).encode(authorizationRequest());
+
+		assertNull(repository.loadAuthorizationRequest(requestWithCookie(value)));
+	}
+
+	@Test
+	void rejectsAnExpiredCookie() {
+		String value = savedCookie();
+		when(clock.millis()).thenReturn(NOW + SignedCookieAuthorizationRequestRepository.MAX_AGE.toMillis());
+		assertNotNull(repository.loadAuthorizationRequest(requestWithCookie(value)));
+
+		when(clock.millis()).thenReturn(NOW + SignedCookieAuthorizationRequestRepository.MAX_AGE.toMillis() + 1);
+		assertNull(repository.loadAuthorizationRequest(requestWithCookie(value)));
+	}
+
+	@Test
+	void refusesToDeserializeClassesOutsideTheAllowList() throws IOException {
+		ArrayList<String> gadget = new ArrayList<>(List.of("not an authorization request"));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(gadget);
+		}
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		in.setObjectInputFilter(SignedCookieAuthorizationRequestRepository.ALLOWED_CLASSES);
+
+		assertThrows(InvalidClassException.class, in::readObject);
+		// Even correctly signed, such a cookie loads nothing.
+		assertNull(repository.loadAuthorizationRequest(requestWithCookie(repository.encode(gadget))));
+	}
+}
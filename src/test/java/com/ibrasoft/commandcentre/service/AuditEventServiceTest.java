@@ -0,0 +1,87 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.ibrasoft.commandcentre.archive.AuditSegmentStore;
+import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.audit.AuditEntry;
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.auditstore.AuditEventStore;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/** Batch ingestion and field validation in {@link AuditEventService}. */
+class AuditEventServiceTest {
+
+	private static final Actor ACTOR = Actor.botOnBehalfOf("bot", 100L);
+
+	private final AuditEventStore auditEventStore = mock(AuditEventStore.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	private final AuditEventService service = new AuditEventService(auditEventStore, mock(AuditSegmentStore.class), eventPublisher);
+
+	private static AuditEntry entry(String entityType, String eventDetails) {
+		return new AuditEntry(AuditEventType.UPDATE, entityType, 1L, eventDetails, null);
+	}
+
+	@Test
+	void fieldLengthsAreAcceptedUpToTheColumnSize() {
+		assertNull(AuditEventService.fieldLengthError(null, null));
+		assertNull(AuditEventService.fieldLengthError("x".repeat(AuditEvent.MAX_ENTITY_TYPE_LENGTH),
+			"x".repeat(AuditEvent.MAX_EVENT_DETAILS_LENGTH)));
+		assertTrue(AuditEventService.fieldLengthError("x".repeat(AuditEvent.MAX_ENTITY_TYPE_LENGTH + 1), null)
+			.startsWith("entityType"));
+		assertTrue(AuditEventService.fieldLengthError(null, "x".repeat(AuditEvent.MAX_EVENT_DETAILS_LENGTH + 1))
+			.startsWith("eventDetails"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void batchIsAppendedAndAnnouncedOnceWithOneTimestamp() {
+		List<AuditEvent> events = service.logEvents(List.of(entry(null, "first"), entry("DEPARTMENT", "second")), ACTOR);
+
+		ArgumentCaptor<List<AuditEvent>> appended = ArgumentCaptor.forClass(List.class);
+		verify(auditEventStore).appendAll(appended.capture());
+		assertEquals(events, appended.getValue());
+		assertEquals(List.of(AuditEventService.REQUEST_ENTITY_TYPE, "DEPARTMENT"),
+			events.stream().map(AuditEvent::getEntityType).toList());
+		assertEquals(events.get(0).getEventTimestamp(), events.get(1).getEventTimestamp());
+		verify(eventPublisher).publishEvent(new AuditEventsRecordedEvent(events));
+	}
+
+	@Test
+	void oversizedEntryFailsTheBatchBeforeAnythingIsWritten() {
+		List<AuditEntry> entries = List.of(entry(null, "fine"),
+			entry(null, "x".repeat(AuditEvent.MAX_EVENT_DETAILS_LENGTH + 1)));
+
+		assertThrows(IllegalArgumentException.class, () -> service.logEvents(entries, ACTOR));
+
+		verify(auditEventStore, never()).appendAll(anyList());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void emptyBatchPublishesNothing() {
+		assertTrue(service.logEvents(List.of(), ACTOR).isEmpty());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void batchNeedsAnActorAndAnEventType() {
+		assertThrows(IllegalArgumentException.class, () -> service.logEvents(List.of(entry(null, "x")), null));
+		assertThrows(IllegalArgumentException.class,
+			() -> service.logEvents(List.of(new AuditEntry(null, null, 1L, "x", null)), ACTOR));
+		verify(auditEventStore, never()).appendAll(anyList());
+	}
+}
@@ -0,0 +1,137 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.auditstore.AuditEventStore;
+import com.ibrasoft.commandcentre.export.ExportFormat;
+import com.ibrasoft.commandcentre.model.AuditEvent;
+import com.ibrasoft.commandcentre.model.AuditEventFilter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** {@link AuditExportService} output, plain and gzip-compressed, over a mocked store stream. */
+class AuditExportServiceTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 9, 0);
+	private static final AuditEventFilter FILTER = AuditEventFilter.none();
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+		.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private final AuditEventStore auditEventStore = mock(AuditEventStore.class);
+	private final EntityManager entityManager = mock(EntityManager.class);
+	private final AuditExportService service = new AuditExportService(auditEventStore, entityManager, objectMapper);
+	private final AtomicBoolean streamClosed = new AtomicBoolean();
+
+	private static AuditEvent event(long id, String details) {
+		AuditEvent event = new AuditEvent();
+		event.setId(id);
+		event.applyEventType(AuditEventType.UPDATE);
+		event.setEntityType("REQUEST");
+		event.setEntityId(1L);
+		event.setEventDetails(details);
+		event.applyActor(Actor.user(100L));
+		event.setEventTimestamp(T0.plusMinutes(id));
+		return event;
+	}
+
+	/** Exports {@code events} and returns the raw bytes written, checking {@code out} was left open. */
+	private byte[] export(ExportFormat format, boolean gzip, List<AuditEvent> events) throws IOException {
+		streamClosed.set(false);
+		when(auditEventStore.stream(FILTER)).thenReturn(events.stream().onClose(() -> streamClosed.set(true)));
+		AtomicBoolean outClosed = new AtomicBoolean();
+		ByteArrayOutputStream out = new ByteArrayOutputStream() {
+			@Override
+			public void close() {
+				outClosed.set(true);
+			}
+		};
+		service.exportAuditEvents(FILTER, format, gzip, out);
+		assertTrue(streamClosed.get());
+		assertFalse(outClosed.get());
+		return out.toByteArray();
+	}
+
+	private static String gunzip(byte[] bytes) throws IOException {
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	@Test
+	void gzipNdjsonDecompressesToOneEventPerLine() throws IOException {
+		List<AuditEvent> events = IntStream.rangeClosed(1, 3).mapToObj(i -> event(i, "change " + i)).toList();
+
+		byte[] bytes = export(ExportFormat.NDJSON, true, events);
+
+		assertEquals(0x1f, bytes[0] & 0xff);
+		assertEquals(0x8b, bytes[1] & 0xff);
+		List<String> lines = gunzip(bytes).lines().toList();
+		assertEquals(3, lines.size());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(i + 1L, objectMapper.readTree(lines.get(i)).get("id").asLong());
+		}
+	}
+
+	@Test
+	void gzipOfAnEmptyExportIsStillACompleteArchive() throws IOException {
+		assertEquals("", gunzip(export(ExportFormat.NDJSON, true, List.of())));
+	}
+
+	@Test
+	void gzipCsvMatchesThePlainOutput() throws IOException {
+		List<AuditEvent> events = List.of(event(1L, "Title changed, \"quoted\""), event(2L, "Status changed"));
+
+		String plain = new String(export(ExportFormat.CSV, false, events), StandardCharsets.UTF_8);
+		String compressed = gunzip(export(ExportFormat.CSV, true, events));
+
+		assertEquals(plain, compressed);
+		assertTrue(plain.startsWith("id,eventTimestamp,eventType,"));
+		assertTrue(plain.contains(",\"Title changed, \"\"quoted\"\"\","), plain);
+		assertEquals(3, plain.lines().count());
+	}
+
+	@Test
+	void compressesALargeExportWellBelowItsPlainSize() throws IOException {
+		List<AuditEvent> events = IntStream.rangeClosed(1, 5_000)
+			.mapToObj(i -> event(i, "Status changed from in queue to in progress")).toList();
+
+		int plain = export(ExportFormat.NDJSON, false, events).length;
+		byte[] compressed = export(ExportFormat.NDJSON, true, events);
+
+		assertTrue(compressed.length * 5 < plain, compressed.length + " vs " + plain);
+		assertEquals(5_000, gunzip(compressed).lines().count());
+	}
+
+	@Test
+	void detachesOnlyManagedEvents() throws IOException {
+		AuditEvent managed = event(1L, "from the database");
+		AuditEvent fromLog = event(2L, "from the log store");
+		when(entityManager.contains(managed)).thenReturn(true);
+
+		export(ExportFormat.CSV, false, List.of(managed, fromLog));
+
+		verify(entityManager).detach(managed);
+		verify(entityManager, never()).detach(fromLog);
+	}
+}
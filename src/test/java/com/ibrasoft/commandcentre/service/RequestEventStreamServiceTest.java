@@ -0,0 +1,216 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ibrasoft.commandcentre.audit.AuditEventType;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/** {@link RequestEventStreamService} with emitters that record what each subscriber is sent. */
+class RequestEventStreamServiceTest {
+
+	private static final Pattern EVENT_ID = Pattern.compile("id:([^\\n]+)");
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+		.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private final List<RecordingEmitter> emitters = new ArrayList<>();
+	private RequestEventStreamService service;
+	private boolean blockSends;
+
+	@AfterEach
+	void tearDown() {
+		emitters.forEach(emitter -> emitter.release.countDown());
+		if (service != null) {
+			service.shutdown();
+		}
+	}
+
+	private RequestEventStreamService service(int bufferSize, int replaySize, int maxSubscribers) {
+		service = new RequestEventStreamService(objectMapper, bufferSize, replaySize, maxSubscribers, 60_000) {
+			@Override
+			SseEmitter newEmitter() {
+				RecordingEmitter emitter = new RecordingEmitter(blockSends);
+				emitters.add(emitter);
+				return emitter;
+			}
+		};
+		return service;
+	}
+
+	private RecordingEmitter subscribe(String lastEventId) {
+		SseEmitter emitter = service.subscribe(lastEventId);
+		assertNotNull(emitter);
+		return (RecordingEmitter) emitter;
+	}
+
+	private void publish(AuditEventType type, long channelId) {
+		Request request = Request.builder().channelID(channelId).status(RequestStatus.IN_QUEUE).build();
+		service.onRequestChanged(new RequestChangedEvent(type, channelId, null, type == AuditEventType.DELETE ? null : request));
+	}
+
+	private static String next(RecordingEmitter emitter) throws InterruptedException {
+		String event = emitter.sent.poll(5, TimeUnit.SECONDS);
+		assertNotNull(event, "nothing was sent");
+		return event;
+	}
+
+	private static String idOf(String event) {
+		Matcher matcher = EVENT_ID.matcher(event);
+		if (!matcher.find()) {
+			fail("no id in " + event);
+		}
+		return matcher.group(1);
+	}
+
+	@Test
+	void sendsCommittedChangesInOrderUnderTheirStreamName() throws InterruptedException {
+		service(16, 100, 10);
+		RecordingEmitter emitter = subscribe(null);
+
+		publish(AuditEventType.CREATE, 1L);
+		publish(AuditEventType.STATUS_ADVANCE, 1L);
+		publish(AuditEventType.DELETE, 1L);
+
+		String created = next(emitter);
+		assertTrue(created.contains("event:create"));
+		assertTrue(created.contains("\"channelId\":1"));
+		assertTrue(next(emitter).contains("event:status"));
+		String deleted = next(emitter);
+		assertTrue(deleted.contains("event:delete"));
+		assertTrue(deleted.contains("\"request\":null"));
+	}
+
+	@Test
+	void replaysOnlyWhatIsStillInTheWindow() throws InterruptedException {
+		service(16, 3, 10);
+		RecordingEmitter live = subscribe(null);
+		List<String> ids = new ArrayList<>();
+		for (long channelId = 1; channelId <= 5; channelId++) {
+			publish(AuditEventType.UPDATE, channelId);
+			ids.add(idOf(next(live)));
+		}
+
+		// Events 3-5 are still held, so a client that saw event 2 catches up.
+		RecordingEmitter caughtUp = subscribe(ids.get(1));
+		assertEquals(ids.subList(2, 5), List.of(idOf(next(caughtUp)), idOf(next(caughtUp)), idOf(next(caughtUp))));
+
+		// Event 2 has left the window.
+		assertTrue(next(subscribe(ids.get(0))).contains("event:" + RequestEventStreamService.RESET_EVENT));
+
+		// Nothing missed: no replay, just live events.
+		RecordingEmitter current = subscribe(ids.get(4));
+		publish(AuditEventType.UPDATE, 6L);
+		assertTrue(next(current).contains("\"channelId\":6"));
+	}
+
+	@Test
+	void resetsClientsWhoseLastIdCannotBeReplayed() throws InterruptedException {
+		service(2, 100, 10);
+		RecordingEmitter live = subscribe(null);
+		publish(AuditEventType.UPDATE, 1L);
+		String first = idOf(next(live));
+		String epoch = first.substring(0, first.indexOf('-'));
+		publish(AuditEventType.UPDATE, 2L);
+		publish(AuditEventType.UPDATE, 3L);
+
+		for (String lastEventId : List.of("12345-1", "not-an-id", "garbage", epoch + "-99")) {
+			assertTrue(next(subscribe(lastEventId)).contains("event:" + RequestEventStreamService.RESET_EVENT), lastEventId);
+		}
+		// The two missed events would fill a two-slot queue on arrival.
+		assertTrue(next(subscribe(first)).contains("event:" + RequestEventStreamService.RESET_EVENT));
+	}
+
+	@Test
+	void heartbeatIsACommentToEverySubscriber() throws InterruptedException {
+		service(16, 100, 10);
+		RecordingEmitter first = subscribe(null);
+		RecordingEmitter second = subscribe(null);
+
+		service.heartbeat();
+
+		assertTrue(next(first).startsWith(":heartbeat"));
+		assertTrue(next(second).startsWith(":heartbeat"));
+	}
+
+	@Test
+	void disconnectsASubscriberThatFallsBehind() throws InterruptedException {
+		service(2, 100, 10);
+		blockSends = true;
+		RecordingEmitter slow = subscribe(null);
+		blockSends = false;
+		RecordingEmitter fast = subscribe(null);
+
+		publish(AuditEventType.UPDATE, 1L);
+		assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+		assertTrue(next(fast).contains("\"channelId\":1"));
+		// The slow client is stuck sending event 1; events 2 and 3 fill its queue and 4 overflows it.
+		for (long channelId = 2; channelId <= 4; channelId++) {
+			publish(AuditEventType.UPDATE, channelId);
+			assertTrue(next(fast).contains("\"channelId\":" + channelId));
+		}
+
+		assertTrue(slow.completed);
+		assertEquals(1, service.subscriberCount());
+		assertEquals(0, slow.sent.size());
+	}
+
+	@Test
+	void refusesSubscribersOverTheLimit() {
+		service(16, 100, 1);
+		subscribe(null);
+
+		assertNull(service.subscribe(null));
+	}
+
+	/** Records each event as its wire text; a blocking emitter holds its first send until released. */
+	private static final class RecordingEmitter extends SseEmitter {
+
+		final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+		final CountDownLatch sending = new CountDownLatch(1);
+		final CountDownLatch release;
+		volatile boolean completed;
+
+		RecordingEmitter(boolean blocking) {
+			release = new CountDownLatch(blocking ? 1 : 0);
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			sending.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			sent.add(builder.build().stream()
+				.map(part -> String.valueOf(part.getData()))
+				.collect(Collectors.joining()));
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+			super.complete();
+		}
+	}
+}
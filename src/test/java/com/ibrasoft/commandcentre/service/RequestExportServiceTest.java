@@ -0,0 +1,107 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ibrasoft.commandcentre.export.ExportFormat;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** {@link RequestExportService} NDJSON and CSV output over a mocked repository stream. */
+class RequestExportServiceTest {
+
+	private static final RequestFilter FILTER = new RequestFilter(RequestStatus.IN_QUEUE, null, null, null, null, null);
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+		.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private final RequestRepository requestRepository = mock(RequestRepository.class);
+	private final EntityManager entityManager = mock(EntityManager.class);
+	private final AtomicBoolean closed = new AtomicBoolean();
+	private RequestExportService service;
+
+	private final Request poster = Request.builder()
+		.channelID(1L).requesterID(10L).title("Spring gala poster").description("Print, then post")
+		.requestType(RequestType.POST).status(RequestStatus.IN_QUEUE).postingDate(LocalDate.of(2026, 3, 1))
+		.build();
+	private final Request reel = Request.builder()
+		.channelID(2L).requesterID(11L).title("Reel \"teaser\"").description("line one\nline two")
+		.requestType(RequestType.REEL).status(RequestStatus.IN_QUEUE)
+		.build();
+
+	@BeforeEach
+	void setUp() {
+		service = new RequestExportService(requestRepository, entityManager, objectMapper);
+	}
+
+	private String export(ExportFormat format, Request... rows) throws IOException {
+		when(requestRepository.streamAll(FILTER)).thenReturn(Stream.of(rows).onClose(() -> closed.set(true)));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.exportRequests(FILTER, format, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void ndjsonWritesOneObjectPerLine() throws IOException {
+		String body = export(ExportFormat.NDJSON, poster, reel);
+
+		assertTrue(body.endsWith("\n"));
+		List<String> lines = body.lines().toList();
+		assertEquals(2, lines.size());
+		JsonNode first = objectMapper.readTree(lines.get(0));
+		JsonNode second = objectMapper.readTree(lines.get(1));
+		assertEquals(1L, first.get("channelID").asLong());
+		assertEquals("2026-03-01", first.get("postingDate").asText());
+		assertEquals("line one\nline two", second.get("description").asText());
+		verify(entityManager).detach(poster);
+		verify(entityManager).detach(reel);
+		assertTrue(closed.get());
+	}
+
+	@Test
+	void ndjsonOfNothingIsEmpty() throws IOException {
+		assertEquals("", export(ExportFormat.NDJSON));
+		assertTrue(closed.get());
+	}
+
+	@Test
+	void csvWritesTheHeaderAndEscapedRows() throws IOException {
+		String body = export(ExportFormat.CSV, poster, reel);
+
+		assertEquals(String.join("\r\n",
+			"channelID,requesterID,requesterDepartmentID,assignedToID,additionalAssigneeID,mainMessageID,title,"
+				+ "description,requestType,status,postingDate,createdAt,updatedAt,room,signupUrl",
+			"1,10,,,,,Spring gala poster,\"Print, then post\",POST,IN_QUEUE,2026-03-01,,,,",
+			"2,11,,,,,\"Reel \"\"teaser\"\"\",\"line one\nline two\",REEL,IN_QUEUE,,,,,",
+			""), body);
+		verify(entityManager).detach(reel);
+		assertTrue(closed.get());
+	}
+
+	@Test
+	void csvOfNothingIsJustTheHeader() throws IOException {
+		String body = export(ExportFormat.CSV);
+
+		assertTrue(body.startsWith("channelID,") && body.endsWith("signupUrl\r\n"), body);
+		assertEquals(1, body.lines().count());
+	}
+}
@@ -0,0 +1,238 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.ibrasoft.commandcentre.audit.Actor;
+import com.ibrasoft.commandcentre.model.CursorPage;
+import com.ibrasoft.commandcentre.model.Request;
+import com.ibrasoft.commandcentre.model.RequestBatchOperation;
+import com.ibrasoft.commandcentre.model.RequestBatchResult;
+import com.ibrasoft.commandcentre.model.RequestCursor;
+import com.ibrasoft.commandcentre.model.RequestFilter;
+import com.ibrasoft.commandcentre.model.RequestStatus;
+import com.ibrasoft.commandcentre.model.RequestSummary;
+import com.ibrasoft.commandcentre.model.RequestType;
+import com.ibrasoft.commandcentre.readmodel.DepartmentRequestCounters;
+import com.ibrasoft.commandcentre.readmodel.RequestReadModel;
+import com.ibrasoft.commandcentre.readmodel.RequestSearch;
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** {@link RequestService} against mocked persistence. */
+class RequestServiceTest {
+
+	private static final Actor ACTOR = Actor.user(1L);
+
+	private RequestRepository requestRepository;
+	private RequestReadModel requestReadModel;
+	private RequestSearch requestSearch;
+	private CycleService cycleService;
+	private ApplicationEventPublisher eventPublisher;
+	private RequestService requestService;
+
+	@BeforeEach
+	void setUp() {
+		requestRepository = mock(RequestRepository.class);
+		requestReadModel = mock(RequestReadModel.class);
+		requestSearch = mock(RequestSearch.class);
+		cycleService = mock(CycleService.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		requestService = new RequestService(requestRepository, requestReadModel, requestSearch,
+			mock(DepartmentRequestCounters.class), mock(AuditEventService.class), cycleService, eventPublisher);
+	}
+
+	private static Request request(long channelId, RequestStatus status, long version) {
+		return Request.builder()
+			.channelID(channelId)
+			.mainMessageID(channelId)
+			.status(status)
+			.version(version)
+			.createdAt(LocalDateTime.now())
+			.updatedAt(LocalDateTime.now())
+			.build();
+	}
+
+	@Test
+	void batchReportsEachIntermediateStateOfARequest() {
+		Request managed = request(10L, RequestStatus.IN_QUEUE, 3L);
+		when(requestRepository.findAllById(anyCollection())).thenReturn(List.of(managed));
+		LocalDateTime flushedAt = LocalDateTime.now().plusSeconds(5);
+		// Like Hibernate: one version bump for the dirty entity, whatever the number of changes.
+		doAnswer(invocation -> {
+			managed.setVersion(managed.getVersion() + 1);
+			managed.setUpdatedAt(flushedAt);
+			return null;
+		}).when(requestRepository).flush();
+
+		List<RequestBatchResult> results = requestService.applyBatch(List.of(
+			new RequestBatchOperation(10L, "status", null, "IN_PROGRESS", null),
+			new RequestBatchOperation(10L, "status", null, "DONE", null)), ACTOR);
+
+		ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+		verify(eventPublisher, times(2)).publishEvent(published.capture());
+		RequestChangedEvent first = (RequestChangedEvent) published.getAllValues().get(0);
+		RequestChangedEvent second = (RequestChangedEvent) published.getAllValues().get(1);
+
+		assertEquals(RequestStatus.IN_QUEUE, first.previous().getStatus());
+		assertEquals(RequestStatus.IN_PROGRESS, first.request().getStatus());
+		assertEquals(RequestStatus.IN_PROGRESS, second.previous().getStatus());
+		assertEquals(RequestStatus.DONE, second.request().getStatus());
+		assertEquals(4L, first.request().getVersion());
+		assertEquals(4L, second.request().getVersion());
+		assertEquals(flushedAt, second.request().getUpdatedAt());
+
+		assertEquals(RequestStatus.IN_PROGRESS, results.get(0).request().getStatus());
+		assertEquals(RequestStatus.DONE, results.get(1).request().getStatus());
+	}
+
+	@Test
+	void batchReportsMissingAndInvalidItemsWithoutPublishing() {
+		when(requestRepository.findAllById(anyCollection())).thenReturn(List.of(request(10L, RequestStatus.IN_QUEUE, 0L)));
+
+		List<RequestBatchResult> results = requestService.applyBatch(List.of(
+			new RequestBatchOperation(99L, "assign", 5L, null, null),
+			new RequestBatchOperation(10L, "status", null, "NOT_A_STATUS", null),
+			new RequestBatchOperation(10L, "rename", null, null, null)), ACTOR);
+
+		assertEquals(List.of(404, 400, 400), results.stream().map(RequestBatchResult::code).toList());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void singleFieldMutationRetriesAgainstTheDatabaseWhenTheReadModelIsStale() {
+		Request stale = request(10L, RequestStatus.IN_QUEUE, 1L);
+		Request latest = request(10L, RequestStatus.IN_QUEUE, 2L);
+		latest.setAssignedToID(7L);
+		when(requestReadModel.findById(10L)).thenReturn(Optional.of(stale));
+		when(requestRepository.findById(10L)).thenReturn(Optional.of(latest));
+		when(requestRepository.updateAssignee(eq(10L), eq(1L), eq(5L), any())).thenReturn(0);
+		when(requestRepository.updateAssignee(eq(10L), eq(2L), eq(5L), any())).thenReturn(1);
+
+		Request updated = requestService.assignRequest(10L, 5L, ACTOR);
+
+		assertEquals(5L, updated.getAssignedToID());
+		assertEquals(3L, updated.getVersion());
+		ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+		verify(eventPublisher).publishEvent(published.capture());
+		assertEquals(7L, ((RequestChangedEvent) published.getValue()).previous().getAssignedToID());
+	}
+
+	@Test
+	void singleFieldMutationConflictsWhenTheDatabaseRowAlsoMisses() {
+		when(requestReadModel.findById(10L)).thenReturn(Optional.of(request(10L, RequestStatus.IN_QUEUE, 1L)));
+		when(requestRepository.findById(10L)).thenReturn(Optional.of(request(10L, RequestStatus.IN_QUEUE, 2L)));
+		when(requestRepository.updateAssignee(eq(10L), any(), eq(5L), any())).thenReturn(0);
+
+		assertThrows(OptimisticLockingFailureException.class, () -> requestService.assignRequest(10L, 5L, ACTOR));
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void advanceSucceedsWhenAnotherFieldChangedConcurrently() {
+		when(requestReadModel.findById(10L)).thenReturn(Optional.of(request(10L, RequestStatus.IN_QUEUE, 1L)));
+		when(requestRepository.transitionStatus(eq(10L), eq(RequestStatus.IN_QUEUE), eq(RequestStatus.IN_PROGRESS), any()))
+			.thenReturn(1);
+		// Someone assigned the request (version 2) before the advance wrote version 3.
+		Request written = request(10L, RequestStatus.IN_PROGRESS, 3L);
+		written.setAssignedToID(7L);
+		when(requestRepository.findById(10L)).thenReturn(Optional.of(written));
+
+		Request updated = requestService.advanceRequestToNextStatus(10L, ACTOR);
+
+		assertEquals(RequestStatus.IN_PROGRESS, updated.getStatus());
+		assertEquals(3L, updated.getVersion());
+		assertEquals(7L, updated.getAssignedToID());
+		ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+		verify(eventPublisher).publishEvent(published.capture());
+		Request previous = ((RequestChangedEvent) published.getValue()).previous();
+		assertEquals(RequestStatus.IN_QUEUE, previous.getStatus());
+		assertEquals(2L, previous.getVersion());
+		assertEquals(7L, previous.getAssignedToID());
+	}
+
+	@Test
+	void advanceConflictsWhenTheStatusMovedOn() {
+		when(requestReadModel.findById(10L)).thenReturn(Optional.of(request(10L, RequestStatus.IN_QUEUE, 1L)));
+		when(requestRepository.transitionStatus(eq(10L), any(), any(), any())).thenReturn(0);
+
+		assertThrows(OptimisticLockingFailureException.class, () -> requestService.advanceRequestToNextStatus(10L, ACTOR));
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void createRejectsAChannelThatAlreadyHasARequest() {
+		when(requestRepository.existsById(10L)).thenReturn(true);
+
+		assertThrows(DuplicateKeyException.class,
+			() -> requestService.createRequest(request(10L, RequestStatus.IN_QUEUE, 0L), ACTOR));
+		verify(requestRepository, never()).save(any());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void searchClampsTheOffsetAndPageSize() {
+		requestService.searchRequests("gala", -5, 1000);
+		requestService.searchRequests("gala", 20, null);
+
+		verify(requestSearch).search("gala", 0, RequestService.MAX_PAGE_SIZE);
+		verify(requestSearch).search("gala", 20, RequestService.DEFAULT_PAGE_SIZE);
+	}
+
+	@Test
+	void workloadsQueryTheirCyclesPostingWindow() {
+		CycleService.CycleInfo developing = new CycleService.CycleInfo(4, LocalDate.of(2026, 3, 2));
+		CycleService.CycleInfo posting = new CycleService.CycleInfo(3, LocalDate.of(2026, 2, 16));
+		when(cycleService.getCurrentDevelopmentCycle()).thenReturn(developing);
+		when(cycleService.getCurrentPostingCycle()).thenReturn(posting);
+
+		requestService.getContentCreatorWorkload();
+		requestService.getGraphicDesignerWorkload();
+		requestService.getSocialMediaManagerWorkload();
+		requestService.getSocialMediaManagerWorkloadSummaries();
+
+		// Creators and designers prepare what posts in the next cycle; managers post the current one.
+		verify(requestReadModel).findByPostingWindow(RequestType.REEL, LocalDate.of(2026, 3, 16), LocalDate.of(2026, 3, 29));
+		verify(requestReadModel).findByPostingWindow(RequestType.POST, LocalDate.of(2026, 3, 16), LocalDate.of(2026, 3, 29));
+		verify(requestReadModel).findByPostingWindow(null, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 15));
+		verify(requestReadModel).findSummaries(
+			new RequestFilter(null, null, null, null, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 15)),
+			null, Pageable.unpaged());
+	}
+
+	@Test
+	void summaryPageDropsTheProbeRowAndResumesAfterTheLastSummary() {
+		RequestFilter filter = RequestFilter.none();
+		RequestSummary first = new RequestSummary(1L, "Poster", RequestStatus.IN_QUEUE, RequestType.POST, null, LocalDate.of(2026, 3, 1));
+		RequestSummary second = new RequestSummary(2L, "Reel", RequestStatus.IN_QUEUE, RequestType.REEL, 7L, LocalDate.of(2026, 3, 2));
+		RequestSummary probe = new RequestSummary(3L, "Banner", RequestStatus.DONE, RequestType.POST, null, null);
+		when(requestReadModel.findSummaries(filter, null, PageRequest.ofSize(3))).thenReturn(List.of(first, second, probe));
+
+		CursorPage<RequestSummary> page = requestService.getRequestSummaryPage(filter, null, 2);
+
+		assertEquals(List.of(first, second), page.items());
+		assertEquals(RequestCursor.after(second).encode(), page.nextCursor());
+		verify(requestReadModel, never()).find(any(), any(), any());
+	}
+}
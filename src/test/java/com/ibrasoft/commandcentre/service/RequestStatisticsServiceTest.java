@@ -0,0 +1,57 @@
+package com.ibrasoft.commandcentre.service;
+
+import com.ibrasoft.commandcentre.repository.RequestRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** {@link RequestStatisticsService} caching, by data version or by TTL when the version is not tracked. */
+class RequestStatisticsServiceTest {
+
+	private final RequestRepository requestRepository = mock(RequestRepository.class);
+	private final CycleService cycleService = mock(CycleService.class);
+	private final Clock clock = mock(Clock.class);
+
+	private RequestStatisticsService service(RequestDataVersion version) {
+		when(requestRepository.countForStatistics()).thenReturn(List.of());
+		return new RequestStatisticsService(requestRepository, cycleService, version, Duration.ofSeconds(30), clock);
+	}
+
+	@Test
+	void trackedVersionKeepsTheEntryUntilTheNextWrite() {
+		RequestDataVersion version = new RequestDataVersion(true);
+		RequestStatisticsService service = service(version);
+		when(clock.millis()).thenReturn(0L);
+
+		service.getStatistics();
+		when(clock.millis()).thenReturn(Duration.ofHours(1).toMillis());
+		service.getStatistics();
+		verify(requestRepository, times(1)).countForStatistics();
+
+		version.onRequestChanged(null);
+		service.getStatistics();
+		verify(requestRepository, times(2)).countForStatistics();
+	}
+
+	@Test
+	void untrackedVersionExpiresTheEntryAfterTheTtl() {
+		RequestStatisticsService service = service(new RequestDataVersion(false));
+		when(clock.millis()).thenReturn(0L);
+
+		service.getStatistics();
+		when(clock.millis()).thenReturn(Duration.ofSeconds(29).toMillis());
+		service.getStatistics();
+		verify(requestRepository, times(1)).countForStatistics();
+
+		when(clock.millis()).thenReturn(Duration.ofSeconds(30).toMillis());
+		service.getStatistics();
+		verify(requestRepository, times(2)).countForStatistics();
+	}
+}